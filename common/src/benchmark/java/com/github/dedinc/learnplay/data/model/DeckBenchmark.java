@@ -0,0 +1,85 @@
+package com.github.dedinc.learnplay.data.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Micro-benchmark for {@link Deck} card operations on large decks.
+ * Run by the {@code benchmarkDeck} Gradle task; can also be run by hand:
+ * <pre>
+ * java -cp &lt;classpath&gt; com.github.dedinc.learnplay.data.model.DeckBenchmark [cards] [rounds]
+ * </pre>
+ * Each round times adding the cards one by one, adding them as one batch, looking cards up by ID,
+ * getting the card list and removing cards. The first rounds warm up the JIT; compare the last ones.
+ */
+public final class DeckBenchmark {
+
+    private static final int DEFAULT_CARDS = 100_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int LOOKUPS = 10_000;
+    private static final int LIST_CALLS = 1_000;
+    private static final int REMOVALS = 100;
+
+    // Keeps results alive so the JIT can't drop the measured work
+    private static long sink;
+
+    private DeckBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CARDS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        List<Flashcard> cards = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            cards.add(new Flashcard("card_" + i, "Question " + i, "Answer " + i));
+        }
+
+        System.out.printf("Deck benchmark: %d cards, %d rounds%n", cardCount, rounds);
+        for (int round = 1; round <= rounds; round++) {
+            Deck deck = new Deck("bench", "Bench");
+            long start = System.nanoTime();
+            for (Flashcard card : cards) {
+                deck.addCard(card);
+            }
+            long addCard = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Deck bulk = new Deck("bench_bulk", "Bench");
+            bulk.addCards(cards);
+            long addCards = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                // Spread over the whole deck, including the end a linear scan reaches last
+                Flashcard card = deck.getCard(cards.get((int) ((long) i * cardCount / LOOKUPS)).getId());
+                sink += card != null ? 1 : 0;
+            }
+            long getCard = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LIST_CALLS; i++) {
+                sink += deck.getCards().size();
+            }
+            long getCards = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < REMOVALS && i < cardCount; i++) {
+                deck.removeCard(cards.get(cardCount - 1 - i * (cardCount / REMOVALS)).getId());
+            }
+            long removeCard = System.nanoTime() - start;
+
+            System.out.printf("  round %d: addCard x%d %.1f ms, addCards %.1f ms, getCard x%d %.1f ms, "
+                            + "getCards x%d %.2f ms, removeCard x%d %.1f ms%n",
+                    round, cardCount, millis(addCard), millis(addCards), LOOKUPS, millis(getCard),
+                    LIST_CALLS, millis(getCards), REMOVALS, millis(removeCard));
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -1,12 +1,19 @@
 package com.github.dedinc.learnplay;
 
+import com.github.dedinc.learnplay.config.ConfigFileWatcher;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.data.model.*;
+import com.github.dedinc.learnplay.network.LearnPlayNetworking;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.scheduler.TickScheduler;
 import com.github.dedinc.learnplay.srs.SM2Algorithm;
 import com.github.dedinc.learnplay.storage.CategoryManager;
 import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.trigger.TriggerManager;
 import com.google.gson.JsonParser;
+import dev.architectury.event.events.common.LifecycleEvent;
+import dev.architectury.event.events.common.PlayerEvent;
+import dev.architectury.event.events.common.TickEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,8 +26,22 @@ public final class LearnPlay {
 
         // Initialize configuration
         LearnPlayConfig.getInstance();
+        ConfigFileWatcher.start();
         LOGGER.info("✓ Configuration loaded");
 
+        // Server-side triggers: packets, per-tick evaluation and per-player timers
+        LearnPlayNetworking.init();
+        TickEvent.SERVER_PRE.register(server -> TickScheduler.server().onTickStart());
+        TickEvent.SERVER_POST.register(server -> {
+            TriggerManager.getInstance().onServerTick(server);
+            TickScheduler.server().runTick();
+        });
+        PlayerEvent.PLAYER_JOIN.register(player -> TriggerManager.getInstance().onPlayerJoin(player));
+        LifecycleEvent.SERVER_STOPPED.register(server -> {
+            TickScheduler.server().clear();
+            TriggerManager.getInstance().onServerStopped();
+        });
+
         // Test Phase 1: Data Models
         testDataModels();
 
@@ -188,7 +209,10 @@ public final class LearnPlay {
                         deck.getId(), deck.getName(), deck.getCardCount(),
                         deck.isEnabled(), categoryInfo);
 
-                // Show first 3 cards from deck
+                // Show first 3 cards from deck (without decoding decks loaded on demand)
+                if (!deck.isLoaded()) {
+                    continue;
+                }
                 int cardCount = 0;
                 for (Flashcard card : deck.getCards()) {
                     if (cardCount++ >= 3) break;
@@ -2,6 +2,8 @@ package com.github.dedinc.learnplay.client.gui;
 
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.deck.CardPatch;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
@@ -97,7 +99,8 @@ public class CardEditorScreen extends Screen {
     }
 
     private void saveCard() {
-        String newId = idField.getText().trim();
+        // The ID of an existing card is read-only: its review state and patch log entries are keyed by it
+        String newId = isNewCard ? idField.getText().trim() : card.getId();
         String newQuestion = questionField.getText().trim();
         String newAnswer = answerField.getText().trim();
 
@@ -106,15 +109,22 @@ public class CardEditorScreen extends Screen {
             return;
         }
 
-        // Create new flashcard with updated values
-        Flashcard updatedCard = new Flashcard(newId, newQuestion, newAnswer);
-
+        Flashcard updatedCard;
         if (isNewCard) {
+            updatedCard = new Flashcard(newId, newQuestion, newAnswer);
             deck.addCard(updatedCard);
         } else {
-            // Remove old and add new
-            deck.removeCard(card.getId());
-            deck.addCard(updatedCard);
+            // Keep the card's tags and creation time; only the text is edited here
+            updatedCard = new Flashcard(newId, newQuestion, newAnswer, card.getTags(), card.getCreatedAt());
+            // Replace in place so the card keeps its position in the deck
+            deck.replaceCard(card.getId(), updatedCard);
+        }
+
+        // Persist edits to decks that are already saved as a small card patch.
+        // New decks are written when the deck editor's Save is pressed.
+        DeckManager manager = DeckManager.getInstance();
+        if (manager.getDeck(deck.getId()) == deck) {
+            manager.saveCardPatch(deck, isNewCard ? CardPatch.add(updatedCard) : CardPatch.update(updatedCard));
         }
 
         close();
@@ -1,15 +1,17 @@
 package com.github.dedinc.learnplay.client.gui;
 
 import com.github.dedinc.learnplay.client.gui.browser.*;
-import com.github.dedinc.learnplay.client.gui.widgets.ScrollableListWidget;
+import com.github.dedinc.learnplay.client.gui.widgets.VirtualListWidget;
 import com.github.dedinc.learnplay.data.model.Category;
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.storage.CategoryManager;
 import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.category.CategoryStats;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
 import net.minecraft.text.Text;
 
 import java.util.ArrayList;
@@ -18,20 +20,20 @@ import java.util.List;
 /**
  * Screen for browsing categories and decks in a hierarchical folder structure.
  * Categories act as folders that contain decks and subcategories.
+ * Only the rows on screen have widgets; scrolling re-binds them instead of rebuilding the screen.
  */
 public class CategoryBrowserScreen extends Screen {
     private final Screen parent;
     private Category currentCategory; // null = root level
     private GuiLayoutHelper layoutHelper;
-    private ScrollableListWidget scrollWidget;
+    private VirtualListWidget<BrowserItemRow> itemList;
+    private BrowserDataLoader.BrowserData data;
     private BrowserItemRenderer itemRenderer;
     private BrowserButtonBuilder buttonBuilder;
 
     private static final int ROW_HEIGHT = 24;
     private static final double SCROLL_SPEED = 10.0;
 
-    private final List<BrowserItemRow> itemRows = new ArrayList<>();
-
     public CategoryBrowserScreen(Screen parent) {
         this(parent, null);
     }
@@ -47,10 +49,8 @@ public class CategoryBrowserScreen extends Screen {
         super.init();
 
         layoutHelper = new GuiLayoutHelper(this.width, this.height, this.textRenderer);
-        scrollWidget = new ScrollableListWidget(layoutHelper, ROW_HEIGHT, SCROLL_SPEED);
         itemRenderer = new BrowserItemRenderer(layoutHelper, this.textRenderer);
         buttonBuilder = new BrowserButtonBuilder(layoutHelper);
-        itemRows.clear();
 
         int margin = layoutHelper.getMargin();
         int buttonHeight = layoutHelper.getButtonHeight();
@@ -61,25 +61,18 @@ public class CategoryBrowserScreen extends Screen {
 
         // Get items to display
         BrowserDataLoader dataLoader = new BrowserDataLoader();
-        BrowserDataLoader.BrowserData data = dataLoader.loadData(currentCategory);
-
-        // Create rows for categories and decks
-        int rowY = currentY + 30;
-        for (Category category : data.categories) {
-            itemRows.add(new BrowserItemRow(category, rowY));
-            rowY += ROW_HEIGHT + spacing;
-        }
-
-        for (Deck deck : data.decks) {
-            itemRows.add(new BrowserItemRow(deck, rowY));
-            rowY += ROW_HEIGHT + spacing;
-        }
+        data = dataLoader.loadData(currentCategory);
 
         // Add bottom navigation buttons
         addBottomButtons(buttonHeight, spacing);
 
-        // Initialize item row widgets
-        updateItemRowWidgets();
+        // Item rows (keep their scroll position when the screen is rebuilt)
+        double scrollOffset = itemList != null ? itemList.getScrollOffset() : 0;
+        int rowsBottomY = layoutHelper.getBottomY(buttonHeight * 2 + spacing) - layoutHelper.getSmallSpacing();
+        itemList = new VirtualListWidget<>(layoutHelper, ROW_HEIGHT, SCROLL_SPEED, currentY + 30, rowsBottomY,
+                data, new ItemRowFactory());
+        itemList.init(this::addDrawableChild);
+        itemList.scrollTo(scrollOffset);
     }
 
     private void addBottomButtons(int buttonHeight, int spacing) {
@@ -122,62 +115,56 @@ public class CategoryBrowserScreen extends Screen {
         }).dimensions(layoutHelper.getCenterX(100), layoutHelper.getBottomY(buttonHeight), 100, buttonHeight).build());
     }
 
-    private void updateItemRowWidgets() {
-        int margin = layoutHelper.getMargin();
-        int buttonHeight = layoutHelper.getButtonHeight();
-
-        for (BrowserItemRow row : itemRows) {
-            int adjustedY = scrollWidget.getAdjustedY(row.y);
+    /**
+     * Action buttons of an item row. Every slot has both the category and the deck buttons;
+     * binding shows the set that matches the row.
+     */
+    private class ItemRowFactory implements VirtualListWidget.RowFactory<BrowserItemRow> {
+        private static final int CATEGORY_BUTTONS = 3;
+
+        @Override
+        public List<ButtonWidget> createWidgets(VirtualListWidget.Slot<BrowserItemRow> slot) {
+            int buttonHeight = layoutHelper.getButtonHeight();
+            List<ButtonWidget> buttons = new ArrayList<>(buttonBuilder.createCategoryButtons(
+                    () -> slot.getItem().category, 0, buttonHeight, layoutHelper.createRowLayout(0),
+                    cat -> MinecraftClient.getInstance().setScreen(new CategoryBrowserScreen(parent, cat)),
+                    cat -> MinecraftClient.getInstance().setScreen(new CategoryEditorScreen(CategoryBrowserScreen.this, cat, false)),
+                    cat -> {
+                        CategoryManager.getInstance().deleteCategory(cat.getId());
+                        clearChildren();
+                        init();
+                    }
+            ));
+            buttons.addAll(buttonBuilder.createDeckButtons(
+                    () -> slot.getItem().deck, 0, buttonHeight, layoutHelper.createRowLayout(0),
+                    d -> {
+                        DeckManager.getInstance().toggleDeckEnabled(d.getId());
+                        clearChildren();
+                        init();
+                    },
+                    d -> MinecraftClient.getInstance().setScreen(new DeckEditorScreen(CategoryBrowserScreen.this, d, false)),
+                    d -> {
+                        DeckManager.getInstance().deleteDeck(d.getId());
+                        clearChildren();
+                        init();
+                    }
+            ));
+            return buttons;
+        }
 
-            // Skip if not visible
-            if (!scrollWidget.isVisible(adjustedY, margin + 30, this.height - 100)) {
-                continue;
+        @Override
+        public void bind(VirtualListWidget.Slot<BrowserItemRow> slot) {
+            BrowserItemRow row = slot.getItem();
+            List<ClickableWidget> widgets = slot.getWidgets();
+            for (int i = 0; i < widgets.size(); i++) {
+                widgets.get(i).visible = i < CATEGORY_BUTTONS ? row.isCategory() : row.isDeck();
             }
-
-            // Use RowLayout to properly position buttons from right to left
-            GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(adjustedY);
-
-            if (row.category != null) {
-                addCategoryButtons(row.category, adjustedY, buttonHeight, rowLayout);
-            } else if (row.deck != null) {
-                addDeckButtons(row.deck, adjustedY, buttonHeight, rowLayout);
+            if (row.isDeck()) {
+                widgets.get(CATEGORY_BUTTONS).setMessage(BrowserButtonBuilder.toggleLabel(row.deck));
             }
         }
     }
 
-    private void addCategoryButtons(Category category, int y, int buttonHeight, GuiLayoutHelper.RowLayout rowLayout) {
-        List<ButtonWidget> buttons = buttonBuilder.createCategoryButtons(
-                category, y, buttonHeight, rowLayout,
-                cat -> MinecraftClient.getInstance().setScreen(new CategoryBrowserScreen(parent, cat)),
-                cat -> MinecraftClient.getInstance().setScreen(new CategoryEditorScreen(this, cat, false)),
-                cat -> {
-                    CategoryManager.getInstance().deleteCategory(cat.getId());
-                    clearChildren();
-                    init();
-                }
-        );
-        buttons.forEach(this::addDrawableChild);
-    }
-
-    private void addDeckButtons(Deck deck, int y, int buttonHeight, GuiLayoutHelper.RowLayout rowLayout) {
-        List<ButtonWidget> buttons = buttonBuilder.createDeckButtons(
-                deck, y, buttonHeight, rowLayout,
-                d -> {
-                    d.setEnabled(!d.isEnabled());
-                    DeckManager.getInstance().saveDeck(d);
-                    clearChildren();
-                    init();
-                },
-                d -> MinecraftClient.getInstance().setScreen(new DeckEditorScreen(this, d, false)),
-                d -> {
-                    DeckManager.getInstance().deleteDeck(d.getId());
-                    clearChildren();
-                    init();
-                }
-        );
-        buttons.forEach(this::addDrawableChild);
-    }
-
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         super.render(context, mouseX, mouseY, delta);
@@ -192,23 +179,29 @@ public class CategoryBrowserScreen extends Screen {
                     margin, margin + 25, 0xAAAAAA);
         }
 
+        // Totals for everything below the current level
+        CategoryStats stats = CategoryManager.getInstance().getCategoryStats(BrowserItemRenderer.getPlayerName(),
+                currentCategory == null ? null : currentCategory.getId());
+        String summary = stats.decks + " decks, " + itemRenderer.formatCounts(stats);
+        context.drawTextWithShadow(this.textRenderer, summary,
+                this.width - margin - this.textRenderer.getWidth(summary), margin + 25, 0xAAAAAA);
+
         // Render items
-        int currentY = margin + 50;
-        for (BrowserItemRow row : itemRows) {
-            int adjustedY = scrollWidget.getAdjustedY(currentY);
-            if (scrollWidget.isVisible(adjustedY, margin + 30, this.height - 100)) {
-                int maxTextWidth = itemRenderer.calculateMaxTextWidth(adjustedY, 60, 60, 80);
-                if (row.category != null) {
-                    itemRenderer.renderCategory(context, row.category, margin, adjustedY + 5, maxTextWidth);
-                } else if (row.deck != null) {
-                    itemRenderer.renderDeck(context, row.deck, margin, adjustedY + 5, maxTextWidth);
-                }
+        for (VirtualListWidget.Slot<BrowserItemRow> slot : itemList.getSlots()) {
+            if (!slot.isShown()) {
+                continue;
+            }
+            BrowserItemRow row = slot.getItem();
+            int maxTextWidth = itemRenderer.calculateMaxTextWidth(slot.getY(), 60, 60, 80);
+            if (row.category != null) {
+                itemRenderer.renderCategory(context, row.category, margin, slot.getY() + 5, maxTextWidth);
+            } else if (row.deck != null) {
+                itemRenderer.renderDeck(context, row.deck, margin, slot.getY() + 5, maxTextWidth);
             }
-            currentY += ROW_HEIGHT + layoutHelper.getSmallSpacing();
         }
 
         // Help text
-        if (itemRows.isEmpty()) {
+        if (data.size() == 0) {
             context.drawCenteredTextWithShadow(this.textRenderer,
                     "No items. Click '+ Category' or '+ Deck' to add.", centerX, this.height / 2, 0xAAAAAA);
         }
@@ -216,13 +209,7 @@ public class CategoryBrowserScreen extends Screen {
 
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        scrollWidget.handleScroll(verticalAmount, itemRows.size(), this.height, 150);
-
-        // Rebuild widgets with new scroll position
-        clearChildren();
-        init();
-
-        return true;
+        return itemList.handleScroll(verticalAmount);
     }
 
     @Override
@@ -2,12 +2,15 @@ package com.github.dedinc.learnplay.client.gui;
 
 import com.github.dedinc.learnplay.data.model.Category;
 import com.github.dedinc.learnplay.storage.CategoryManager;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.text.Text;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Screen for editing category properties (name and description).
  * Categories are folders that contain decks and subcategories.
@@ -20,6 +23,8 @@ public class CategoryEditorScreen extends Screen {
 
     private TextFieldWidget nameField;
     private TextFieldWidget descriptionField;
+    private String statusMessage; // Save progress or failure
+    private boolean saveFailed;
 
     public CategoryEditorScreen(Screen parent, Category category, boolean isNewCategory) {
         super(Text.literal("Edit Category"));
@@ -97,13 +102,21 @@ public class CategoryEditorScreen extends Screen {
         category.setDescription(newDesc);
 
         CategoryManager manager = CategoryManager.getInstance();
-        if (isNewCategory) {
-            manager.addCategory(category);
-        } else {
-            manager.updateCategory(category);
-        }
-
-        close();
+        CompletableFuture<Boolean> saveResult = isNewCategory
+                ? manager.addCategoryAsync(category)
+                : manager.updateCategoryAsync(category);
+
+        // Writes happen in the background; close once the save has landed
+        statusMessage = "Saving...";
+        saveFailed = false;
+        saveResult.thenAccept(success -> MinecraftClient.getInstance().execute(() -> {
+            if (success) {
+                close();
+            } else {
+                statusMessage = "Failed to save category - see log for details";
+                saveFailed = true;
+            }
+        }));
     }
 
     @Override
@@ -129,9 +142,14 @@ public class CategoryEditorScreen extends Screen {
         // Description label
         context.drawTextWithShadow(this.textRenderer, "Description:", margin, currentY, 0xAAAAAA);
 
-        // Info text
-        String infoText = isNewCategory ? "Creating new category" : "Editing category: " + category.getId();
-        context.drawCenteredTextWithShadow(this.textRenderer, infoText, centerX, this.height - 60, 0x888888);
+        // Info text (replaced by save status while saving)
+        if (statusMessage != null) {
+            context.drawCenteredTextWithShadow(this.textRenderer, statusMessage, centerX, this.height - 60,
+                    saveFailed ? 0xFF5555 : 0xAAAAAA);
+        } else {
+            String infoText = isNewCategory ? "Creating new category" : "Editing category: " + category.getId();
+            context.drawCenteredTextWithShadow(this.textRenderer, infoText, centerX, this.height - 60, 0x888888);
+        }
     }
 
     @Override
@@ -1,21 +1,40 @@
 package com.github.dedinc.learnplay.client.gui;
 
+import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.client.gui.editor.CardListPanel;
 import com.github.dedinc.learnplay.client.gui.editor.DeckFormPanel;
-import com.github.dedinc.learnplay.client.gui.widgets.ScrollableListWidget;
+import com.github.dedinc.learnplay.client.gui.widgets.VirtualListWidget;
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.deck.CardPatch;
+import com.github.dedinc.learnplay.storage.io.CsvDeckExporter;
+import com.github.dedinc.learnplay.storage.search.CardSearchIndex;
+import com.github.dedinc.learnplay.storage.search.SearchHit;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.text.Text;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Screen for editing deck properties and managing categories/cards.
+ * The card list can be filtered with search-as-you-type; queries run on the search thread.
+ * Only the cards on screen have widgets, so large decks open as fast as small ones.
  */
 public class DeckEditorScreen extends Screen {
+    private static final String EXPORT_PATH = "config/learnplay/export/";
+    private static final int MAX_SEARCH_RESULTS = 500;
+
     private final Screen parent;
     private final Deck deck;
     private final boolean isNewDeck;
@@ -23,13 +42,19 @@ public class DeckEditorScreen extends Screen {
 
     private DeckFormPanel formPanel;
     private CardListPanel cardListPanel;
-    private ScrollableListWidget scrollWidget;
+    private VirtualListWidget<Flashcard> cardList;
 
     private static final int ROW_HEIGHT = 25;
     private static final int SCROLL_SPEED = 10;
 
     private int cardsStartY;
     private DeckFormPanel.FormResult formResult; // Store form result to avoid recreating widgets
+    private String statusMessage; // Save progress or failure, shown above the bottom buttons
+    private boolean saveFailed;
+
+    private TextFieldWidget searchField;
+    private String searchQuery = "";
+    private List<String> searchResultIds; // null when the list is not filtered
 
     public DeckEditorScreen(Screen parent, Deck deck, boolean isNewDeck) {
         super(Text.literal("Edit Deck"));
@@ -45,7 +70,6 @@ public class DeckEditorScreen extends Screen {
         layoutHelper = new GuiLayoutHelper(this.width, this.height, this.textRenderer);
         formPanel = new DeckFormPanel(this.textRenderer, layoutHelper, deck, isNewDeck);
         cardListPanel = new CardListPanel(layoutHelper, this.textRenderer, ROW_HEIGHT);
-        scrollWidget = new ScrollableListWidget(layoutHelper, ROW_HEIGHT, SCROLL_SPEED);
 
         int margin = layoutHelper.getMargin();
         int buttonHeight = layoutHelper.getButtonHeight();
@@ -74,8 +98,42 @@ public class DeckEditorScreen extends Screen {
 
         cardsStartY = formResult.nextY;
 
-        // Render card list with scroll
-        renderCardList();
+        // Search field (keeps its text and focus when the screen is rebuilt)
+        boolean searchFocused = searchField != null && searchField.isFocused();
+        searchField = new TextFieldWidget(this.textRenderer, margin, cardsStartY,
+                Math.min(fieldWidth, this.width - margin * 2 - 110), buttonHeight, Text.literal("Search"));
+        searchField.setMaxLength(100);
+        searchField.setPlaceholder(Text.literal("Search cards..."));
+        searchField.setText(searchQuery);
+        searchField.setChangedListener(this::onSearchChanged);
+        addDrawableChild(searchField);
+        if (searchFocused) {
+            setFocused(searchField);
+        }
+        cardsStartY += buttonHeight + spacing;
+
+        // Card list: the search results if a query is active, otherwise the whole deck (keeps its
+        // scroll position when the screen is rebuilt). Results are stored as IDs so edits and deletes
+        // made since the search are reflected.
+        double scrollOffset = cardList != null ? cardList.getScrollOffset() : 0;
+        int cardsBottomY = layoutHelper.getBottomY(buttonHeight * 2 + spacing + 15) - layoutHelper.getSmallSpacing();
+        cardList = new VirtualListWidget<>(layoutHelper, ROW_HEIGHT, SCROLL_SPEED, cardsStartY, cardsBottomY,
+                new VirtualListWidget.RowSource<>() {
+                    @Override
+                    public int size() {
+                        return searchResultIds != null ? searchResultIds.size() : deck.getCards().size();
+                    }
+
+                    @Override
+                    public Flashcard get(int index) {
+                        return searchResultIds != null ? deck.getCard(searchResultIds.get(index)) : deck.getCards().get(index);
+                    }
+                },
+                slot -> cardListPanel.createRowWidgets(slot,
+                        card -> MinecraftClient.getInstance().setScreen(new CardEditorScreen(this, deck, card, false)),
+                        this::deleteCard));
+        cardList.init(this::addDrawableChild);
+        cardList.scrollTo(scrollOffset);
 
         // Add buttons at bottom using layout helper
         int buttonWidth = 120;
@@ -93,6 +151,12 @@ public class DeckEditorScreen extends Screen {
                 }
         ).dimensions(topBottomRow.nextX(buttonWidth), topBottomRow.getY(), buttonWidth, buttonHeight).build());
 
+        // Export CSV button
+        addDrawableChild(ButtonWidget.builder(
+                Text.literal("Export CSV"),
+                button -> exportDeck()
+        ).dimensions(topBottomRow.nextX(buttonWidth), topBottomRow.getY(), buttonWidth, buttonHeight).build());
+
         // Bottom row of bottom buttons (Save, Cancel)
         int bottomBottomRowY = layoutHelper.getBottomY(buttonHeight);
         GuiLayoutHelper.HorizontalRowBuilder bottomBottomRow = layoutHelper.createLeftRow(bottomBottomRowY);
@@ -110,47 +174,61 @@ public class DeckEditorScreen extends Screen {
         ).dimensions(bottomBottomRow.nextX(buttonWidth), bottomBottomRow.getY(), buttonWidth, buttonHeight).build());
     }
 
-    private void renderCardList() {
-        int buttonHeight = layoutHelper.getButtonHeight();
-        int spacing = layoutHelper.getSmallSpacing();
-        int currentY = cardsStartY;
-
-        for (Flashcard card : deck.getCards()) {
-            int adjustedY = (int) (currentY - scrollWidget.getScrollOffset());
-
-            // Skip if not visible
-            if (adjustedY < cardsStartY - 50 || adjustedY > this.height - 150) {
-                currentY += ROW_HEIGHT + spacing;
-                continue;
-            }
-
-            // Use RowLayout to properly position buttons from right to left
-            GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(adjustedY);
-
-            int deleteButtonWidth = 70;
-            int deleteX = rowLayout.addButtonFromRight(deleteButtonWidth);
-
-            int editButtonWidth = 60;
-            int editX = rowLayout.addButtonFromRight(editButtonWidth);
+    /**
+     * Delete a card and update the list in place, so the search field keeps focus.
+     */
+    private void deleteCard(Flashcard card) {
+        deck.removeCard(card.getId());
+        DeckManager manager = DeckManager.getInstance();
+        if (manager.getDeck(deck.getId()) == deck) {
+            manager.saveCardPatch(deck, CardPatch.delete(card.getId()));
+        }
+        if (searchResultIds != null) {
+            searchResultIds.remove(card.getId());
+        }
+        cardList.refresh();
+    }
 
-            // Edit button
-            addDrawableChild(ButtonWidget.builder(
-                    Text.literal("Edit"),
-                    btn -> MinecraftClient.getInstance().setScreen(new CardEditorScreen(this, deck, card, false))
-            ).dimensions(editX, adjustedY, editButtonWidth, buttonHeight).build());
+    private void onSearchChanged(String text) {
+        searchQuery = text;
+        if (text.isBlank()) {
+            searchResultIds = null;
+            cardList.resetScroll();
+            return;
+        }
 
-            // Delete button
-            addDrawableChild(ButtonWidget.builder(
-                    Text.literal("Delete"),
-                    btn -> {
-                        deck.removeCard(card.getId());
-                        clearChildren();
-                        init();
+        String query = text;
+        CompletableFuture<List<String>> results;
+        DeckManager manager = DeckManager.getInstance();
+        if (manager.getDeck(deck.getId()) == deck) {
+            results = manager.getSearchIndex().searchAsync(this, query, deck.getId(), MAX_SEARCH_RESULTS)
+                    .thenApply(hits -> {
+                        List<String> ids = new ArrayList<>(hits.size());
+                        for (SearchHit hit : hits) {
+                            ids.add(hit.getCard().getId());
+                        }
+                        return ids;
+                    });
+        } else {
+            // Deck is not in the index yet (e.g. a new deck), so filter its cards directly
+            List<Flashcard> cards = new ArrayList<>(deck.getCards());
+            results = CompletableFuture.supplyAsync(() -> {
+                List<String> ids = new ArrayList<>();
+                for (Flashcard card : cards) {
+                    if (ids.size() < MAX_SEARCH_RESULTS && CardSearchIndex.matches(card, query)) {
+                        ids.add(card.getId());
                     }
-            ).dimensions(deleteX, adjustedY, deleteButtonWidth, buttonHeight).build());
-
-            currentY += ROW_HEIGHT + spacing;
+                }
+                return ids;
+            });
         }
+
+        results.thenAccept(ids -> MinecraftClient.getInstance().execute(() -> {
+            if (query.equals(searchQuery)) { // Ignore results for text that has since changed
+                searchResultIds = ids;
+                cardList.resetScroll();
+            }
+        }));
     }
 
     private void saveDeck() {
@@ -164,6 +242,7 @@ public class DeckEditorScreen extends Screen {
 
         // For new decks, if ID was changed, we need to create a new deck object
         // For existing decks, ID cannot be changed
+        CompletableFuture<Boolean> saveResult;
         if (isNewDeck && !deck.getId().equals(formData.id)) {
             // Create new deck with the new ID
             Deck newDeck = new Deck(formData.id, formData.name);
@@ -173,10 +252,8 @@ public class DeckEditorScreen extends Screen {
                 newDeck.setCategoryId(deck.getCategoryId());
             }
             // Copy all cards
-            for (Flashcard card : deck.getCards()) {
-                newDeck.addCard(card);
-            }
-            DeckManager.getInstance().addDeck(newDeck);
+            newDeck.addCards(deck.getCards());
+            saveResult = DeckManager.getInstance().addDeckAsync(newDeck);
         } else {
             // Update existing deck or new deck with same ID
             deck.setName(formData.name);
@@ -184,13 +261,54 @@ public class DeckEditorScreen extends Screen {
 
             DeckManager manager = DeckManager.getInstance();
             if (isNewDeck) {
-                manager.addDeck(deck);
+                saveResult = manager.addDeckAsync(deck);
+            } else if (manager.getDeck(deck.getId()) == deck) {
+                // Card edits were already recorded as patches; only the settings changed here
+                saveResult = manager.saveDeckSettingsAsync(deck);
             } else {
-                manager.updateDeck(deck);
+                saveResult = manager.updateDeckAsync(deck);
             }
         }
 
-        close();
+        // Writes happen in the background; close once the save has landed
+        statusMessage = "Saving...";
+        saveFailed = false;
+        saveResult.thenAccept(success -> MinecraftClient.getInstance().execute(() -> {
+            if (success) {
+                close();
+            } else {
+                statusMessage = "Failed to save deck - see log for details";
+                saveFailed = true;
+            }
+        }));
+    }
+
+    /**
+     * Export the deck to config/learnplay/export/<deckId>.csv off the render thread.
+     */
+    private void exportDeck() {
+        // Snapshot so the export never races with edits made on this screen
+        Deck snapshot = new Deck(deck.getId(), deck.getName(), deck.getDescription(), deck.isEnabled(),
+                deck.getCategoryId(), deck.getCards());
+        Path file = Paths.get(EXPORT_PATH, deck.getId() + ".csv");
+
+        statusMessage = "Exporting...";
+        saveFailed = false;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return new CsvDeckExporter().exportFile(snapshot, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((count, error) -> MinecraftClient.getInstance().execute(() -> {
+            if (error != null) {
+                LearnPlay.LOGGER.error("Failed to export deck {}", snapshot.getId(), error);
+                statusMessage = "Failed to export deck - see log for details";
+                saveFailed = true;
+            } else {
+                statusMessage = "Exported " + count + " card(s) to " + file;
+            }
+        }));
     }
 
     @Override
@@ -209,18 +327,28 @@ public class DeckEditorScreen extends Screen {
             }
         }
 
+        // Save status
+        if (statusMessage != null) {
+            int statusY = layoutHelper.getBottomY(layoutHelper.getButtonHeight() * 2 + layoutHelper.getSpacing() + 15);
+            context.drawCenteredTextWithShadow(this.textRenderer, statusMessage, centerX, statusY,
+                    saveFailed ? 0xFF5555 : 0xAAAAAA);
+        }
+
+        // Search match count
+        if (searchResultIds != null && searchField != null) {
+            String matches = searchResultIds.size() >= MAX_SEARCH_RESULTS
+                    ? MAX_SEARCH_RESULTS + "+ matches" : searchResultIds.size() + " match(es)";
+            context.drawTextWithShadow(this.textRenderer, matches, searchField.getX() + searchField.getWidth() + 8,
+                    searchField.getY() + 6, 0xAAAAAA);
+        }
+
         // Render card list
-        cardListPanel.renderCardList(context, deck.getCards(), cardsStartY, scrollWidget.getScrollOffset(), this.height);
+        cardListPanel.renderCardList(context, cardList);
     }
 
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        scrollWidget.handleScroll(verticalAmount, deck.getCards().size(), this.height, 150);
-
-        clearChildren();
-        init();
-
-        return true;
+        return cardList.handleScroll(verticalAmount);
     }
 
     @Override
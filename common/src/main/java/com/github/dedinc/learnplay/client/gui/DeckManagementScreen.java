@@ -1,29 +1,44 @@
 package com.github.dedinc.learnplay.client.gui;
 
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.client.gui.widgets.VirtualListWidget;
 import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.player.PlayerProgressManager;
 import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.io.AnkiDeckImporter;
+import com.github.dedinc.learnplay.storage.io.CsvDeckImporter;
+import com.github.dedinc.learnplay.storage.io.ImportResult;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
 import net.minecraft.client.gui.widget.CyclingButtonWidget;
 import net.minecraft.text.Text;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main deck management screen.
  * Allows viewing, enabling/disabling, and editing decks.
+ * CSV/TSV files and Anki packages (.apkg) dropped onto the screen are imported as new decks in the background.
+ * Only the decks on screen have widgets; scrolling re-binds them instead of rebuilding the screen.
  */
 public class DeckManagementScreen extends Screen {
     private final Screen parent;
     private GuiLayoutHelper layoutHelper;
-    private double scrollOffset = 0;
     private static final int ROW_HEIGHT = 30;
     private static final int SCROLL_SPEED = 10;
 
-    private List<DeckRow> deckRows = new ArrayList<>();
+    private List<Deck> decks = new ArrayList<>();
+    private VirtualListWidget<Deck> deckList;
+    private String statusMessage; // Import progress or result, replaces the help text
 
     public DeckManagementScreen(Screen parent) {
         super(Text.literal("Deck Management"));
@@ -35,7 +50,6 @@ public class DeckManagementScreen extends Screen {
         super.init();
 
         layoutHelper = new GuiLayoutHelper(this.width, this.height, this.textRenderer);
-        deckRows.clear();
 
         int margin = layoutHelper.getMargin();
         int buttonHeight = layoutHelper.getButtonHeight();
@@ -46,15 +60,7 @@ public class DeckManagementScreen extends Screen {
 
         // Get all decks
         DeckManager manager = DeckManager.getInstance();
-        List<Deck> decks = new ArrayList<>(manager.getAllDecks());
-
-        // Create rows for each deck
-        int rowY = currentY + 30;
-        for (Deck deck : decks) {
-            DeckRow row = new DeckRow(deck, rowY);
-            deckRows.add(row);
-            rowY += ROW_HEIGHT + spacing;
-        }
+        decks = new ArrayList<>(manager.getAllDecks());
 
         // Bottom button row - using layout helper for automatic positioning
         int addButtonWidth = 150;
@@ -88,55 +94,24 @@ public class DeckManagementScreen extends Screen {
                 button -> close()
         ).dimensions(layoutHelper.getCenterX(doneButtonWidth), layoutHelper.getBottomY(buttonHeight), doneButtonWidth, buttonHeight).build());
 
-        // Initialize deck row widgets
-        updateDeckRowWidgets();
-    }
-
-    private void updateDeckRowWidgets() {
-        int margin = layoutHelper.getMargin();
-        int buttonHeight = layoutHelper.getButtonHeight();
-
-        for (DeckRow row : deckRows) {
-            int adjustedY = (int) (row.y - scrollOffset);
-
-            // Skip if not visible
-            if (adjustedY < margin || adjustedY > this.height - 100) {
-                continue;
-            }
-
-            // Use right-aligned row builder for automatic button positioning
-            GuiLayoutHelper.RightAlignedRowBuilder rowBuilder = layoutHelper.createRightRow(adjustedY);
-
-            // Delete button (rightmost)
-            int deleteButtonWidth = 80;
-            addDrawableChild(ButtonWidget.builder(
-                    Text.literal("Delete"),
-                    button -> {
-                        if (DeckManager.getInstance().deleteDeck(row.deck.getId())) {
-                            clearChildren();
-                            init();
-                        }
+        // Deck rows (keep their scroll position when the screen is rebuilt)
+        double scrollOffset = deckList != null ? deckList.getScrollOffset() : 0;
+        int rowsBottomY = layoutHelper.getBottomY(buttonHeight * 2 + spacing + 5) - layoutHelper.getSmallSpacing();
+        deckList = new VirtualListWidget<>(layoutHelper, ROW_HEIGHT, SCROLL_SPEED, currentY + 30, rowsBottomY,
+                new VirtualListWidget.RowSource<>() {
+                    @Override
+                    public int size() {
+                        return decks.size();
                     }
-            ).dimensions(rowBuilder.nextX(deleteButtonWidth), rowBuilder.getY(), deleteButtonWidth, buttonHeight).build());
 
-            // Edit button
-            int editButtonWidth = 60;
-            addDrawableChild(ButtonWidget.builder(
-                    Text.literal("Edit"),
-                    button -> MinecraftClient.getInstance().setScreen(new DeckEditorScreen(this, row.deck, false))
-            ).dimensions(rowBuilder.nextX(editButtonWidth), rowBuilder.getY(), editButtonWidth, buttonHeight).build());
-
-            // Enable/Disable toggle (leftmost of the action buttons)
-            int toggleButtonWidth = 60;
-            CyclingButtonWidget<Boolean> toggleButton = CyclingButtonWidget.onOffBuilder(row.deck.isEnabled())
-                    .build(rowBuilder.nextX(toggleButtonWidth), rowBuilder.getY(), toggleButtonWidth, buttonHeight,
-                            Text.literal(""),
-                            (button, value) -> {
-                                row.deck.setEnabled(value);
-                                DeckManager.getInstance().saveDeck(row.deck);
-                            });
-            addDrawableChild(toggleButton);
-        }
+                    @Override
+                    public Deck get(int index) {
+                        return decks.get(index);
+                    }
+                },
+                new DeckRowFactory());
+        deckList.init(this::addDrawableChild);
+        deckList.scrollTo(scrollOffset);
     }
 
     @Override
@@ -166,37 +141,36 @@ public class DeckManagementScreen extends Screen {
         context.drawTextWithShadow(this.textRenderer, "Category", headerRow.nextX(0), headerRow.getY(), 0xAAAAAA);
 
         // Render deck rows
-        for (DeckRow row : deckRows) {
-            int adjustedY = (int) (row.y - scrollOffset);
-
-            // Skip if not visible
-            if (adjustedY < margin + 30 || adjustedY > this.height - 100) {
+        for (VirtualListWidget.Slot<Deck> slot : deckList.getSlots()) {
+            if (!slot.isShown()) {
                 continue;
             }
+            Deck deck = slot.getItem();
 
             // Create row builder for consistent column alignment
-            GuiLayoutHelper.HorizontalRowBuilder dataRow = layoutHelper.createLeftRow(adjustedY + 5);
+            GuiLayoutHelper.HorizontalRowBuilder dataRow = layoutHelper.createLeftRow(slot.getY() + 5);
 
             // Deck name
-            String deckName = row.deck.getName();
+            String deckName = deck.getName();
             if (deckName.length() > 25) {
                 deckName = deckName.substring(0, 22) + "...";
             }
-            int nameColor = row.deck.isEnabled() ? 0xFFFFFF : 0x808080;
+            int nameColor = deck.isEnabled() ? 0xFFFFFF : 0x808080;
             context.drawTextWithShadow(this.textRenderer, deckName, dataRow.nextX(0), dataRow.getY(), nameColor);
             dataRow.nextX(nameColumnWidth); // Advance to next column
 
             // Card count
-            context.drawTextWithShadow(this.textRenderer, String.valueOf(row.deck.getCardCount()), dataRow.nextX(0), dataRow.getY(), 0xFFFFFF);
+            context.drawTextWithShadow(this.textRenderer, String.valueOf(deck.getCardCount()), dataRow.nextX(0), dataRow.getY(), 0xFFFFFF);
             dataRow.nextX(cardsColumnWidth); // Advance to next column
 
             // Category ID
-            String categoryId = row.deck.getCategoryId() != null ? row.deck.getCategoryId() : "none";
+            String categoryId = deck.getCategoryId() != null ? deck.getCategoryId() : "none";
             context.drawTextWithShadow(this.textRenderer, categoryId, dataRow.nextX(0), dataRow.getY(), 0xFFFFFF);
         }
 
-        // Help text
-        String helpText = "Enable/disable decks, edit content, or add new decks";
+        // Help text (or import status)
+        String helpText = statusMessage != null ? statusMessage
+                : "Enable/disable decks, edit content, or drop .csv/.tsv/.apkg files to import";
         int helpTextWidth = this.textRenderer.getWidth(helpText);
         int helpTextY = layoutHelper.getBottomY(layoutHelper.getButtonHeight() * 2 + layoutHelper.getSpacing() + 5);
         context.drawText(this.textRenderer, helpText,
@@ -205,17 +179,80 @@ public class DeckManagementScreen extends Screen {
 
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        scrollOffset -= verticalAmount * SCROLL_SPEED;
+        return deckList.handleScroll(verticalAmount);
+    }
+
+    @Override
+    public void filesDragged(List<Path> paths) {
+        for (Path path : paths) {
+            String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (fileName.endsWith(".csv") || fileName.endsWith(".tsv") || fileName.endsWith(".apkg")) {
+                importDeck(path);
+            }
+        }
+    }
 
-        // Calculate max scroll
-        int maxScroll = Math.max(0, deckRows.size() * (ROW_HEIGHT + layoutHelper.getSpacing()) - (this.height - 150));
-        scrollOffset = Math.max(0, Math.min(scrollOffset, maxScroll));
+    /**
+     * Import a CSV/TSV file or Anki package off the render thread, then add the deck (written once).
+     */
+    private void importDeck(Path file) {
+        String fileName = file.getFileName().toString();
+        String deckName = fileName.substring(0, fileName.lastIndexOf('.'));
+        String deckId = deckName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_-]", "_");
+        if (deckId.isEmpty() || DeckManager.getInstance().hasDeck(deckId)) {
+            deckId = deckId + "_" + System.currentTimeMillis();
+        }
+
+        String finalDeckId = deckId;
+        boolean anki = fileName.toLowerCase(Locale.ROOT).endsWith(".apkg");
+        statusMessage = "Importing " + fileName + "...";
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                if (anki) {
+                    return new AnkiDeckImporter().importFile(file, finalDeckId, deckName, true);
+                }
+                return new CsvDeckImporter().importFile(file, finalDeckId, deckName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((result, error) -> MinecraftClient.getInstance().execute(() -> onImportFinished(fileName, result, error)));
+    }
+
+    private void onImportFinished(String fileName, ImportResult result, Throwable error) {
+        if (error != null) {
+            LearnPlay.LOGGER.error("Failed to import deck from {}", fileName, error);
+            statusMessage = "Failed to import " + fileName + " - see log for details";
+            return;
+        }
+
+        for (String rejection : result.getRejectionSamples()) {
+            LearnPlay.LOGGER.warn("Rejected while importing {}: {}", fileName, rejection);
+        }
+
+        // The deck is written in the background; report the import once the write has landed
+        statusMessage = "Saving " + fileName + "...";
+        DeckManager.getInstance().addDeckAsync(result.getDeck()).whenComplete((saved, saveError) ->
+                MinecraftClient.getInstance().execute(() ->
+                        onImportSaved(fileName, result, saveError == null && Boolean.TRUE.equals(saved))));
+    }
+
+    private void onImportSaved(String fileName, ImportResult result, boolean saved) {
+        if (saved) {
+            statusMessage = String.format("Imported %d card(s) from %s (%d rejected) in %d ms",
+                    result.getImportedCount(), fileName, result.getRejectedCount(), result.getElapsedMillis());
+            // Review history is only imported once its deck is on disk
+            if (!result.getCardStates().isEmpty() && this.client != null && this.client.player != null) {
+                String playerName = this.client.player.getName().getString();
+                int added = PlayerProgressManager.getInstance().importCardStates(playerName, result.getCardStates());
+                LearnPlay.LOGGER.info("Imported review history for {} card(s) from {}", added, fileName);
+            }
+        } else {
+            LearnPlay.LOGGER.error("Failed to save deck imported from {}", fileName);
+            statusMessage = "Failed to save " + fileName + " - see log for details";
+        }
 
-        // Rebuild widgets with new scroll position
         clearChildren();
         init();
-
-        return true;
     }
 
     @Override
@@ -230,13 +267,53 @@ public class DeckManagementScreen extends Screen {
         return true;
     }
 
-    private static class DeckRow {
-        final Deck deck;
-        final int y;
+    /**
+     * Action buttons of a deck row: toggle, edit and delete.
+     */
+    private class DeckRowFactory implements VirtualListWidget.RowFactory<Deck> {
+        @Override
+        public List<ClickableWidget> createWidgets(VirtualListWidget.Slot<Deck> slot) {
+            List<ClickableWidget> widgets = new ArrayList<>();
+            int buttonHeight = layoutHelper.getButtonHeight();
+
+            // Use right-aligned row builder for automatic button positioning
+            GuiLayoutHelper.RightAlignedRowBuilder rowBuilder = layoutHelper.createRightRow(0);
+
+            // Delete button (rightmost)
+            int deleteButtonWidth = 80;
+            widgets.add(ButtonWidget.builder(
+                    Text.literal("Delete"),
+                    button -> {
+                        if (DeckManager.getInstance().deleteDeck(slot.getItem().getId())) {
+                            clearChildren();
+                            init();
+                        }
+                    }
+            ).dimensions(rowBuilder.nextX(deleteButtonWidth), rowBuilder.getY(), deleteButtonWidth, buttonHeight).build());
+
+            // Edit button
+            int editButtonWidth = 60;
+            widgets.add(ButtonWidget.builder(
+                    Text.literal("Edit"),
+                    button -> MinecraftClient.getInstance().setScreen(new DeckEditorScreen(DeckManagementScreen.this, slot.getItem(), false))
+            ).dimensions(rowBuilder.nextX(editButtonWidth), rowBuilder.getY(), editButtonWidth, buttonHeight).build());
+
+            // Enable/Disable toggle (leftmost of the action buttons)
+            int toggleButtonWidth = 60;
+            widgets.add(CyclingButtonWidget.onOffBuilder(true)
+                    .build(rowBuilder.nextX(toggleButtonWidth), rowBuilder.getY(), toggleButtonWidth, buttonHeight,
+                            Text.literal(""),
+                            (button, value) -> {
+                                slot.getItem().setEnabled(value);
+                                DeckManager.getInstance().saveDeckSettings(slot.getItem());
+                            }));
+            return widgets;
+        }
 
-        DeckRow(Deck deck, int y) {
-            this.deck = deck;
-            this.y = y;
+        @Override
+        @SuppressWarnings("unchecked")
+        public void bind(VirtualListWidget.Slot<Deck> slot) {
+            ((CyclingButtonWidget<Boolean>) slot.getWidgets().get(2)).setValue(slot.getItem().isEnabled());
         }
     }
 }
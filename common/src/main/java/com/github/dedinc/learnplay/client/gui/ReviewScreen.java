@@ -1,6 +1,7 @@
 package com.github.dedinc.learnplay.client.gui;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.client.network.LearnPlayClientNetworking;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.data.model.SRSState;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
@@ -22,14 +23,28 @@ public class ReviewScreen extends Screen {
     private final Flashcard card;
     private final SRSState state;
     private final String playerName;
+    private final boolean serverReview;
     private boolean showAnswer = false;
     private GuiLayoutHelper layoutHelper;
 
     public ReviewScreen(Flashcard card, SRSState state, String playerName) {
+        this(card, state, playerName, false);
+    }
+
+    private ReviewScreen(Flashcard card, SRSState state, String playerName, boolean serverReview) {
         super(Text.literal("Flashcard Review"));
         this.card = card;
         this.state = state;
         this.playerName = playerName;
+        this.serverReview = serverReview;
+    }
+
+    /**
+     * Create a review screen for a card sent by the server.
+     * The rating is sent back to the server instead of being stored locally.
+     */
+    public static ReviewScreen forServer(Flashcard card, SRSState state, String playerName) {
+        return new ReviewScreen(card, state, playerName, true);
     }
 
     @Override
@@ -127,6 +142,12 @@ public class ReviewScreen extends Screen {
     private void onForgot() {
         LearnPlay.LOGGER.info("Player forgot card {}", card.getId());
 
+        if (serverReview) {
+            LearnPlayClientNetworking.sendRating(card.getId(), false);
+            this.close();
+            return;
+        }
+
         SimpleIntervalAlgorithm.forgot(state);
 
         PlayerProgressManager manager = PlayerProgressManager.getInstance();
@@ -140,6 +161,12 @@ public class ReviewScreen extends Screen {
     private void onRemember() {
         LearnPlay.LOGGER.info("Player remembered card {}", card.getId());
 
+        if (serverReview) {
+            LearnPlayClientNetworking.sendRating(card.getId(), true);
+            this.close();
+            return;
+        }
+
         SimpleIntervalAlgorithm.remember(state);
 
         PlayerProgressManager manager = PlayerProgressManager.getInstance();
@@ -9,6 +9,7 @@ import net.minecraft.text.Text;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Builder for creating browser screen buttons (category/deck action buttons).
@@ -23,9 +24,10 @@ public class BrowserButtonBuilder {
 
     /**
      * Create buttons for a category row.
+     * Actions apply to the category supplied when clicked, so the buttons can be reused for another row.
      */
     public List<ButtonWidget> createCategoryButtons(
-            Category category,
+            Supplier<Category> category,
             int y,
             int buttonHeight,
             GuiLayoutHelper.RowLayout rowLayout,
@@ -47,19 +49,19 @@ public class BrowserButtonBuilder {
         // Open button
         buttons.add(ButtonWidget.builder(
                 Text.literal("Open"),
-                btn -> onOpen.accept(category)
+                btn -> onOpen.accept(category.get())
         ).dimensions(openX, y, openButtonWidth, buttonHeight).build());
 
         // Edit button
         buttons.add(ButtonWidget.builder(
                 Text.literal("Edit"),
-                btn -> onEdit.accept(category)
+                btn -> onEdit.accept(category.get())
         ).dimensions(editX, y, editButtonWidth, buttonHeight).build());
 
         // Delete button
         buttons.add(ButtonWidget.builder(
                 Text.literal("Delete"),
-                btn -> onDelete.accept(category)
+                btn -> onDelete.accept(category.get())
         ).dimensions(deleteX, y, deleteButtonWidth, buttonHeight).build());
 
         return buttons;
@@ -67,9 +69,10 @@ public class BrowserButtonBuilder {
 
     /**
      * Create buttons for a deck row.
+     * Actions apply to the deck supplied when clicked; the toggle's label is set with {@link #toggleLabel(Deck)}.
      */
     public List<ButtonWidget> createDeckButtons(
-            Deck deck,
+            Supplier<Deck> deck,
             int y,
             int buttonHeight,
             GuiLayoutHelper.RowLayout rowLayout,
@@ -90,25 +93,32 @@ public class BrowserButtonBuilder {
 
         // Toggle button
         buttons.add(ButtonWidget.builder(
-                Text.literal(deck.isEnabled() ? "✓ On" : "✗ Off"),
-                btn -> onToggle.accept(deck)
+                Text.empty(),
+                btn -> onToggle.accept(deck.get())
         ).dimensions(toggleX, y, toggleButtonWidth, buttonHeight).build());
 
         // Edit button
         buttons.add(ButtonWidget.builder(
                 Text.literal("Edit"),
-                btn -> onEdit.accept(deck)
+                btn -> onEdit.accept(deck.get())
         ).dimensions(editX, y, editButtonWidth, buttonHeight).build());
 
         // Delete button
         buttons.add(ButtonWidget.builder(
                 Text.literal("Delete"),
-                btn -> onDelete.accept(deck)
+                btn -> onDelete.accept(deck.get())
         ).dimensions(deleteX, y, deleteButtonWidth, buttonHeight).build());
 
         return buttons;
     }
 
+    /**
+     * Label of a deck row's toggle button.
+     */
+    public static Text toggleLabel(Deck deck) {
+        return Text.literal(deck.isEnabled() ? "✓ On" : "✗ Off");
+    }
+
     /**
      * Create bottom navigation buttons.
      */
@@ -1,5 +1,6 @@
 package com.github.dedinc.learnplay.client.gui.browser;
 
+import com.github.dedinc.learnplay.client.gui.widgets.VirtualListWidget;
 import com.github.dedinc.learnplay.data.model.Category;
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.storage.CategoryManager;
@@ -41,9 +42,9 @@ public class BrowserDataLoader {
     }
 
     /**
-     * Data container for browser items.
+     * Data container for browser items: categories first, then decks.
      */
-    public static class BrowserData {
+    public static class BrowserData implements VirtualListWidget.RowSource<BrowserItemRow> {
         public final List<Category> categories;
         public final List<Deck> decks;
 
@@ -51,6 +52,18 @@ public class BrowserDataLoader {
             this.categories = categories;
             this.decks = decks;
         }
+
+        @Override
+        public int size() {
+            return categories.size() + decks.size();
+        }
+
+        @Override
+        public BrowserItemRow get(int index) {
+            return index < categories.size()
+                    ? new BrowserItemRow(categories.get(index))
+                    : new BrowserItemRow(decks.get(index - categories.size()));
+        }
     }
 }
 
@@ -4,7 +4,8 @@ import com.github.dedinc.learnplay.client.gui.GuiLayoutHelper;
 import com.github.dedinc.learnplay.data.model.Category;
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.storage.CategoryManager;
-import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.category.CategoryStats;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 
@@ -23,14 +24,15 @@ public class BrowserItemRenderer {
 
     /**
      * Render a category item.
+     * Counts include all subcategories and come from the cached category tree totals.
      */
     public void renderCategory(DrawContext context, Category category, int x, int y, int maxTextWidth) {
         CategoryManager categoryManager = CategoryManager.getInstance();
-        DeckManager deckManager = DeckManager.getInstance();
 
-        int deckCount = deckManager.getDecksByCategory(category.getId()).size();
-        int subcategoryCount = categoryManager.getSubcategories(category.getId()).size();
-        String text = "📁 " + category.getName() + " (" + deckCount + " decks, " + subcategoryCount + " subcategories)";
+        CategoryStats stats = categoryManager.getCategoryStats(getPlayerName(), category.getId());
+        int subcategoryCount = categoryManager.getSubcategoryCount(category.getId());
+        String text = "📁 " + category.getName() + " (" + stats.decks + " decks, " + subcategoryCount + " subcategories, "
+                + formatCounts(stats) + ")";
 
         // Truncate text if needed
         text = layoutHelper.truncateText(text, textRenderer, maxTextWidth);
@@ -41,7 +43,8 @@ public class BrowserItemRenderer {
      * Render a deck item.
      */
     public void renderDeck(DrawContext context, Deck deck, int x, int y, int maxTextWidth) {
-        String text = "📚 " + deck.getName() + " (" + deck.getCardCount() + " cards)";
+        CategoryStats stats = CategoryManager.getInstance().getDeckStats(getPlayerName(), deck.getId());
+        String text = "📚 " + deck.getName() + " (" + formatCounts(stats) + ")";
 
         // Truncate text if needed
         text = layoutHelper.truncateText(text, textRenderer, maxTextWidth);
@@ -49,6 +52,28 @@ public class BrowserItemRenderer {
         context.drawTextWithShadow(textRenderer, text, x, y, color);
     }
 
+    /**
+     * Format card, due and new counts for an item.
+     */
+    public String formatCounts(CategoryStats stats) {
+        String text = stats.cards + " cards";
+        if (stats.dueCards > 0) {
+            text += ", " + stats.dueCards + " due";
+        }
+        if (stats.newCards > 0) {
+            text += ", " + stats.newCards + " new";
+        }
+        return text;
+    }
+
+    /**
+     * Get the name of the current player, or null outside a world.
+     */
+    public static String getPlayerName() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client.player != null ? client.player.getName().getString() : null;
+    }
+
     /**
      * Calculate max text width for a row with buttons.
      */
@@ -9,18 +9,15 @@ import com.github.dedinc.learnplay.data.model.Deck;
 public class BrowserItemRow {
     public final Category category;
     public final Deck deck;
-    public final int y;
 
-    public BrowserItemRow(Category category, int y) {
+    public BrowserItemRow(Category category) {
         this.category = category;
         this.deck = null;
-        this.y = y;
     }
 
-    public BrowserItemRow(Deck deck, int y) {
+    public BrowserItemRow(Deck deck) {
         this.category = null;
         this.deck = deck;
-        this.y = y;
     }
 
     public boolean isCategory() {
@@ -91,6 +91,18 @@ public class ConfigSettingBuilder {
         }
     }
 
+    /**
+     * Parse float safely with bounds checking.
+     */
+    public static float parseFloatSafe(String value, float defaultValue, float min, float max) {
+        try {
+            float parsed = Float.parseFloat(value);
+            return Float.isNaN(parsed) ? defaultValue : Math.max(min, Math.min(max, parsed));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Data class for storing label information.
      */
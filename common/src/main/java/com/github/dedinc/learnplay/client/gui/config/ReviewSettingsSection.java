@@ -7,7 +7,7 @@ import java.util.function.Consumer;
 
 /**
  * Builds the Review Settings section of the config screen.
- * Handles max cards per session, new cards per day, and reviews per day.
+ * Handles max cards per session, new cards per day, reviews per day, and the review tag filter.
  */
 public class ReviewSettingsSection {
 
@@ -42,8 +42,7 @@ public class ReviewSettingsSection {
                 "Max cards per session:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.maxCardsPerSession),
                 value -> {
-                    config.maxCardsPerSession = ConfigSettingBuilder.parseIntSafe(value, 20, 1, 100);
-                    config.save();
+                    config.update(() -> config.maxCardsPerSession = ConfigSettingBuilder.parseIntSafe(value, 20, 1, 100));
                 }));
         currentY += buttonHeight + spacing;
 
@@ -52,8 +51,7 @@ public class ReviewSettingsSection {
                 "Max new cards per day:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.maxNewCardsPerDay),
                 value -> {
-                    config.maxNewCardsPerDay = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 50);
-                    config.save();
+                    config.update(() -> config.maxNewCardsPerDay = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 50));
                 }));
         currentY += buttonHeight + spacing;
 
@@ -62,9 +60,17 @@ public class ReviewSettingsSection {
                 "Max reviews per day:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.maxReviewsPerDay),
                 value -> {
-                    config.maxReviewsPerDay = ConfigSettingBuilder.parseIntSafe(value, 100, 1, 500);
-                    config.save();
+                    config.update(() -> config.maxReviewsPerDay = ConfigSettingBuilder.parseIntSafe(value, 100, 1, 500));
                 }));
+        currentY += buttonHeight + spacing;
+
+        // Review Tag Filter
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Review tags (-tag excludes):", x, currentY, columnWidth, buttonHeight,
+                config.reviewTagFilter,
+                value -> {
+                    config.update(() -> config.reviewTagFilter = value.trim());
+                }, 100, columnWidth / 2));
         currentY += buttonHeight;
 
         return currentY;
@@ -13,6 +13,8 @@ import java.util.function.Consumer;
  * Uses a tabbed interface to organize different trigger types:
  * - Kill/Death Triggers
  * - Break/Place Triggers
+ * - Craft/Fishing Triggers
+ * - Progress Triggers (advancements, levels, dimensions)
  * - Chat Triggers
  * - Timer Trigger
  */
@@ -27,6 +29,8 @@ public class TriggerSettingsSection {
     public enum TriggerTab {
         KILL_DEATH("Kill/Death"),
         BREAK_PLACE("Break/Place"),
+        CRAFT_FISH("Craft/Fish"),
+        PROGRESS("Progress"),
         CHAT("Chat"),
         TIMER("Timer");
 
@@ -121,6 +125,10 @@ public class TriggerSettingsSection {
                     buildKillDeathTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
             case BREAK_PLACE ->
                     buildBreakPlaceTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
+            case CRAFT_FISH ->
+                    buildCraftFishTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
+            case PROGRESS ->
+                    buildProgressTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
             case CHAT -> buildChatTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
             case TIMER -> buildTimerTab(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing, sectionSpacing);
         };
@@ -154,6 +162,38 @@ public class TriggerSettingsSection {
         return currentY;
     }
 
+    /**
+     * Build Craft/Fish triggers tab.
+     */
+    private int buildCraftFishTab(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing, int sectionSpacing) {
+        // Craft Trigger
+        currentY = buildCraftTrigger(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing);
+        currentY += sectionSpacing;
+
+        // Fishing Trigger
+        currentY = buildFishingTrigger(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing);
+
+        return currentY;
+    }
+
+    /**
+     * Build Progress triggers tab.
+     */
+    private int buildProgressTab(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing, int sectionSpacing) {
+        // Advancement Trigger
+        currentY = buildAdvancementTrigger(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing);
+        currentY += sectionSpacing;
+
+        // Level Up Trigger
+        currentY = buildLevelUpTrigger(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing);
+        currentY += sectionSpacing;
+
+        // Dimension Change Trigger
+        currentY = buildDimensionChangeTrigger(widgetAdder, x, currentY, columnWidth, buttonHeight, spacing);
+
+        return currentY;
+    }
+
     /**
      * Build Chat trigger tab.
      */
@@ -174,8 +214,7 @@ public class TriggerSettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Death Trigger"),
                         (button, value) -> {
-                            config.triggers.enableDeathTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableDeathTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -184,8 +223,7 @@ public class TriggerSettingsSection {
                 "Trigger every N deaths:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.deathTriggerEveryNDeaths),
                 value -> {
-                    config.triggers.deathTriggerEveryNDeaths = ConfigSettingBuilder.parseIntSafe(value, 1, 1, 100);
-                    config.save();
+                    config.update(() -> config.triggers.deathTriggerEveryNDeaths = ConfigSettingBuilder.parseIntSafe(value, 1, 1, 100));
                 }));
         currentY += buttonHeight;
 
@@ -198,8 +236,7 @@ public class TriggerSettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Timer Trigger"),
                         (button, value) -> {
-                            config.triggers.enableTimerTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableTimerTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -208,8 +245,7 @@ public class TriggerSettingsSection {
                 "Timer interval (minutes):", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.timerIntervalMinutes),
                 value -> {
-                    config.triggers.timerIntervalMinutes = ConfigSettingBuilder.parseIntSafe(value, 15, 1, 120);
-                    config.save();
+                    config.update(() -> config.triggers.timerIntervalMinutes = ConfigSettingBuilder.parseIntSafe(value, 15, 1, 120));
                 }));
         currentY += buttonHeight;
 
@@ -222,8 +258,7 @@ public class TriggerSettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Entity Kill Trigger"),
                         (button, value) -> {
-                            config.triggers.enableEntityKillTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableEntityKillTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -232,8 +267,7 @@ public class TriggerSettingsSection {
                 "Trigger every N kills:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.entityKillTriggerThreshold),
                 value -> {
-                    config.triggers.entityKillTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 1000);
-                    config.save();
+                    config.update(() -> config.triggers.entityKillTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 1000));
                 }));
         currentY += buttonHeight + spacing;
 
@@ -242,8 +276,7 @@ public class TriggerSettingsSection {
                 "Entity whitelist (comma-separated):", x, currentY, columnWidth, buttonHeight,
                 config.triggers.entityKillWhitelist,
                 value -> {
-                    config.triggers.entityKillWhitelist = value;
-                    config.save();
+                    config.update(() -> config.triggers.entityKillWhitelist = value);
                 },
                 200, // max length for whitelist
                 (int) (columnWidth * 0.6) // wider field for entity list
@@ -259,8 +292,7 @@ public class TriggerSettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Block Break Trigger"),
                         (button, value) -> {
-                            config.triggers.enableBlockBreakTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableBlockBreakTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -269,8 +301,7 @@ public class TriggerSettingsSection {
                 "Trigger every N breaks:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.blockBreakTriggerThreshold),
                 value -> {
-                    config.triggers.blockBreakTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 100, 1, 10000);
-                    config.save();
+                    config.update(() -> config.triggers.blockBreakTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 100, 1, 10000));
                 }));
         currentY += buttonHeight + spacing;
 
@@ -279,8 +310,7 @@ public class TriggerSettingsSection {
                 "Block whitelist (comma-separated):", x, currentY, columnWidth, buttonHeight,
                 config.triggers.blockBreakWhitelist,
                 value -> {
-                    config.triggers.blockBreakWhitelist = value;
-                    config.save();
+                    config.update(() -> config.triggers.blockBreakWhitelist = value);
                 },
                 200, // max length for whitelist
                 (int) (columnWidth * 0.6) // wider field for block list
@@ -296,8 +326,7 @@ public class TriggerSettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Block Place Trigger"),
                         (button, value) -> {
-                            config.triggers.enableBlockPlaceTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableBlockPlaceTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -306,8 +335,7 @@ public class TriggerSettingsSection {
                 "Trigger every N placements:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.blockPlaceTriggerThreshold),
                 value -> {
-                    config.triggers.blockPlaceTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 50, 1, 10000);
-                    config.save();
+                    config.update(() -> config.triggers.blockPlaceTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 50, 1, 10000));
                 }));
         currentY += buttonHeight + spacing;
 
@@ -316,8 +344,7 @@ public class TriggerSettingsSection {
                 "Block whitelist (comma-separated):", x, currentY, columnWidth, buttonHeight,
                 config.triggers.blockPlaceWhitelist,
                 value -> {
-                    config.triggers.blockPlaceWhitelist = value;
-                    config.save();
+                    config.update(() -> config.triggers.blockPlaceWhitelist = value);
                 },
                 200, // max length for whitelist
                 (int) (columnWidth * 0.6) // wider field for block list
@@ -327,24 +354,180 @@ public class TriggerSettingsSection {
         return currentY;
     }
 
+    private int buildCraftTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
+        // Craft Trigger Toggle
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableCraftTrigger)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Craft Trigger"),
+                        (button, value) -> {
+                            config.update(() -> config.triggers.enableCraftTrigger = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // Craft Threshold
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Trigger every N crafted items:", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.triggers.craftTriggerThreshold),
+                value -> {
+                    config.update(() -> config.triggers.craftTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 64, 1, 10000));
+                }));
+        currentY += buttonHeight + spacing;
+
+        // Craft Whitelist
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Item whitelist (comma-separated):", x, currentY, columnWidth, buttonHeight,
+                config.triggers.craftWhitelist,
+                value -> {
+                    config.update(() -> config.triggers.craftWhitelist = value);
+                },
+                200, // max length for whitelist
+                (int) (columnWidth * 0.6) // wider field for item list
+        ));
+        currentY += buttonHeight;
+
+        return currentY;
+    }
+
+    private int buildFishingTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
+        // Fishing Trigger Toggle
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableFishingTrigger)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Fishing Trigger"),
+                        (button, value) -> {
+                            config.update(() -> config.triggers.enableFishingTrigger = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // Fishing Threshold
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Trigger every N catches:", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.triggers.fishingTriggerThreshold),
+                value -> {
+                    config.update(() -> config.triggers.fishingTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 5, 1, 1000));
+                }));
+        currentY += buttonHeight + spacing;
+
+        // Fishing Whitelist
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Catch whitelist (comma-separated):", x, currentY, columnWidth, buttonHeight,
+                config.triggers.fishingWhitelist,
+                value -> {
+                    config.update(() -> config.triggers.fishingWhitelist = value);
+                },
+                200, // max length for whitelist
+                (int) (columnWidth * 0.6) // wider field for item list
+        ));
+        currentY += buttonHeight;
+
+        return currentY;
+    }
+
+    private int buildAdvancementTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
+        // Advancement Trigger Toggle
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableAdvancementTrigger)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Advancement Trigger"),
+                        (button, value) -> {
+                            config.update(() -> config.triggers.enableAdvancementTrigger = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // Advancement Cooldown
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Cooldown (seconds):", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.triggers.advancementTriggerCooldownSeconds),
+                value -> {
+                    config.update(() -> config.triggers.advancementTriggerCooldownSeconds = ConfigSettingBuilder.parseIntSafe(value, 60, 0, 3600));
+                }));
+        currentY += buttonHeight + spacing;
+
+        // Advancement Whitelist
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Advancements (e.g. story/*, modid:*):", x, currentY, columnWidth, buttonHeight,
+                config.triggers.advancementWhitelist,
+                value -> {
+                    config.update(() -> config.triggers.advancementWhitelist = value);
+                },
+                200, // max length for whitelist
+                (int) (columnWidth * 0.6) // wider field for advancement list
+        ));
+        currentY += buttonHeight;
+
+        return currentY;
+    }
+
+    private int buildLevelUpTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
+        // Level Up Trigger Toggle
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableLevelUpTrigger)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Level Up Trigger"),
+                        (button, value) -> {
+                            config.update(() -> config.triggers.enableLevelUpTrigger = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // Level Up Threshold
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Trigger every N levels:", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.triggers.levelUpTriggerEveryNLevels),
+                value -> {
+                    config.update(() -> config.triggers.levelUpTriggerEveryNLevels = ConfigSettingBuilder.parseIntSafe(value, 5, 1, 100));
+                }));
+        currentY += buttonHeight;
+
+        return currentY;
+    }
+
+    private int buildDimensionChangeTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
+        // Dimension Change Trigger Toggle
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableDimensionChangeTrigger)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Dimension Change Trigger"),
+                        (button, value) -> {
+                            config.update(() -> config.triggers.enableDimensionChangeTrigger = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // Dimension Change Cooldown
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Cooldown (seconds):", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.triggers.dimensionChangeTriggerCooldownSeconds),
+                value -> {
+                    config.update(() -> config.triggers.dimensionChangeTriggerCooldownSeconds = ConfigSettingBuilder.parseIntSafe(value, 120, 0, 3600));
+                }));
+        currentY += buttonHeight + spacing;
+
+        // Dimension Whitelist
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "Dimensions (comma-separated):", x, currentY, columnWidth, buttonHeight,
+                config.triggers.dimensionWhitelist,
+                value -> {
+                    config.update(() -> config.triggers.dimensionWhitelist = value);
+                },
+                200, // max length for whitelist
+                (int) (columnWidth * 0.6) // wider field for dimension list
+        ));
+        currentY += buttonHeight;
+
+        return currentY;
+    }
+
     private int buildChatTrigger(Consumer<ClickableWidget> widgetAdder, int x, int currentY, int columnWidth, int buttonHeight, int spacing) {
         // Chat Trigger Toggle
         widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.triggers.enableChatTrigger)
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Chat Trigger"),
                         (button, value) -> {
-                            config.triggers.enableChatTrigger = value;
-                            config.save();
+                            config.update(() -> config.triggers.enableChatTrigger = value);
                         }));
         currentY += buttonHeight + spacing;
 
         // Chat Trigger Pattern
         widgetAdder.accept(settingBuilder.createTextFieldSetting(
-                "Chat pattern (contains):", x, currentY, columnWidth, buttonHeight,
+                "Chat pattern (text or re:regex):", x, currentY, columnWidth, buttonHeight,
                 config.triggers.chatTriggerPattern,
                 value -> {
-                    config.triggers.chatTriggerPattern = value;
-                    config.save();
+                    config.update(() -> config.triggers.chatTriggerPattern = value);
                 },
                 50, // max length for pattern
                 columnWidth / 2 // wider field for text
@@ -356,8 +539,7 @@ public class TriggerSettingsSection {
                 "Trigger every N matches:", x, currentY, columnWidth, buttonHeight,
                 String.valueOf(config.triggers.chatTriggerThreshold),
                 value -> {
-                    config.triggers.chatTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 1000);
-                    config.save();
+                    config.update(() -> config.triggers.chatTriggerThreshold = ConfigSettingBuilder.parseIntSafe(value, 10, 1, 1000));
                 }));
         currentY += buttonHeight;
 
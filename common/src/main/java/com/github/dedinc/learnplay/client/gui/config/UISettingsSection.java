@@ -9,7 +9,7 @@ import java.util.function.Consumer;
 
 /**
  * Builds the UI Settings section of the config screen.
- * Handles pause game during review and show HUD stats settings.
+ * Handles pause game during review, HUD stats (shown, position, scale and lines) and due card notification settings.
  */
 public class UISettingsSection {
 
@@ -44,8 +44,7 @@ public class UISettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Pause game during review"),
                         (button, value) -> {
-                            config.pauseGameDuringReview = value;
-                            config.save();
+                            config.update(() -> config.pauseGameDuringReview = value);
                         }));
         currentY += buttonHeight + spacing;
 
@@ -54,12 +53,58 @@ public class UISettingsSection {
                 .build(x, currentY, columnWidth, buttonHeight,
                         Text.literal("Show HUD stats"),
                         (button, value) -> {
-                            config.showHudStats = value;
-                            config.save();
+                            config.update(() -> config.showHudStats = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // HUD Position
+        widgetAdder.accept(CyclingButtonWidget.<LearnPlayConfig.HudPosition>builder(UISettingsSection::positionText)
+                .values(LearnPlayConfig.HudPosition.values())
+                .initially(config.hudPosition)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("HUD position"),
+                        (button, value) -> {
+                            config.update(() -> config.hudPosition = value);
+                        }));
+        currentY += buttonHeight + spacing;
+
+        // HUD Scale
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "HUD scale:", x, currentY, columnWidth, buttonHeight,
+                String.valueOf(config.hudScale),
+                value -> {
+                    config.update(() -> config.hudScale = ConfigSettingBuilder.parseFloatSafe(value, 1.0f,
+                            LearnPlayConfig.MIN_HUD_SCALE, LearnPlayConfig.MAX_HUD_SCALE));
+                }));
+        currentY += buttonHeight + spacing;
+
+        // HUD Lines
+        widgetAdder.accept(settingBuilder.createTextFieldSetting(
+                "HUD lines:", x, currentY, columnWidth, buttonHeight,
+                config.hudLines,
+                value -> {
+                    config.update(() -> config.hudLines = value.trim());
+                }, 100, columnWidth / 2));
+        currentY += buttonHeight + spacing;
+
+        // Notify When Cards Are Due
+        widgetAdder.accept(CyclingButtonWidget.onOffBuilder(config.notifyWhenCardsDue)
+                .build(x, currentY, columnWidth, buttonHeight,
+                        Text.literal("Notify when cards are due"),
+                        (button, value) -> {
+                            config.update(() -> config.notifyWhenCardsDue = value);
                         }));
         currentY += buttonHeight;
 
         return currentY;
     }
-}
 
+    private static Text positionText(LearnPlayConfig.HudPosition position) {
+        return Text.literal(switch (position) {
+            case TOP_LEFT -> "Top left";
+            case TOP_RIGHT -> "Top right";
+            case BOTTOM_LEFT -> "Bottom left";
+            case BOTTOM_RIGHT -> "Bottom right";
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.dedinc.learnplay.client.gui.editor;
 
 import com.github.dedinc.learnplay.client.gui.GuiLayoutHelper;
+import com.github.dedinc.learnplay.client.gui.widgets.VirtualListWidget;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
@@ -9,10 +10,11 @@ import net.minecraft.text.Text;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Panel for rendering and managing a list of flashcards.
+ * Rows are shown through a {@link VirtualListWidget}, so only the cards on screen have widgets.
  */
 public class CardListPanel {
 
@@ -27,103 +29,69 @@ public class CardListPanel {
     }
 
     /**
-     * Build card list widgets.
+     * Create the widgets of a card row slot, for a {@link VirtualListWidget.RowFactory}.
      *
-     * @param cards        List of cards to display
-     * @param startY       Starting Y position
-     * @param scrollOffset Current scroll offset
-     * @param screenHeight Screen height for visibility check
-     * @param onEdit       Callback when edit button is clicked (card, isNew)
-     * @param onDelete     Callback when delete button is clicked
-     * @return List of widgets to add to screen
+     * @param slot     Slot the buttons act on
+     * @param onEdit   Callback when edit button is clicked
+     * @param onDelete Callback when delete button is clicked
+     * @return Widgets positioned for a row at y = 0
      */
-    public List<ButtonWidget> buildCardWidgets(
-            List<Flashcard> cards,
-            int startY,
-            double scrollOffset,
-            int screenHeight,
-            BiConsumer<Flashcard, Boolean> onEdit,
-            Runnable onDelete
+    public List<ButtonWidget> createRowWidgets(
+            VirtualListWidget.Slot<Flashcard> slot,
+            Consumer<Flashcard> onEdit,
+            Consumer<Flashcard> onDelete
     ) {
         List<ButtonWidget> widgets = new ArrayList<>();
         int buttonHeight = layoutHelper.getButtonHeight();
-        int spacing = layoutHelper.getSmallSpacing();
-        int currentY = startY;
 
-        for (Flashcard card : cards) {
-            int adjustedY = (int) (currentY - scrollOffset);
+        // Use RowLayout to properly position buttons from right to left
+        GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(0);
 
-            // Skip if not visible
-            if (adjustedY < startY - 50 || adjustedY > screenHeight - 150) {
-                currentY += rowHeight + spacing;
-                continue;
-            }
-
-            // Use RowLayout to properly position buttons from right to left
-            GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(adjustedY);
+        int deleteButtonWidth = 70;
+        int deleteX = rowLayout.addButtonFromRight(deleteButtonWidth);
 
-            int deleteButtonWidth = 70;
-            int deleteX = rowLayout.addButtonFromRight(deleteButtonWidth);
+        int editButtonWidth = 60;
+        int editX = rowLayout.addButtonFromRight(editButtonWidth);
 
-            int editButtonWidth = 60;
-            int editX = rowLayout.addButtonFromRight(editButtonWidth);
+        // Edit button
+        widgets.add(ButtonWidget.builder(
+                Text.literal("Edit"),
+                btn -> onEdit.accept(slot.getItem())
+        ).dimensions(editX, 0, editButtonWidth, buttonHeight).build());
 
-            // Edit button
-            widgets.add(ButtonWidget.builder(
-                    Text.literal("Edit"),
-                    btn -> onEdit.accept(card, false)
-            ).dimensions(editX, adjustedY, editButtonWidth, buttonHeight).build());
-
-            // Delete button
-            widgets.add(ButtonWidget.builder(
-                    Text.literal("Delete"),
-                    btn -> onDelete.run()
-            ).dimensions(deleteX, adjustedY, deleteButtonWidth, buttonHeight).build());
-
-            currentY += rowHeight + spacing;
-        }
+        // Delete button
+        widgets.add(ButtonWidget.builder(
+                Text.literal("Delete"),
+                btn -> onDelete.accept(slot.getItem())
+        ).dimensions(deleteX, 0, deleteButtonWidth, buttonHeight).build());
 
         return widgets;
     }
 
     /**
-     * Render card list text.
+     * Render card list text for the rows on screen.
      *
-     * @param context      Draw context
-     * @param cards        List of cards to display
-     * @param startY       Starting Y position
-     * @param scrollOffset Current scroll offset
-     * @param screenHeight Screen height for visibility check
+     * @param context Draw context
+     * @param list    Card list
      */
-    public void renderCardList(
-            DrawContext context,
-            List<Flashcard> cards,
-            int startY,
-            double scrollOffset,
-            int screenHeight
-    ) {
+    public void renderCardList(DrawContext context, VirtualListWidget<Flashcard> list) {
         int margin = layoutHelper.getMargin();
-        int spacing = layoutHelper.getSmallSpacing();
-        int currentY = startY;
-
-        for (Flashcard card : cards) {
-            int adjustedY = (int) (currentY - scrollOffset);
 
-            if (adjustedY >= startY - 50 && adjustedY <= screenHeight - 150) {
-                // Calculate max text width to prevent overlap with buttons
-                GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(adjustedY);
-                rowLayout.addButtonFromRight(70); // Delete button
-                rowLayout.addButtonFromRight(60); // Edit button
-                int maxTextWidth = rowLayout.getMaxTextWidth();
+        for (VirtualListWidget.Slot<Flashcard> slot : list.getSlots()) {
+            if (!slot.isShown()) {
+                continue;
+            }
 
-                String question = "📄 " + card.getQuestion();
-                question = layoutHelper.truncateText(question, textRenderer, maxTextWidth);
+            // Calculate max text width to prevent overlap with buttons
+            GuiLayoutHelper.RowLayout rowLayout = layoutHelper.createRowLayout(slot.getY());
+            rowLayout.addButtonFromRight(70); // Delete button
+            rowLayout.addButtonFromRight(60); // Edit button
+            int maxTextWidth = rowLayout.getMaxTextWidth();
 
-                context.drawTextWithShadow(textRenderer, question, margin, adjustedY + 5, 0xFFFFFF);
-            }
+            String question = "📄 " + slot.getItem().getQuestion();
+            question = layoutHelper.truncateText(question, textRenderer, maxTextWidth);
 
-            currentY += rowHeight + spacing;
+            context.drawTextWithShadow(textRenderer, question, margin, slot.getY() + 5, 0xFFFFFF);
         }
     }
 }
-
@@ -22,15 +22,41 @@ public class ScrollableListWidget {
      * Handle mouse scroll event.
      */
     public boolean handleScroll(double verticalAmount, int itemCount, int screenHeight, int reservedBottomSpace) {
-        scrollOffset -= verticalAmount * scrollSpeed;
-
         // Calculate max scroll
-        int maxScroll = Math.max(0, itemCount * (rowHeight + layoutHelper.getSmallSpacing()) - (screenHeight - reservedBottomSpace));
-        scrollOffset = Math.max(0, Math.min(scrollOffset, maxScroll));
+        int maxScroll = Math.max(0, itemCount * getRowStride() - (screenHeight - reservedBottomSpace));
+        scrollTo(scrollOffset - verticalAmount * scrollSpeed, maxScroll);
 
         return true;
     }
 
+    /**
+     * Scroll to an offset, kept between 0 and maxScroll.
+     */
+    public void scrollTo(double offset, int maxScroll) {
+        scrollOffset = Math.max(0, Math.min(offset, maxScroll));
+    }
+
+    /**
+     * Get the scroll distance of one mouse wheel step.
+     */
+    public double getScrollSpeed() {
+        return scrollSpeed;
+    }
+
+    /**
+     * Get the height of a row.
+     */
+    public int getRowHeight() {
+        return rowHeight;
+    }
+
+    /**
+     * Get the distance between the tops of two consecutive rows.
+     */
+    public int getRowStride() {
+        return rowHeight + layoutHelper.getSmallSpacing();
+    }
+
     /**
      * Get the current scroll offset.
      */
@@ -0,0 +1,216 @@
+package com.github.dedinc.learnplay.client.gui.widgets;
+
+import com.github.dedinc.learnplay.client.gui.GuiLayoutHelper;
+import net.minecraft.client.gui.widget.ClickableWidget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scrollable list that only has widgets for the rows on screen.
+ * <p>
+ * Items are read by index from a {@link RowSource}, so opening a list costs the same for ten items
+ * as for twenty thousand. The list keeps one {@link Slot} per row that fits between its top and
+ * bottom; a slot's widgets are created once and re-bound to another item when the list scrolls,
+ * so scrolling never rebuilds the screen.
+ *
+ * @param <T> Item type
+ */
+public class VirtualListWidget<T> extends ScrollableListWidget {
+
+    /**
+     * Items of a list, by index.
+     */
+    public interface RowSource<T> {
+        int size();
+
+        /**
+         * Get the item at an index, or null to leave its row empty.
+         */
+        T get(int index);
+    }
+
+    /**
+     * Creates and updates the widgets of a row slot.
+     */
+    public interface RowFactory<T> {
+        /**
+         * Create the widgets of a slot, positioned for a row whose top is at y = 0.
+         * Actions should act on {@link Slot#getItem()}, which changes as the list scrolls.
+         */
+        List<? extends ClickableWidget> createWidgets(Slot<T> slot);
+
+        /**
+         * Update the slot's widgets for the item it now shows (e.g. a toggle's state or which buttons are visible).
+         */
+        default void bind(Slot<T> slot) {
+        }
+    }
+
+    /**
+     * A row on screen and the widgets that show it.
+     */
+    public static final class Slot<T> {
+        private List<ClickableWidget> widgets = List.of();
+        private int[] offsets = new int[0];
+        private T item;
+        private int index = -1;
+        private int y;
+
+        private Slot() {
+        }
+
+        /**
+         * Get the item shown in this slot, or null if the slot is empty.
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Get the index of the item shown in this slot.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Get the Y position of the top of this slot's row.
+         */
+        public int getY() {
+            return y;
+        }
+
+        public List<ClickableWidget> getWidgets() {
+            return widgets;
+        }
+
+        public boolean isShown() {
+            return item != null;
+        }
+    }
+
+    private final int top;
+    private final int bottom;
+    private final RowSource<T> source;
+    private final RowFactory<T> factory;
+    private final List<Slot<T>> slots = new ArrayList<>();
+
+    /**
+     * @param top    Y position of the first row when not scrolled
+     * @param bottom Y position rows must end above
+     */
+    public VirtualListWidget(GuiLayoutHelper layoutHelper, int rowHeight, double scrollSpeed,
+                             int top, int bottom, RowSource<T> source, RowFactory<T> factory) {
+        super(layoutHelper, rowHeight, scrollSpeed);
+        this.top = top;
+        this.bottom = bottom;
+        this.source = source;
+        this.factory = factory;
+    }
+
+    /**
+     * Create a slot for every row that fits on screen and add their widgets.
+     *
+     * @param widgetAdder Consumer to add widgets to the screen
+     */
+    public void init(Consumer<ClickableWidget> widgetAdder) {
+        int slotCount = Math.max(0, (bottom - top - getRowHeight()) / getRowStride() + 1);
+        slots.clear();
+        for (int i = 0; i < slotCount; i++) {
+            Slot<T> slot = new Slot<>();
+            slot.widgets = Collections.unmodifiableList(new ArrayList<>(factory.createWidgets(slot)));
+            slot.offsets = new int[slot.widgets.size()];
+            for (int w = 0; w < slot.offsets.length; w++) {
+                ClickableWidget widget = slot.widgets.get(w);
+                slot.offsets[w] = widget.getY();
+                widgetAdder.accept(widget);
+            }
+            slots.add(slot);
+        }
+        refresh();
+    }
+
+    /**
+     * Handle mouse scroll event.
+     */
+    public boolean handleScroll(double verticalAmount) {
+        scrollTo(getScrollOffset() - verticalAmount * getScrollSpeed());
+        return true;
+    }
+
+    /**
+     * Scroll to an offset, kept within the list, and re-bind the slots.
+     */
+    public void scrollTo(double offset) {
+        scrollTo(offset, getMaxScroll());
+        refresh();
+    }
+
+    @Override
+    public void resetScroll() {
+        super.resetScroll();
+        refresh();
+    }
+
+    /**
+     * Re-bind the slots to the items now at their indices. Call after the items change.
+     */
+    public void refresh() {
+        int maxScroll = getMaxScroll();
+        if (getScrollOffset() > maxScroll) {
+            scrollTo(getScrollOffset(), maxScroll);
+        }
+
+        int size = source.size();
+        int first = getFirstVisibleIndex();
+        for (int i = 0; i < slots.size(); i++) {
+            Slot<T> slot = slots.get(i);
+            int index = first + i;
+            int y = getRowY(index);
+            T item = index < size && y + getRowHeight() <= bottom ? source.get(index) : null;
+            slot.index = index;
+            slot.item = item;
+            slot.y = y;
+
+            for (int w = 0; w < slot.offsets.length; w++) {
+                ClickableWidget widget = slot.widgets.get(w);
+                widget.visible = item != null;
+                widget.setY(slot.y + slot.offsets[w]);
+            }
+            if (item != null) {
+                factory.bind(slot);
+            }
+        }
+    }
+
+    /**
+     * Get the slots, in row order. Slots past the end of the list or the bottom of the screen
+     * are not {@link Slot#isShown() shown}.
+     */
+    public List<Slot<T>> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Get the index of the first row that is entirely on screen.
+     */
+    public int getFirstVisibleIndex() {
+        int stride = getRowStride();
+        return ((int) getScrollOffset() + stride - 1) / stride;
+    }
+
+    /**
+     * Get the Y position of the top of a row at the current scroll offset.
+     */
+    public int getRowY(int index) {
+        return top + index * getRowStride() - (int) getScrollOffset();
+    }
+
+    private int getMaxScroll() {
+        int contentHeight = source.size() * getRowStride() - (getRowStride() - getRowHeight());
+        return Math.max(0, contentHeight - (bottom - top));
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.dedinc.learnplay.client.hud;
+
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.toast.SystemToast;
+import net.minecraft.text.Text;
+
+/**
+ * Shows a toast when scheduled cards become due.
+ * Raised by the server (reviews_available packet) or, on servers without LearnPlay,
+ * by the client's own {@link com.github.dedinc.learnplay.srs.DueReviewTracker} wake-up.
+ */
+public class DueReviewNotifier {
+
+    /**
+     * Show the "reviews available" toast if enabled in config. Call on the client thread.
+     *
+     * @param dueCards Number of cards due now
+     */
+    public static void show(int dueCards) {
+        if (!LearnPlayConfig.current().notifyWhenCardsDue || dueCards <= 0) {
+            return;
+        }
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player == null) {
+            return;
+        }
+
+        Text description = Text.literal(dueCards == 1
+                ? "1 card is ready for review"
+                : dueCards + " cards are ready for review");
+        SystemToast.show(client.getToastManager(), SystemToast.Type.PERIODIC_NOTIFICATION,
+                Text.literal("LearnPlay"), description);
+    }
+}
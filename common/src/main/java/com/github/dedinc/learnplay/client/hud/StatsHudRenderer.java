@@ -1,26 +1,83 @@
 package com.github.dedinc.learnplay.client.hud;
 
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.srs.DueReviewTracker;
 import com.github.dedinc.learnplay.srs.ReviewScheduler;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.util.math.MatrixStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Renders HUD statistics overlay showing flashcard review progress.
- * Displays in the top-right corner of the screen when enabled in config.
+ * Displays in a corner of the screen when enabled in config, with the position, scale and lines
+ * chosen there.
+ * <p>
+ * The text lines and their layout are built only when {@link DueReviewTracker} reports a change
+ * (progress or decks changed, or cards became due), the window is resized or the config changes.
+ * Other frames only issue the fills and text draws; the HUD itself allocates nothing, apart from
+ * the matrix push a scaled HUD needs.
  */
 public class StatsHudRenderer {
 
     private static final int PADDING = 4;
     private static final int LINE_HEIGHT = 10;
+    private static final int MARGIN = 5;
     private static final int BACKGROUND_COLOR = 0x80000000; // Semi-transparent black
     private static final int BORDER_COLOR = 0xFF555555; // Gray border
 
+    /**
+     * Lines the HUD can show, named in the {@code hudLines} setting by their lowercase name.
+     */
+    private enum HudLine {
+        TITLE,
+        REVISE,
+        LEARN,
+        WEAK,
+        MIDDLE,
+        STRONG,
+        TOTAL;
+
+        String format(ReviewScheduler.ReviewStats reviewStats, PlayerProgressManager.PlayerStats playerStats) {
+            return switch (this) {
+                case TITLE -> "§6LearnPlay Stats";
+                case REVISE -> "§7Revise: §f" + reviewStats.reviseCards;
+                case LEARN -> "§7Learn: §f" + reviewStats.learnCards;
+                case WEAK -> "§7Weak: §f" + playerStats.weakCards;
+                case MIDDLE -> "§7Middle: §f" + playerStats.middleCards;
+                case STRONG -> "§7Strong: §f" + playerStats.strongCards;
+                case TOTAL -> "§7Total: §f" + reviewStats.totalCards;
+            };
+        }
+    }
+
     // Lazy-initialized scheduler instance
     private static ReviewScheduler scheduler = null;
 
+    // Lines chosen by cachedConfig
+    private static ConfigSnapshot cachedConfig;
+    private static HudLine[] visibleLines;
+
+    // Text for cachedPlayer, valid while the tracker version stays cachedVersion; null when stale
+    private static String cachedPlayer;
+    private static int cachedVersion;
+    private static String[] lines;
+    private static int hudWidth;
+    private static int hudHeight;
+
+    // Top-left corner for the cached screen size
+    private static int cachedScreenWidth = -1;
+    private static int cachedScreenHeight = -1;
+    private static int hudX;
+    private static int hudY;
+
     /**
      * Render the HUD stats overlay.
      * Call this from the HUD render event.
@@ -29,7 +86,7 @@ public class StatsHudRenderer {
      * @param client  Minecraft client instance
      */
     public static void render(DrawContext context, MinecraftClient client) {
-        LearnPlayConfig config = LearnPlayConfig.getInstance();
+        ConfigSnapshot config = LearnPlayConfig.current();
 
         // Check if HUD is enabled
         if (!config.showHudStats) {
@@ -46,47 +103,46 @@ public class StatsHudRenderer {
             return;
         }
 
-        String playerName = client.player.getName().getString();
-        TextRenderer textRenderer = client.textRenderer;
-
-        // Lazy-initialize scheduler
-        if (scheduler == null) {
-            scheduler = new ReviewScheduler();
+        if (config != cachedConfig) {
+            visibleLines = parseLines(config.hudLines);
+            cachedConfig = config;
+            lines = null;
         }
 
-        // Get statistics
-        PlayerProgressManager progressManager = PlayerProgressManager.getInstance();
-
-        ReviewScheduler.ReviewStats reviewStats = scheduler.getReviewStats(playerName);
-        PlayerProgressManager.PlayerStats playerStats = progressManager.getPlayerStats(playerName);
-
-        // Prepare text lines with new terminology
-        String[] lines = {
-                "§6LearnPlay Stats",
-                "§7Revise: §f" + reviewStats.reviseCards,
-                "§7Learn: §f" + reviewStats.learnCards,
-                "§7Weak: §f" + playerStats.weakCards,
-                "§7Middle: §f" + playerStats.middleCards,
-                "§7Strong: §f" + playerStats.strongCards,
-                "§7Total: §f" + reviewStats.totalCards
-        };
-
-        // Calculate dimensions
-        int maxWidth = 0;
-        for (String line : lines) {
-            int width = textRenderer.getWidth(line);
-            if (width > maxWidth) {
-                maxWidth = width;
-            }
+        // Rebuild text and size only after a change
+        String playerName = client.player.getGameProfile().getName();
+        int version = DueReviewTracker.getInstance().getVersion();
+        if (lines == null || version != cachedVersion || !playerName.equals(cachedPlayer)) {
+            buildLines(client.textRenderer, playerName);
+            cachedVersion = version;
+            cachedScreenWidth = -1;
         }
 
-        int hudWidth = maxWidth + PADDING * 2;
-        int hudHeight = (lines.length * LINE_HEIGHT) + PADDING * 2;
+        if (lines.length == 0) {
+            return;
+        }
 
-        // Position in top-right corner
         int screenWidth = context.getScaledWindowWidth();
-        int x = screenWidth - hudWidth - 5;
-        int y = 5;
+        int screenHeight = context.getScaledWindowHeight();
+        if (screenWidth != cachedScreenWidth || screenHeight != cachedScreenHeight) {
+            place(config, screenWidth, screenHeight);
+            cachedScreenWidth = screenWidth;
+            cachedScreenHeight = screenHeight;
+        }
+
+        // Scaled HUDs are drawn at the origin of a translated, scaled matrix
+        float scale = config.hudScale;
+        boolean scaled = scale != 1.0f;
+        int x = hudX;
+        int y = hudY;
+        if (scaled) {
+            MatrixStack matrices = context.getMatrices();
+            matrices.push();
+            matrices.translate(x, y, 0);
+            matrices.scale(scale, scale, 1.0f);
+            x = 0;
+            y = 0;
+        }
 
         // Draw background
         context.fill(x, y, x + hudWidth, y + hudHeight, BACKGROUND_COLOR);
@@ -95,11 +151,77 @@ public class StatsHudRenderer {
         drawBorder(context, x, y, hudWidth, hudHeight);
 
         // Draw text lines
+        TextRenderer textRenderer = client.textRenderer;
         int textY = y + PADDING;
         for (String line : lines) {
             context.drawText(textRenderer, line, x + PADDING, textY, 0xFFFFFF, true);
             textY += LINE_HEIGHT;
         }
+
+        if (scaled) {
+            context.getMatrices().pop();
+        }
+    }
+
+    /**
+     * Format the visible lines from fresh statistics and measure the HUD (unscaled).
+     */
+    private static void buildLines(TextRenderer textRenderer, String playerName) {
+        // Lazy-initialize scheduler
+        if (scheduler == null) {
+            scheduler = new ReviewScheduler();
+        }
+
+        ReviewScheduler.ReviewStats reviewStats = scheduler.getReviewStats(playerName);
+        PlayerProgressManager.PlayerStats playerStats = PlayerProgressManager.getInstance().getPlayerStats(playerName);
+        cachedPlayer = playerName;
+
+        String[] built = new String[visibleLines.length];
+        int maxWidth = 0;
+        for (int i = 0; i < built.length; i++) {
+            built[i] = visibleLines[i].format(reviewStats, playerStats);
+            maxWidth = Math.max(maxWidth, textRenderer.getWidth(built[i]));
+        }
+
+        lines = built;
+        hudWidth = maxWidth + PADDING * 2;
+        hudHeight = (built.length * LINE_HEIGHT) + PADDING * 2;
+    }
+
+    /**
+     * Position the HUD in the configured corner of a screen of the given (scaled) size.
+     */
+    private static void place(ConfigSnapshot config, int screenWidth, int screenHeight) {
+        int scaledWidth = (int) Math.ceil(hudWidth * config.hudScale);
+        int scaledHeight = (int) Math.ceil(hudHeight * config.hudScale);
+
+        hudX = switch (config.hudPosition) {
+            case TOP_LEFT, BOTTOM_LEFT -> MARGIN;
+            case TOP_RIGHT, BOTTOM_RIGHT -> screenWidth - scaledWidth - MARGIN;
+        };
+        hudY = switch (config.hudPosition) {
+            case TOP_LEFT, TOP_RIGHT -> MARGIN;
+            case BOTTOM_LEFT, BOTTOM_RIGHT -> screenHeight - scaledHeight - MARGIN;
+        };
+    }
+
+    /**
+     * Parse the comma-separated {@code hudLines} setting. Unknown names are skipped.
+     */
+    private static HudLine[] parseLines(String setting) {
+        List<HudLine> parsed = new ArrayList<>();
+        for (String name : setting.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(HudLine.valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                LearnPlay.LOGGER.warn("Unknown HUD line '{}' in hudLines", trimmed);
+            }
+        }
+        return parsed.toArray(new HudLine[0]);
     }
 
     /**
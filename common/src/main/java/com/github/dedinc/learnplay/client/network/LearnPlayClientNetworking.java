@@ -0,0 +1,66 @@
+package com.github.dedinc.learnplay.client.network;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.client.gui.ReviewScreen;
+import com.github.dedinc.learnplay.client.hud.DueReviewNotifier;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.network.LearnPlayNetworking;
+import dev.architectury.networking.NetworkManager;
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Client side of {@link LearnPlayNetworking}.
+ * <p>
+ * When the server runs LearnPlay (including the integrated server), it is authoritative:
+ * it counts triggers, picks cards and stores ratings, and the client only shows the
+ * review screen and reports triggers it alone can see.
+ */
+public class LearnPlayClientNetworking {
+
+    /**
+     * Register the S2C receivers. Call from platform client init.
+     */
+    public static void init() {
+        NetworkManager.registerReceiver(NetworkManager.Side.S2C, LearnPlayNetworking.REVIEW_CARD, (buf, context) -> {
+            Flashcard card = LearnPlayNetworking.readReviewCard(buf);
+            SRSState state = LearnPlayNetworking.readReviewState(buf, card.getId());
+            context.queue(() -> {
+                MinecraftClient client = MinecraftClient.getInstance();
+                if (client.player == null) {
+                    return;
+                }
+                LearnPlay.LOGGER.info("Server sent review for card: {}", card.getId());
+                client.setScreen(ReviewScreen.forServer(card, state, client.player.getName().getString()));
+            });
+        });
+
+        NetworkManager.registerReceiver(NetworkManager.Side.S2C, LearnPlayNetworking.REVIEWS_AVAILABLE, (buf, context) -> {
+            int dueCards = buf.readVarInt();
+            context.queue(() -> DueReviewNotifier.show(dueCards));
+        });
+    }
+
+    /**
+     * Check whether the connected server runs LearnPlay and handles triggers itself.
+     */
+    public static boolean isServerAuthoritative() {
+        return MinecraftClient.getInstance().getNetworkHandler() != null
+                && NetworkManager.canServerReceive(LearnPlayNetworking.TRIGGER);
+    }
+
+    /**
+     * Report the events of a client-detected trigger seen in one tick to the server.
+     */
+    public static void sendTrigger(TriggerConfig.TriggerType type, int count) {
+        NetworkManager.sendToServer(LearnPlayNetworking.TRIGGER, LearnPlayNetworking.writeTrigger(type, count));
+    }
+
+    /**
+     * Send the rating for a card the server sent.
+     */
+    public static void sendRating(String cardId, boolean remembered) {
+        NetworkManager.sendToServer(LearnPlayNetworking.REVIEW_RATING, LearnPlayNetworking.writeReviewRating(cardId, remembered));
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.dedinc.learnplay.config;
+
+import com.github.dedinc.learnplay.LearnPlay;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config/learnplay/config.json and applies edits made to it while the game runs.
+ * <p>
+ * Editors often write a file in several steps (truncate, write, rename), so a change is only
+ * applied once the file has been quiet for {@link #DEBOUNCE_MILLIS}. Nothing is checked per event
+ * or per tick: the watcher thread sleeps until the file system reports a change.
+ */
+public final class ConfigFileWatcher {
+
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    private static Thread thread;
+
+    private ConfigFileWatcher() {
+    }
+
+    /**
+     * Start watching the config file. Does nothing if already started.
+     */
+    public static synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        Path configPath = Paths.get(LearnPlayConfig.CONFIG_PATH).toAbsolutePath();
+        Path configDir = configPath.getParent();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            configDir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            LearnPlay.LOGGER.warn("Cannot watch {} for changes: {}", configPath, e.getMessage());
+            return;
+        }
+
+        Path fileName = configPath.getFileName();
+        thread = new Thread(() -> watch(watchService, fileName), "LearnPlay-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        LearnPlay.LOGGER.info("Watching {} for changes", configPath);
+    }
+
+    private static void watch(WatchService watchService, Path fileName) {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take(), fileName);
+                if (!changed) {
+                    continue;
+                }
+
+                // Wait until the file has been quiet for a moment
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next, fileName);
+                }
+                LearnPlayConfig.getInstance().reloadIfChanged();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Consume a key's events and re-arm it.
+     *
+     * @return true if one of the events is about the config file
+     */
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            LearnPlay.LOGGER.warn("Config directory is no longer watched");
+        }
+        return changed;
+    }
+}
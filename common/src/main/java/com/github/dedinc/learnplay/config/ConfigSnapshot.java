@@ -0,0 +1,131 @@
+package com.github.dedinc.learnplay.config;
+
+import java.util.List;
+
+/**
+ * Immutable copy of the configuration, published by {@link LearnPlayConfig} each time it is loaded or saved.
+ * <p>
+ * Game code reads settings from {@link LearnPlayConfig#current()} on any thread: one volatile read
+ * gives a consistent set of values. Values derived from the settings (per-trigger flags, thresholds
+ * and cooldowns) are computed once here rather than on every use.
+ * Structures that need the game's registries (whitelists, chat matchers) are rebuilt by their owners
+ * through {@link LearnPlayConfig#addChangeListener}.
+ * <p>
+ * The settings screens edit the mutable {@link LearnPlayConfig} fields and call {@link LearnPlayConfig#save()}.
+ */
+public final class ConfigSnapshot {
+
+    private static final int TYPE_COUNT = TriggerConfig.TriggerType.values().length;
+
+    public final Triggers triggers;
+
+    // Review Settings
+    public final int maxCardsPerSession;
+    public final int maxNewCardsPerDay;
+    public final int maxReviewsPerDay;
+    public final String reviewTagFilter;
+
+    // UI Settings
+    public final boolean pauseGameDuringReview;
+    public final boolean showHudStats;
+    public final boolean notifyWhenCardsDue;
+    public final int keybindCode;
+    public final LearnPlayConfig.HudPosition hudPosition;
+    public final float hudScale;
+    public final String hudLines;
+
+    // Performance Settings
+    public final int tickBudgetMicros;
+    public final int lagBackoffMspt;
+
+    ConfigSnapshot(LearnPlayConfig config) {
+        this.triggers = new Triggers(config.triggers);
+        this.maxCardsPerSession = config.maxCardsPerSession;
+        this.maxNewCardsPerDay = config.maxNewCardsPerDay;
+        this.maxReviewsPerDay = config.maxReviewsPerDay;
+        this.reviewTagFilter = config.reviewTagFilter;
+        this.pauseGameDuringReview = config.pauseGameDuringReview;
+        this.showHudStats = config.showHudStats;
+        this.notifyWhenCardsDue = config.notifyWhenCardsDue;
+        this.keybindCode = config.keybindCode;
+        this.hudPosition = config.hudPosition;
+        this.hudScale = config.hudScale;
+        this.hudLines = config.hudLines;
+        this.tickBudgetMicros = config.tickBudgetMicros;
+        this.lagBackoffMspt = config.lagBackoffMspt;
+    }
+
+    /**
+     * Immutable copy of a {@link TriggerConfig}, with per-type settings flattened into arrays.
+     */
+    public static final class Triggers {
+        public final boolean useStatisticsTriggers;
+        public final int statisticsSampleIntervalTicks;
+        public final int timerIntervalMinutes;
+        public final int globalCooldownSeconds;
+
+        // Whitelist strings; compiled by the trigger handlers
+        public final String advancementWhitelist;
+        public final String blockBreakWhitelist;
+        public final String blockPlaceWhitelist;
+        public final String entityKillWhitelist;
+        public final String craftWhitelist;
+        public final String dimensionWhitelist;
+        public final String fishingWhitelist;
+
+        // Chat rules; compiled by ChatTriggerHandler
+        public final String chatTriggerPattern;
+        public final int chatTriggerThreshold;
+        public final List<TriggerConfig.ChatTriggerRule> chatTriggerRules;
+
+        // Indexed by trigger ordinal
+        private final boolean[] enabled = new boolean[TYPE_COUNT];
+        private final int[] thresholds = new int[TYPE_COUNT];
+        private final long[] cooldownMillis = new long[TYPE_COUNT];
+
+        Triggers(TriggerConfig config) {
+            this.useStatisticsTriggers = config.useStatisticsTriggers;
+            this.statisticsSampleIntervalTicks = config.statisticsSampleIntervalTicks;
+            this.timerIntervalMinutes = config.timerIntervalMinutes;
+            this.globalCooldownSeconds = config.globalCooldownSeconds;
+            this.advancementWhitelist = config.advancementWhitelist;
+            this.blockBreakWhitelist = config.blockBreakWhitelist;
+            this.blockPlaceWhitelist = config.blockPlaceWhitelist;
+            this.entityKillWhitelist = config.entityKillWhitelist;
+            this.craftWhitelist = config.craftWhitelist;
+            this.dimensionWhitelist = config.dimensionWhitelist;
+            this.fishingWhitelist = config.fishingWhitelist;
+            this.chatTriggerPattern = config.chatTriggerPattern;
+            this.chatTriggerThreshold = config.chatTriggerThreshold;
+            this.chatTriggerRules = List.copyOf(config.chatTriggerRules);
+
+            for (TriggerConfig.TriggerType type : TriggerConfig.TriggerType.values()) {
+                int index = type.ordinal();
+                enabled[index] = config.isTriggerEnabled(type);
+                thresholds[index] = config.getThreshold(type);
+                cooldownMillis[index] = config.getCooldownMillis(type);
+            }
+        }
+
+        /**
+         * Check if trigger type is enabled.
+         */
+        public boolean isTriggerEnabled(TriggerConfig.TriggerType type) {
+            return enabled[type.ordinal()];
+        }
+
+        /**
+         * Get the threshold for a trigger type (how many times before it fires).
+         */
+        public int getThreshold(TriggerConfig.TriggerType type) {
+            return thresholds[type.ordinal()];
+        }
+
+        /**
+         * Get cooldown for trigger type (in milliseconds).
+         */
+        public long getCooldownMillis(TriggerConfig.TriggerType type) {
+            return cooldownMillis[type.ordinal()];
+        }
+    }
+}
@@ -11,17 +11,35 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Main configuration class for LearnPlay mod.
  * Handles all mod settings and persists them to JSON.
  * <p>
  * Configuration is saved to: config/learnplay/config.json
+ * <p>
+ * The public fields are the editable copy used by the settings screens, which change them through
+ * {@link #update}. Every load and save publishes an immutable {@link ConfigSnapshot}, which is what
+ * the rest of the mod reads through {@link #current()}. Edits made to the file while the game runs
+ * are picked up by {@link ConfigFileWatcher}; a file is parsed in full before any field changes.
  */
 public class LearnPlayConfig {
-    private static final String CONFIG_PATH = "config/learnplay/config.json";
+    static final String CONFIG_PATH = "config/learnplay/config.json";
+    public static final float MIN_HUD_SCALE = 0.5f;
+    public static final float MAX_HUD_SCALE = 3.0f;
     private static LearnPlayConfig instance;
 
+    // Published settings, replaced as a whole on every load or save
+    private static volatile ConfigSnapshot snapshot;
+    private static final List<Consumer<ConfigSnapshot>> changeListeners = new CopyOnWriteArrayList<>();
+
+    // File content last loaded or saved, so the watcher ignores our own writes
+    private String lastContent;
+
     // Trigger Settings
     public TriggerConfig triggers = new TriggerConfig();
 
@@ -29,17 +47,26 @@ public class LearnPlayConfig {
     public int maxCardsPerSession = 20;
     public int maxNewCardsPerDay = 10;
     public int maxReviewsPerDay = 100;
+    public String reviewTagFilter = ""; // e.g. "kanji -hard"; empty reviews all cards
 
     // UI Settings
     public boolean pauseGameDuringReview = true;
     public boolean showHudStats = false;
+    public boolean notifyWhenCardsDue = true; // Toast when scheduled cards become due
     public int keybindCode = 73; // 'I' key (GLFW_KEY_I)
+    public HudPosition hudPosition = HudPosition.TOP_RIGHT;
+    public float hudScale = 1.0f;
+    public String hudLines = "title,revise,learn,weak,middle,strong,total"; // Lines shown on the HUD, in order
+
+    // Performance Settings
+    public int tickBudgetMicros = 2000; // Time per tick for deferred work (see TickScheduler)
+    public int lagBackoffMspt = 40; // Shrink that budget while the server averages more MSPT than this
 
     private LearnPlayConfig() {
         // Private constructor for singleton
     }
 
-    public static LearnPlayConfig getInstance() {
+    public static synchronized LearnPlayConfig getInstance() {
         if (instance == null) {
             instance = new LearnPlayConfig();
             instance.load();
@@ -47,11 +74,31 @@ public class LearnPlayConfig {
         return instance;
     }
 
+    /**
+     * Get the current settings. Safe to call from any thread; the returned snapshot never changes.
+     */
+    public static ConfigSnapshot current() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            getInstance();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Register a listener called with the new snapshot whenever the settings are loaded or saved,
+     * on the thread that loaded or saved them. Used to rebuild structures derived from the settings.
+     */
+    public static void addChangeListener(Consumer<ConfigSnapshot> listener) {
+        changeListeners.add(listener);
+    }
+
     /**
      * Load configuration from JSON file.
      * Creates default config if file doesn't exist.
      */
-    public void load() {
+    public synchronized void load() {
         Path configPath = Paths.get(CONFIG_PATH);
 
         try {
@@ -66,22 +113,77 @@ public class LearnPlayConfig {
             if (Files.exists(configPath)) {
                 String jsonContent = Files.readString(configPath, StandardCharsets.UTF_8);
                 JsonObject json = JsonParser.parseString(jsonContent).getAsJsonObject();
-                fromJson(json);
+                copyFrom(parse(json));
+                lastContent = jsonContent;
                 LearnPlay.LOGGER.info("Loaded configuration from {}", configPath.toAbsolutePath());
             } else {
                 // Create default config
-                save();
+                write();
                 LearnPlay.LOGGER.info("Created default configuration at {}", configPath.toAbsolutePath());
             }
         } catch (Exception e) {
             LearnPlay.LOGGER.error("Failed to load configuration, using defaults", e);
         }
+        publish();
     }
 
     /**
-     * Save configuration to JSON file.
+     * Load the file again if its content differs from what was last loaded or saved.
+     * A file that fails to parse (e.g. saved halfway through an edit) leaves the current settings in place.
      */
-    public void save() {
+    synchronized void reloadIfChanged() {
+        Path configPath = Paths.get(CONFIG_PATH);
+        try {
+            if (!Files.exists(configPath)) {
+                return;
+            }
+            String jsonContent = Files.readString(configPath, StandardCharsets.UTF_8);
+            if (jsonContent.equals(lastContent)) {
+                return; // Our own save, or a write that changed nothing
+            }
+            JsonObject json = JsonParser.parseString(jsonContent).getAsJsonObject();
+            copyFrom(parse(json));
+            lastContent = jsonContent;
+        } catch (Exception e) {
+            LearnPlay.LOGGER.warn("Ignoring configuration change that could not be read: {}", e.getMessage());
+            return;
+        }
+        publish();
+        LearnPlay.LOGGER.info("Applied configuration changes from {}", configPath.toAbsolutePath());
+    }
+
+    /**
+     * Publish the current field values as a new snapshot and notify the listeners.
+     */
+    private void publish() {
+        ConfigSnapshot published = new ConfigSnapshot(this);
+        snapshot = published;
+        for (Consumer<ConfigSnapshot> listener : changeListeners) {
+            try {
+                listener.accept(published);
+            } catch (RuntimeException e) {
+                LearnPlay.LOGGER.error("Failed to apply configuration change", e);
+            }
+        }
+    }
+
+    /**
+     * Save configuration to JSON file and publish it to {@link #current()}.
+     */
+    public synchronized void save() {
+        write();
+        publish();
+    }
+
+    /**
+     * Change fields and save, atomically with respect to a reload of the file by the watcher thread.
+     */
+    public synchronized void update(Runnable edit) {
+        edit.run();
+        save();
+    }
+
+    private void write() {
         Path configPath = Paths.get(CONFIG_PATH);
 
         try {
@@ -89,6 +191,7 @@ public class LearnPlayConfig {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             String jsonContent = gson.toJson(json);
 
+            lastContent = jsonContent;
             Files.writeString(configPath, jsonContent, StandardCharsets.UTF_8);
             LearnPlay.LOGGER.info("Saved configuration to {}", configPath.toAbsolutePath());
         } catch (IOException e) {
@@ -110,18 +213,60 @@ public class LearnPlayConfig {
         reviewSettings.addProperty("maxCardsPerSession", maxCardsPerSession);
         reviewSettings.addProperty("maxNewCardsPerDay", maxNewCardsPerDay);
         reviewSettings.addProperty("maxReviewsPerDay", maxReviewsPerDay);
+        reviewSettings.addProperty("reviewTagFilter", reviewTagFilter);
         json.add("reviewSettings", reviewSettings);
 
         // UI settings
         JsonObject uiSettings = new JsonObject();
         uiSettings.addProperty("pauseGameDuringReview", pauseGameDuringReview);
         uiSettings.addProperty("showHudStats", showHudStats);
+        uiSettings.addProperty("notifyWhenCardsDue", notifyWhenCardsDue);
         uiSettings.addProperty("keybindCode", keybindCode);
+        uiSettings.addProperty("hudPosition", hudPosition.name().toLowerCase(Locale.ROOT));
+        uiSettings.addProperty("hudScale", hudScale);
+        uiSettings.addProperty("hudLines", hudLines);
         json.add("uiSettings", uiSettings);
 
+        // Performance settings
+        JsonObject performanceSettings = new JsonObject();
+        performanceSettings.addProperty("tickBudgetMicros", tickBudgetMicros);
+        performanceSettings.addProperty("lagBackoffMspt", lagBackoffMspt);
+        json.add("performanceSettings", performanceSettings);
+
         return json;
     }
 
+    /**
+     * Parse a config file into a new instance, leaving this one untouched if it fails part way.
+     * Settings missing from the file keep their current values.
+     */
+    private LearnPlayConfig parse(JsonObject json) {
+        LearnPlayConfig parsed = new LearnPlayConfig();
+        parsed.fromJson(toJson());
+        parsed.fromJson(json);
+        return parsed;
+    }
+
+    /**
+     * Take over every setting of a parsed config. Keep in step with the fields above.
+     */
+    private void copyFrom(LearnPlayConfig other) {
+        triggers = other.triggers;
+        maxCardsPerSession = other.maxCardsPerSession;
+        maxNewCardsPerDay = other.maxNewCardsPerDay;
+        maxReviewsPerDay = other.maxReviewsPerDay;
+        reviewTagFilter = other.reviewTagFilter;
+        pauseGameDuringReview = other.pauseGameDuringReview;
+        showHudStats = other.showHudStats;
+        notifyWhenCardsDue = other.notifyWhenCardsDue;
+        keybindCode = other.keybindCode;
+        hudPosition = other.hudPosition;
+        hudScale = other.hudScale;
+        hudLines = other.hudLines;
+        tickBudgetMicros = other.tickBudgetMicros;
+        lagBackoffMspt = other.lagBackoffMspt;
+    }
+
     /**
      * Load config from JSON.
      */
@@ -140,6 +285,8 @@ public class LearnPlayConfig {
                     reviewSettings.get("maxNewCardsPerDay").getAsInt() : maxNewCardsPerDay;
             maxReviewsPerDay = reviewSettings.has("maxReviewsPerDay") ?
                     reviewSettings.get("maxReviewsPerDay").getAsInt() : maxReviewsPerDay;
+            reviewTagFilter = reviewSettings.has("reviewTagFilter") ?
+                    reviewSettings.get("reviewTagFilter").getAsString() : reviewTagFilter;
         }
 
         // UI settings
@@ -149,8 +296,25 @@ public class LearnPlayConfig {
                     uiSettings.get("pauseGameDuringReview").getAsBoolean() : pauseGameDuringReview;
             showHudStats = uiSettings.has("showHudStats") ?
                     uiSettings.get("showHudStats").getAsBoolean() : showHudStats;
+            notifyWhenCardsDue = uiSettings.has("notifyWhenCardsDue") ?
+                    uiSettings.get("notifyWhenCardsDue").getAsBoolean() : notifyWhenCardsDue;
             keybindCode = uiSettings.has("keybindCode") ?
                     uiSettings.get("keybindCode").getAsInt() : keybindCode;
+            hudPosition = uiSettings.has("hudPosition") ?
+                    HudPosition.fromString(uiSettings.get("hudPosition").getAsString(), hudPosition) : hudPosition;
+            hudScale = uiSettings.has("hudScale") ?
+                    Math.max(MIN_HUD_SCALE, Math.min(MAX_HUD_SCALE, uiSettings.get("hudScale").getAsFloat())) : hudScale;
+            hudLines = uiSettings.has("hudLines") ?
+                    uiSettings.get("hudLines").getAsString() : hudLines;
+        }
+
+        // Performance settings
+        if (json.has("performanceSettings")) {
+            JsonObject performanceSettings = json.getAsJsonObject("performanceSettings");
+            tickBudgetMicros = performanceSettings.has("tickBudgetMicros") ?
+                    Math.max(0, performanceSettings.get("tickBudgetMicros").getAsInt()) : tickBudgetMicros;
+            lagBackoffMspt = performanceSettings.has("lagBackoffMspt") ?
+                    Math.max(1, Math.min(49, performanceSettings.get("lagBackoffMspt").getAsInt())) : lagBackoffMspt;
         }
     }
 
@@ -161,4 +325,25 @@ public class LearnPlayConfig {
         load();
         LearnPlay.LOGGER.info("Configuration reloaded");
     }
+
+    /**
+     * Screen corner the HUD stats overlay is anchored to.
+     */
+    public enum HudPosition {
+        TOP_LEFT,
+        TOP_RIGHT,
+        BOTTOM_LEFT,
+        BOTTOM_RIGHT;
+
+        /**
+         * Parse a position name such as {@code "top_right"}, falling back to {@code defaultValue}.
+         */
+        public static HudPosition fromString(String value, HudPosition defaultValue) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return defaultValue;
+            }
+        }
+    }
 }
@@ -1,7 +1,12 @@
 package com.github.dedinc.learnplay.config;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration for trigger system.
  * Controls when flashcard reviews are triggered in-game.
@@ -16,6 +21,10 @@ public class TriggerConfig {
     public boolean enableBlockPlaceTrigger = false;
     public boolean enableEntityKillTrigger = false;
     public boolean enableChatTrigger = false;
+    public boolean enableCraftTrigger = false;
+    public boolean enableDimensionChangeTrigger = false;
+    public boolean enableFishingTrigger = false;
+    public boolean enableLevelUpTrigger = false;
 
     // Timer trigger settings
     public int timerIntervalMinutes = 15; // Trigger review every N minutes
@@ -25,26 +34,48 @@ public class TriggerConfig {
 
     // Advancement trigger settings
     public int advancementTriggerCooldownSeconds = 60;
+    public String advancementWhitelist = ""; // Comma-separated advancements, modid:path/* or modid:* to track (empty = all)
 
     // Block break trigger settings
     public int blockBreakTriggerThreshold = 100; // Trigger after breaking N blocks
-    public String blockBreakWhitelist = "stone,dirt,oak_log,iron_ore,diamond_ore"; // Comma-separated list of block types to track (empty = all blocks)
+    public String blockBreakWhitelist = "stone,dirt,oak_log,iron_ore,diamond_ore"; // Comma-separated blocks, #tags or modid:* to track (empty = all blocks)
 
     // Block place trigger settings
     public int blockPlaceTriggerThreshold = 50; // Trigger after placing N blocks
-    public String blockPlaceWhitelist = ""; // Comma-separated list of block types to track (empty = all blocks)
+    public String blockPlaceWhitelist = ""; // Comma-separated blocks, #tags or modid:* to track (empty = all blocks)
 
     // Entity kill trigger settings
     public int entityKillTriggerThreshold = 10; // Trigger after killing N entities
-    public String entityKillWhitelist = "zombie,skeleton,creeper,spider,enderman"; // Comma-separated list of entity types to track (empty = all entities)
+    public String entityKillWhitelist = "zombie,skeleton,creeper,spider,enderman"; // Comma-separated entity types, #tags or modid:* to track (empty = all entities)
 
     // Chat trigger settings
-    public String chatTriggerPattern = "edit"; // Pattern to match in chat messages (case-insensitive contains)
+    public String chatTriggerPattern = "edit"; // Text to find in chat messages (case-insensitive), or "re:" + regex
     public int chatTriggerThreshold = 10; // Trigger every N chat matches
+    public List<ChatTriggerRule> chatTriggerRules = new ArrayList<>(); // More patterns, each with its own threshold
+
+    // Craft trigger settings
+    public int craftTriggerThreshold = 64; // Trigger after crafting N items
+    public String craftWhitelist = ""; // Comma-separated items, #tags or modid:* to track (empty = all items)
+
+    // Dimension change trigger settings
+    public int dimensionChangeTriggerCooldownSeconds = 120;
+    public String dimensionWhitelist = ""; // Comma-separated destination dimensions or modid:* to track (empty = all)
+
+    // Fishing trigger settings
+    public int fishingTriggerThreshold = 5; // Trigger after N catches
+    public String fishingWhitelist = ""; // Comma-separated caught items, #tags or modid:* to track (empty = all items)
+
+    // Level up trigger settings
+    public int levelUpTriggerEveryNLevels = 5; // Trigger every N levels gained
 
     // Global cooldown (minimum time between ANY triggers)
     public int globalCooldownSeconds = 10;
 
+    // Statistics source: count block break/place, entity kill and death triggers from the
+    // player's vanilla statistics instead of per-event listeners (server-side only)
+    public boolean useStatisticsTriggers = false;
+    public int statisticsSampleIntervalTicks = 20; // Sample statistics every N ticks
+
     /**
      * Convert to JSON.
      */
@@ -59,6 +90,10 @@ public class TriggerConfig {
         json.addProperty("enableBlockPlaceTrigger", enableBlockPlaceTrigger);
         json.addProperty("enableEntityKillTrigger", enableEntityKillTrigger);
         json.addProperty("enableChatTrigger", enableChatTrigger);
+        json.addProperty("enableCraftTrigger", enableCraftTrigger);
+        json.addProperty("enableDimensionChangeTrigger", enableDimensionChangeTrigger);
+        json.addProperty("enableFishingTrigger", enableFishingTrigger);
+        json.addProperty("enableLevelUpTrigger", enableLevelUpTrigger);
 
         // Timer settings
         json.addProperty("timerIntervalMinutes", timerIntervalMinutes);
@@ -68,6 +103,7 @@ public class TriggerConfig {
 
         // Advancement settings
         json.addProperty("advancementTriggerCooldownSeconds", advancementTriggerCooldownSeconds);
+        json.addProperty("advancementWhitelist", advancementWhitelist);
 
         // Block break settings
         json.addProperty("blockBreakTriggerThreshold", blockBreakTriggerThreshold);
@@ -84,10 +120,34 @@ public class TriggerConfig {
         // Chat settings
         json.addProperty("chatTriggerPattern", chatTriggerPattern);
         json.addProperty("chatTriggerThreshold", chatTriggerThreshold);
+        JsonArray rulesArray = new JsonArray();
+        for (ChatTriggerRule rule : chatTriggerRules) {
+            rulesArray.add(rule.toJson());
+        }
+        json.add("chatTriggerRules", rulesArray);
+
+        // Craft settings
+        json.addProperty("craftTriggerThreshold", craftTriggerThreshold);
+        json.addProperty("craftWhitelist", craftWhitelist);
+
+        // Dimension change settings
+        json.addProperty("dimensionChangeTriggerCooldownSeconds", dimensionChangeTriggerCooldownSeconds);
+        json.addProperty("dimensionWhitelist", dimensionWhitelist);
+
+        // Fishing settings
+        json.addProperty("fishingTriggerThreshold", fishingTriggerThreshold);
+        json.addProperty("fishingWhitelist", fishingWhitelist);
+
+        // Level up settings
+        json.addProperty("levelUpTriggerEveryNLevels", levelUpTriggerEveryNLevels);
 
         // Global cooldown
         json.addProperty("globalCooldownSeconds", globalCooldownSeconds);
 
+        // Statistics source
+        json.addProperty("useStatisticsTriggers", useStatisticsTriggers);
+        json.addProperty("statisticsSampleIntervalTicks", statisticsSampleIntervalTicks);
+
         return json;
     }
 
@@ -113,6 +173,14 @@ public class TriggerConfig {
             enableEntityKillTrigger = json.get("enableEntityKillTrigger").getAsBoolean();
         if (json.has("enableChatTrigger"))
             enableChatTrigger = json.get("enableChatTrigger").getAsBoolean();
+        if (json.has("enableCraftTrigger"))
+            enableCraftTrigger = json.get("enableCraftTrigger").getAsBoolean();
+        if (json.has("enableDimensionChangeTrigger"))
+            enableDimensionChangeTrigger = json.get("enableDimensionChangeTrigger").getAsBoolean();
+        if (json.has("enableFishingTrigger"))
+            enableFishingTrigger = json.get("enableFishingTrigger").getAsBoolean();
+        if (json.has("enableLevelUpTrigger"))
+            enableLevelUpTrigger = json.get("enableLevelUpTrigger").getAsBoolean();
 
         // Timer settings
         if (json.has("timerIntervalMinutes"))
@@ -126,6 +194,8 @@ public class TriggerConfig {
         // Advancement settings
         if (json.has("advancementTriggerCooldownSeconds"))
             advancementTriggerCooldownSeconds = json.get("advancementTriggerCooldownSeconds").getAsInt();
+        if (json.has("advancementWhitelist"))
+            advancementWhitelist = json.get("advancementWhitelist").getAsString();
 
         // Block break settings
         if (json.has("blockBreakTriggerThreshold"))
@@ -158,10 +228,45 @@ public class TriggerConfig {
         // Ignore old chatTriggerCooldownSeconds for backward compatibility
         if (json.has("chatTriggerThreshold"))
             chatTriggerThreshold = json.get("chatTriggerThreshold").getAsInt();
+        if (json.has("chatTriggerRules")) {
+            List<ChatTriggerRule> rules = new ArrayList<>();
+            for (JsonElement element : json.getAsJsonArray("chatTriggerRules")) {
+                rules.add(ChatTriggerRule.fromJson(element.getAsJsonObject()));
+            }
+            chatTriggerRules = rules;
+        }
+
+        // Craft settings
+        if (json.has("craftTriggerThreshold"))
+            craftTriggerThreshold = json.get("craftTriggerThreshold").getAsInt();
+        if (json.has("craftWhitelist"))
+            craftWhitelist = json.get("craftWhitelist").getAsString();
+
+        // Dimension change settings
+        if (json.has("dimensionChangeTriggerCooldownSeconds"))
+            dimensionChangeTriggerCooldownSeconds = json.get("dimensionChangeTriggerCooldownSeconds").getAsInt();
+        if (json.has("dimensionWhitelist"))
+            dimensionWhitelist = json.get("dimensionWhitelist").getAsString();
+
+        // Fishing settings
+        if (json.has("fishingTriggerThreshold"))
+            fishingTriggerThreshold = json.get("fishingTriggerThreshold").getAsInt();
+        if (json.has("fishingWhitelist"))
+            fishingWhitelist = json.get("fishingWhitelist").getAsString();
+
+        // Level up settings
+        if (json.has("levelUpTriggerEveryNLevels"))
+            levelUpTriggerEveryNLevels = json.get("levelUpTriggerEveryNLevels").getAsInt();
 
         // Global cooldown
         if (json.has("globalCooldownSeconds"))
             globalCooldownSeconds = json.get("globalCooldownSeconds").getAsInt();
+
+        // Statistics source
+        if (json.has("useStatisticsTriggers"))
+            useStatisticsTriggers = json.get("useStatisticsTriggers").getAsBoolean();
+        if (json.has("statisticsSampleIntervalTicks"))
+            statisticsSampleIntervalTicks = Math.max(1, json.get("statisticsSampleIntervalTicks").getAsInt());
     }
 
     /**
@@ -176,6 +281,10 @@ public class TriggerConfig {
             case BLOCK_PLACE -> enableBlockPlaceTrigger;
             case ENTITY_KILL -> enableEntityKillTrigger;
             case CHAT -> enableChatTrigger;
+            case CRAFT -> enableCraftTrigger;
+            case DIMENSION_CHANGE -> enableDimensionChangeTrigger;
+            case FISHING -> enableFishingTrigger;
+            case LEVEL_UP -> enableLevelUpTrigger;
         };
     }
 
@@ -191,10 +300,58 @@ public class TriggerConfig {
             case ENTITY_KILL -> 0; // Entity kill trigger doesn't use cooldowns (uses threshold counting only)
             case CHAT -> 0; // Chat trigger uses threshold counting only
             case TIMER -> 0; // Timer has its own interval
+            case CRAFT -> 0; // Craft trigger uses threshold counting only
+            case DIMENSION_CHANGE -> dimensionChangeTriggerCooldownSeconds;
+            case FISHING -> 0; // Fishing trigger uses threshold counting only
+            case LEVEL_UP -> 0; // Level up trigger uses threshold counting only
         };
         return seconds * 1000L;
     }
 
+    /**
+     * Get the threshold for a trigger type (how many times before it fires).
+     */
+    public int getThreshold(TriggerType type) {
+        return switch (type) {
+            case DEATH -> deathTriggerEveryNDeaths;
+            case ENTITY_KILL -> entityKillTriggerThreshold;
+            case BLOCK_BREAK -> blockBreakTriggerThreshold;
+            case BLOCK_PLACE -> blockPlaceTriggerThreshold;
+            case CHAT -> 1; // Chat rules count their own matches (see ChatTriggerHandler)
+            case CRAFT -> craftTriggerThreshold;
+            case FISHING -> fishingTriggerThreshold;
+            case LEVEL_UP -> levelUpTriggerEveryNLevels;
+            default -> 1; // TIMER, ADVANCEMENT and DIMENSION_CHANGE trigger every time
+        };
+    }
+
+    /**
+     * A chat pattern with its own threshold.
+     * The pattern is literal text (case-insensitive), or a regular expression when prefixed with "re:".
+     */
+    public static class ChatTriggerRule {
+        public final String pattern;
+        public final int threshold;
+
+        public ChatTriggerRule(String pattern, int threshold) {
+            this.pattern = pattern;
+            this.threshold = threshold;
+        }
+
+        public JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("pattern", pattern);
+            json.addProperty("threshold", threshold);
+            return json;
+        }
+
+        public static ChatTriggerRule fromJson(JsonObject json) {
+            String pattern = json.has("pattern") ? json.get("pattern").getAsString() : "";
+            int threshold = json.has("threshold") ? json.get("threshold").getAsInt() : 1;
+            return new ChatTriggerRule(pattern, threshold);
+        }
+    }
+
     /**
      * Trigger types enum.
      */
@@ -205,6 +362,10 @@ public class TriggerConfig {
         BLOCK_BREAK,
         BLOCK_PLACE,
         ENTITY_KILL,
-        CHAT
+        CHAT,
+        CRAFT,
+        DIMENSION_CHANGE,
+        FISHING,
+        LEVEL_UP
     }
 }
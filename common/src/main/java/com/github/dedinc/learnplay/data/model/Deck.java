@@ -4,13 +4,29 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Represents a collection of flashcards (a deck).
  * Can be enabled/disabled for review sessions.
  * Decks are contained within categories (folders).
+ * <p>
+ * Cards keep their insertion order and are indexed by ID, so lookups are O(1)
+ * and building a deck of n cards is O(n).
+ * <p>
+ * A deck can be created lazily ({@link #lazy}) from a {@link CardSource}: its metadata and
+ * card count are available immediately and the cards are loaded on first access.
+ * <p>
+ * Decks are read by the server thread and background index workers while the editor changes
+ * them, so card changes and lookups are synchronized and {@link #getCards()} hands out
+ * immutable snapshots.
  */
 public class Deck {
     private final String id;
@@ -19,6 +35,20 @@ public class Deck {
     private boolean enabled;
     private String categoryId; // ID of the category this deck belongs to (null for uncategorized)
     private final List<Flashcard> cards;
+    private final Map<String, Integer> cardIndex; // card ID -> position in cards
+    private volatile List<Flashcard> cardsSnapshot; // Immutable copy of cards, null after a change
+
+    // Lazy loading: non-null until the cards have been loaded
+    private volatile CardSource cardSource;
+    private int pendingCardCount;
+    private Consumer<Deck> cardsLoadedListener;
+
+    /**
+     * Supplies the cards of a lazily loaded deck.
+     */
+    public interface CardSource {
+        List<Flashcard> loadCards() throws Exception;
+    }
 
     public Deck(String id, String name) {
         this(id, name, "", true, null, new ArrayList<>());
@@ -41,7 +71,67 @@ public class Deck {
         this.description = description != null ? description : "";
         this.enabled = enabled;
         this.categoryId = categoryId;
-        this.cards = new ArrayList<>(cards != null ? cards : new ArrayList<>());
+        int capacity = cards != null ? cards.size() : 0;
+        this.cards = new ArrayList<>(capacity);
+        this.cardIndex = new HashMap<>(Math.max(16, (int) (capacity / 0.75f) + 1));
+        if (cards != null) {
+            appendCards(cards);
+        }
+    }
+
+    /**
+     * Create a deck whose cards are loaded from a source on first access.
+     *
+     * @param cardCount Number of cards the source will supply (reported before loading)
+     */
+    public static Deck lazy(String id, String name, String description, boolean enabled, String categoryId,
+                            int cardCount, CardSource source) {
+        Deck deck = new Deck(id, name, description, enabled, categoryId, null);
+        deck.pendingCardCount = cardCount;
+        deck.cardSource = source;
+        return deck;
+    }
+
+    /**
+     * Whether the cards are in memory (always true for decks not created with {@link #lazy}).
+     */
+    public boolean isLoaded() {
+        return cardSource == null;
+    }
+
+    /**
+     * Load the cards of a lazy deck now. Does nothing if they are already loaded.
+     * If the source fails, the deck is left empty and the error is logged.
+     */
+    public void loadCards() {
+        if (cardSource == null) {
+            return;
+        }
+        Consumer<Deck> listener;
+        synchronized (this) {
+            CardSource source = cardSource;
+            if (source == null) {
+                return;
+            }
+            try {
+                appendCards(source.loadCards());
+            } catch (Exception e) {
+                System.err.println("Failed to load cards of deck " + id + ": " + e.getMessage());
+            }
+            cardSource = null;
+            listener = cardsLoadedListener;
+            cardsLoadedListener = null;
+        }
+        if (listener != null) {
+            listener.accept(this);
+        }
+    }
+
+    /**
+     * Set a callback run once after the cards of a lazy deck have been loaded.
+     */
+    public void setCardsLoadedListener(Consumer<Deck> listener) {
+        this.cardsLoadedListener = listener;
     }
 
     // Getters
@@ -65,12 +155,35 @@ public class Deck {
         return categoryId;
     }
 
+    /**
+     * Get an immutable snapshot of the cards in insertion order.
+     * The snapshot is shared until the deck next changes, so repeated calls are free;
+     * it does not reflect later changes, so call again after changing the deck.
+     */
     public List<Flashcard> getCards() {
-        return new ArrayList<>(cards); // Return copy for safety
+        List<Flashcard> snapshot = cardsSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        loadCards();
+        synchronized (this) {
+            if (cardsSnapshot == null) {
+                cardsSnapshot = List.copyOf(cards);
+            }
+            return cardsSnapshot;
+        }
     }
 
+    /**
+     * Get the number of cards (does not load a lazy deck).
+     */
     public int getCardCount() {
-        return cards.size();
+        if (cardSource != null) {
+            return pendingCardCount;
+        }
+        synchronized (this) {
+            return cards.size();
+        }
     }
 
     // Setters
@@ -94,38 +207,132 @@ public class Deck {
     }
 
     // Card management
+    // Lazy decks are loaded before taking the lock, so the cards-loaded listener never runs under it
     public void addCard(Flashcard card) {
+        loadCards();
         if (card == null) {
             throw new IllegalArgumentException("Cannot add null card");
         }
-        // Check for duplicate IDs
-        for (Flashcard existing : cards) {
-            if (existing.getId().equals(card.getId())) {
+        synchronized (this) {
+            if (cardIndex.containsKey(card.getId())) {
                 throw new IllegalArgumentException("Card with ID " + card.getId() + " already exists in deck");
             }
+            cardIndex.put(card.getId(), cards.size());
+            cards.add(card);
+            cardsSnapshot = null;
+        }
+    }
+
+    /**
+     * Add many cards at once.
+     * Duplicates (against the deck and within the batch) are validated in a single pass
+     * before anything is added, so the deck is left unchanged if the batch is rejected.
+     */
+    public void addCards(Collection<Flashcard> newCards) {
+        loadCards();
+        synchronized (this) {
+            appendCards(newCards);
+        }
+    }
+
+    private void appendCards(Collection<Flashcard> newCards) {
+        if (newCards == null || newCards.isEmpty()) {
+            return;
+        }
+
+        Set<String> batchIds = new HashSet<>(Math.max(16, (int) (newCards.size() / 0.75f) + 1));
+        for (Flashcard card : newCards) {
+            if (card == null) {
+                throw new IllegalArgumentException("Cannot add null card");
+            }
+            if (cardIndex.containsKey(card.getId()) || !batchIds.add(card.getId())) {
+                throw new IllegalArgumentException("Card with ID " + card.getId() + " already exists in deck");
+            }
+        }
+
+        for (Flashcard card : newCards) {
+            cardIndex.put(card.getId(), cards.size());
+            cards.add(card);
+        }
+        cardsSnapshot = null;
+    }
+
+    /**
+     * Replace a card in place, keeping its position in the deck.
+     * The replacement may carry a different ID as long as it does not collide with another card.
+     *
+     * @return true if the old card was found and replaced
+     */
+    public boolean replaceCard(String oldCardId, Flashcard newCard) {
+        loadCards();
+        if (newCard == null) {
+            throw new IllegalArgumentException("Cannot add null card");
+        }
+        synchronized (this) {
+            Integer position = cardIndex.get(oldCardId);
+            if (position == null) {
+                return false;
+            }
+            if (!oldCardId.equals(newCard.getId()) && cardIndex.containsKey(newCard.getId())) {
+                throw new IllegalArgumentException("Card with ID " + newCard.getId() + " already exists in deck");
+            }
+
+            cardIndex.remove(oldCardId);
+            cardIndex.put(newCard.getId(), position);
+            cards.set(position, newCard);
+            cardsSnapshot = null;
+            return true;
         }
-        cards.add(card);
     }
 
     public boolean removeCard(String cardId) {
-        return cards.removeIf(card -> card.getId().equals(cardId));
+        loadCards();
+        synchronized (this) {
+            Integer position = cardIndex.remove(cardId);
+            if (position == null) {
+                return false;
+            }
+
+            cards.remove((int) position);
+            // Shift the index of every card that moved up
+            for (int i = position; i < cards.size(); i++) {
+                cardIndex.put(cards.get(i).getId(), i);
+            }
+            cardsSnapshot = null;
+            return true;
+        }
     }
 
     public Flashcard getCard(String cardId) {
-        for (Flashcard card : cards) {
-            if (card.getId().equals(cardId)) {
-                return card;
-            }
+        loadCards();
+        synchronized (this) {
+            Integer position = cardIndex.get(cardId);
+            return position != null ? cards.get(position) : null;
         }
-        return null;
     }
 
     public boolean hasCard(String cardId) {
-        return getCard(cardId) != null;
+        loadCards();
+        synchronized (this) {
+            return cardIndex.containsKey(cardId);
+        }
     }
 
     // JSON Serialization
     public JsonObject toJson() {
+        return toJson(id, name, description, enabled, categoryId, getCards());
+    }
+
+    /**
+     * Take an immutable copy of this deck's settings and card list, to serialize on another thread.
+     * Cards are immutable, so this shares the {@link #getCards()} snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(id, name, description, enabled, categoryId, getCards());
+    }
+
+    private static JsonObject toJson(String id, String name, String description, boolean enabled,
+                                     String categoryId, List<Flashcard> cards) {
         JsonObject json = new JsonObject();
         json.addProperty("id", id);
         json.addProperty("name", name);
@@ -159,9 +366,15 @@ public class Deck {
         List<Flashcard> cards = new ArrayList<>();
         if (json.has("cards")) {
             JsonArray cardsArray = json.getAsJsonArray("cards");
+            cards = new ArrayList<>(cardsArray.size());
+            Set<String> seenIds = new HashSet<>(Math.max(16, (int) (cardsArray.size() / 0.75f) + 1));
             for (int i = 0; i < cardsArray.size(); i++) {
                 try {
                     Flashcard card = Flashcard.fromJson(cardsArray.get(i).getAsJsonObject());
+                    if (!seenIds.add(card.getId())) {
+                        System.err.println("Skipping duplicate card " + card.getId() + " in deck " + id);
+                        continue;
+                    }
                     cards.add(card);
                 } catch (Exception e) {
                     // Log error but continue loading other cards
@@ -191,9 +404,34 @@ public class Deck {
         return "Deck{" +
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
-                ", cards=" + cards.size() +
+                ", cards=" + getCardCount() +
                 ", enabled=" + enabled +
                 '}';
     }
-}
 
+    /**
+     * Immutable copy of a deck, see {@link #snapshot()}.
+     */
+    public static final class Snapshot {
+        private final String id;
+        private final String name;
+        private final String description;
+        private final boolean enabled;
+        private final String categoryId;
+        private final List<Flashcard> cards;
+
+        private Snapshot(String id, String name, String description, boolean enabled, String categoryId,
+                         List<Flashcard> cards) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.enabled = enabled;
+            this.categoryId = categoryId;
+            this.cards = cards;
+        }
+
+        public JsonObject toJson() {
+            return Deck.toJson(id, name, description, enabled, categoryId, cards);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.github.dedinc.learnplay.data.model;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -11,12 +13,13 @@ import java.util.Objects;
  * Represents a single flashcard with question, answer, and metadata.
  * Cards belong to a Deck, which belongs to a Category - no need for redundant category fields.
  * Immutable after creation for thread safety.
+ * Tags are interned in the {@link TagDictionary} and stored as a compact array of tag IDs.
  */
 public class Flashcard {
     private final String id;
     private final String question;
     private final String answer;
-    private final List<String> tags;
+    private final int[] tagIds; // Distinct, in the order given
     private final long createdAt;
 
     public Flashcard(String id, String question, String answer) {
@@ -38,7 +41,7 @@ public class Flashcard {
         this.id = id;
         this.question = question;
         this.answer = answer;
-        this.tags = new ArrayList<>(tags != null ? tags : new ArrayList<>());
+        this.tagIds = internTags(tags);
         this.createdAt = createdAt;
     }
 
@@ -55,8 +58,41 @@ public class Flashcard {
         return answer;
     }
 
+    /**
+     * Get the tags as a read-only view (no copy is made).
+     */
     public List<String> getTags() {
-        return new ArrayList<>(tags); // Return copy for immutability
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return TagDictionary.getInstance().getName(tagIds[index]);
+            }
+
+            @Override
+            public int size() {
+                return tagIds.length;
+            }
+        };
+    }
+
+    public int getTagCount() {
+        return tagIds.length;
+    }
+
+    /**
+     * Get the interned ID of the tag at an index.
+     */
+    public int getTagId(int index) {
+        return tagIds[index];
+    }
+
+    public boolean hasTag(int tagId) {
+        for (int id : tagIds) {
+            if (id == tagId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public long getCreatedAt() {
@@ -71,9 +107,9 @@ public class Flashcard {
         json.addProperty("answer", answer);
         json.addProperty("createdAt", createdAt);
 
-        if (!tags.isEmpty()) {
+        if (tagIds.length > 0) {
             JsonArray tagsArray = new JsonArray();
-            for (String tag : tags) {
+            for (String tag : getTags()) {
                 tagsArray.add(tag);
             }
             json.add("tags", tagsArray);
@@ -99,6 +135,29 @@ public class Flashcard {
         return new Flashcard(id, question, answer, tags, createdAt);
     }
 
+    private static int[] internTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new int[0];
+        }
+        TagDictionary dictionary = TagDictionary.getInstance();
+        int[] ids = new int[tags.size()];
+        int count = 0;
+        for (String tag : tags) {
+            if (tag == null || tag.trim().isEmpty()) {
+                continue;
+            }
+            int id = dictionary.intern(tag.trim());
+            boolean duplicate = false;
+            for (int i = 0; i < count && !duplicate; i++) {
+                duplicate = ids[i] == id;
+            }
+            if (!duplicate) {
+                ids[count++] = id;
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
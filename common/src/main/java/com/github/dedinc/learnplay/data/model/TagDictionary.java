@@ -0,0 +1,74 @@
+package com.github.dedinc.learnplay.data.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global symbol table for card tags.
+ * Each distinct tag string is stored once and identified by a small int ID, so cards keep
+ * compact ID arrays and tag indexes can be addressed by ID. IDs are never reused.
+ */
+public final class TagDictionary {
+
+    private static final TagDictionary INSTANCE = new TagDictionary();
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private volatile String[] namesById = new String[64];
+    private int size;
+
+    private TagDictionary() {
+    }
+
+    public static TagDictionary getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the ID of a tag, assigning a new one if the tag has not been seen before.
+     */
+    public int intern(String name) {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idsByName.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] names = namesById;
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size] = name;
+            namesById = names; // Publish before the ID becomes visible
+            idsByName.put(name, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Get the ID of a tag without assigning one.
+     *
+     * @return Tag ID, or -1 if no card has ever used this tag
+     */
+    public int find(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the tag string for an ID.
+     */
+    public String getName(int id) {
+        return namesById[id];
+    }
+
+    /**
+     * Number of distinct tags interned so far (IDs are 0 to size - 1).
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.BlockPlaceTriggerHandler;
+import net.minecraft.block.Block;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.ItemPlacementContext;
+import net.minecraft.util.ActionResult;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Reports successful block placements by players to the block place trigger.
+ * Runs when {@link BlockItem#place(ItemPlacementContext)} returns, so only placements
+ * that actually happened are counted, with nothing kept for later ticks.
+ */
+@Mixin(BlockItem.class)
+public abstract class BlockItemMixin {
+
+    @Shadow
+    public abstract Block getBlock();
+
+    @Inject(method = "place(Lnet/minecraft/item/ItemPlacementContext;)Lnet/minecraft/util/ActionResult;", at = @At("RETURN"))
+    private void learnplay$onPlace(ItemPlacementContext context, CallbackInfoReturnable<ActionResult> cir) {
+        // Server side only; the client predicts placements too
+        if (context.getWorld().isClient() || !cir.getReturnValue().isAccepted()) {
+            return;
+        }
+        BlockPlaceTriggerHandler.onBlockPlaced(getBlock().getDefaultState(), context.getPlayer());
+    }
+}
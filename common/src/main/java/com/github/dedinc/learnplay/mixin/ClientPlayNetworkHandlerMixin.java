@@ -0,0 +1,27 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.DeathTriggerHandler;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.DeathMessageS2CPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports the client player's death to the death trigger.
+ * The server sends the death packet once per death, also with immediate respawn.
+ */
+@Mixin(ClientPlayNetworkHandler.class)
+public abstract class ClientPlayNetworkHandlerMixin {
+
+    // TAIL: the handler first reschedules itself onto the main thread, only that run gets here
+    @Inject(method = "onDeathMessage", at = @At("TAIL"))
+    private void learnplay$onDeathMessage(DeathMessageS2CPacket packet, CallbackInfo ci) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player != null && packet.playerId() == client.player.getId()) {
+            DeathTriggerHandler.onPlayerDied(client.player);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.FishingTriggerHandler;
+import net.minecraft.advancement.criterion.FishingRodHookedCriterion;
+import net.minecraft.entity.projectile.FishingBobberEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.Collection;
+
+/**
+ * Reports fishing catches to the fishing trigger.
+ * The fishing bobber fires this criterion with the caught loot whenever a rod is reeled in
+ * with something on the hook, which is the one place that sees the loot on every platform.
+ */
+@Mixin(FishingRodHookedCriterion.class)
+public abstract class FishingRodHookedCriterionMixin {
+
+    @Inject(method = "trigger", at = @At("HEAD"))
+    private void learnplay$onRodHooked(ServerPlayerEntity player, ItemStack rod, FishingBobberEntity bobber,
+                                       Collection<ItemStack> fishingLoots, CallbackInfo ci) {
+        FishingTriggerHandler.onItemsFished(player, fishingLoots);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.CraftTriggerHandler;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports crafted items to the craft trigger.
+ * {@link ItemStack#onCraft(World, PlayerEntity, int)} is where every result slot
+ * (crafting, smelting, stonecutting, smithing, ...) counts the "crafted" statistic.
+ */
+@Mixin(ItemStack.class)
+public abstract class ItemStackMixin {
+
+    @Inject(method = "onCraft(Lnet/minecraft/world/World;Lnet/minecraft/entity/player/PlayerEntity;I)V", at = @At("HEAD"))
+    private void learnplay$onCraft(World world, PlayerEntity player, int amount, CallbackInfo ci) {
+        // Server side only; the client predicts slot clicks too
+        if (amount > 0 && player instanceof ServerPlayerEntity serverPlayer) {
+            CraftTriggerHandler.onItemCrafted((ItemStack) (Object) this, serverPlayer, amount);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.AdvancementTriggerHandler;
+import net.minecraft.advancement.AdvancementEntry;
+import net.minecraft.advancement.PlayerAdvancementTracker;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Reports completed advancements to the advancement trigger.
+ * Hooks the point where the rewards are given, which is reached only when a criterion
+ * completes the advancement, not for criteria obtained after it is already done.
+ */
+@Mixin(PlayerAdvancementTracker.class)
+public abstract class PlayerAdvancementTrackerMixin {
+
+    @Shadow
+    private ServerPlayerEntity owner;
+
+    @Inject(method = "grantCriterion", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/advancement/AdvancementRewards;apply(Lnet/minecraft/server/network/ServerPlayerEntity;)V"))
+    private void learnplay$onAdvancementDone(AdvancementEntry advancement, String criterionName, CallbackInfoReturnable<Boolean> cir) {
+        AdvancementTriggerHandler.onAdvancementEarned(owner, advancement);
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.dedinc.learnplay.mixin;
+
+import com.github.dedinc.learnplay.trigger.LevelUpTriggerHandler;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Reports gained experience levels to the level up trigger.
+ * Collecting experience adds levels one at a time through this method, as do commands.
+ */
+@Mixin(PlayerEntity.class)
+public abstract class PlayerEntityMixin {
+
+    @Inject(method = "addExperienceLevels", at = @At("HEAD"))
+    private void learnplay$onAddExperienceLevels(int levels, CallbackInfo ci) {
+        if (levels > 0 && (Object) this instanceof ServerPlayerEntity player) {
+            LevelUpTriggerHandler.onLevelsGained(player, levels);
+        }
+    }
+}
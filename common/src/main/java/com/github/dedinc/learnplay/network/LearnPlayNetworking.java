@@ -0,0 +1,137 @@
+package com.github.dedinc.learnplay.network;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.trigger.TriggerManager;
+import dev.architectury.networking.NetworkManager;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+/**
+ * Packets between the server-side trigger pipeline and clients.
+ * <p>
+ * Packets:
+ * - review_card (S2C): a card chosen by the server and the player's state for it, opens the review screen
+ * - reviews_available (S2C): scheduled cards of the player just became due (number of due cards)
+ * - review_rating (C2S): the player's answer for that card
+ * - trigger (C2S): events of a trigger only the client can detect (chat) seen in one tick, counted by the server
+ * <p>
+ * The C2S receivers are registered here on both sides; the S2C receiver lives in the client package.
+ */
+public class LearnPlayNetworking {
+
+    public static final Identifier REVIEW_CARD = new Identifier(LearnPlay.MOD_ID, "review_card");
+    public static final Identifier REVIEWS_AVAILABLE = new Identifier(LearnPlay.MOD_ID, "reviews_available");
+    public static final Identifier REVIEW_RATING = new Identifier(LearnPlay.MOD_ID, "review_rating");
+    public static final Identifier TRIGGER = new Identifier(LearnPlay.MOD_ID, "trigger");
+
+    // Longest card ID accepted from a client
+    private static final int MAX_CARD_ID_LENGTH = 256;
+
+    // Most events one trigger packet may report (a client sends at most one per type per tick)
+    private static final int MAX_REPORTED_COUNT = 64;
+
+    private static final TriggerConfig.TriggerType[] TRIGGER_TYPES = TriggerConfig.TriggerType.values();
+
+    /**
+     * Register the C2S receivers. Called from common init.
+     */
+    public static void init() {
+        NetworkManager.registerReceiver(NetworkManager.Side.C2S, REVIEW_RATING, (buf, context) -> {
+            String cardId = buf.readString(MAX_CARD_ID_LENGTH);
+            boolean remembered = buf.readBoolean();
+            context.queue(() -> {
+                if (context.getPlayer() instanceof ServerPlayerEntity player) {
+                    TriggerManager.getInstance().onReviewRated(player, cardId, remembered);
+                }
+            });
+        });
+
+        NetworkManager.registerReceiver(NetworkManager.Side.C2S, TRIGGER, (buf, context) -> {
+            int ordinal = buf.readVarInt();
+            int count = Math.min(Math.max(buf.readVarInt(), 1), MAX_REPORTED_COUNT);
+            if (ordinal < 0 || ordinal >= TRIGGER_TYPES.length || !isClientReported(TRIGGER_TYPES[ordinal])) {
+                return; // Server-detected triggers are never taken from the client
+            }
+            context.queue(() -> {
+                if (context.getPlayer() instanceof ServerPlayerEntity player) {
+                    TriggerManager.getInstance().attemptTrigger(player, TRIGGER_TYPES[ordinal], count);
+                }
+            });
+        });
+
+        LearnPlay.LOGGER.info("Registered LearnPlay packets");
+    }
+
+    /**
+     * Check whether a trigger is detected on the client and forwarded to the server.
+     */
+    public static boolean isClientReported(TriggerConfig.TriggerType type) {
+        return type == TriggerConfig.TriggerType.CHAT;
+    }
+
+    // Encoding
+
+    /**
+     * Encode a review_card packet: card ID, question, answer and the SRS fields.
+     */
+    public static PacketByteBuf writeReviewCard(Flashcard card, SRSState state) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeString(card.getId());
+        buf.writeString(card.getQuestion());
+        buf.writeString(card.getAnswer());
+        buf.writeVarInt(state.getInterval());
+        buf.writeDouble(state.getEaseFactor());
+        buf.writeVarInt(state.getRepetitions());
+        buf.writeLong(state.getLastReview());
+        buf.writeLong(state.getNextReview());
+        return buf;
+    }
+
+    /**
+     * Decode the card of a review_card packet. Call before {@link #readReviewState}.
+     */
+    public static Flashcard readReviewCard(PacketByteBuf buf) {
+        return new Flashcard(buf.readString(), buf.readString(), buf.readString());
+    }
+
+    /**
+     * Decode the SRS state of a review_card packet.
+     */
+    public static SRSState readReviewState(PacketByteBuf buf, String cardId) {
+        return new SRSState(cardId, buf.readVarInt(), buf.readDouble(), buf.readVarInt(), buf.readLong(), buf.readLong());
+    }
+
+    /**
+     * Encode a reviews_available packet.
+     */
+    public static PacketByteBuf writeReviewsAvailable(int dueCards) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeVarInt(dueCards);
+        return buf;
+    }
+
+    /**
+     * Encode a review_rating packet.
+     */
+    public static PacketByteBuf writeReviewRating(String cardId, boolean remembered) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeString(cardId, MAX_CARD_ID_LENGTH);
+        buf.writeBoolean(remembered);
+        return buf;
+    }
+
+    /**
+     * Encode a trigger packet.
+     */
+    public static PacketByteBuf writeTrigger(TriggerConfig.TriggerType type, int count) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeVarInt(type.ordinal());
+        buf.writeVarInt(count);
+        return buf;
+    }
+}
@@ -2,6 +2,7 @@ package com.github.dedinc.learnplay.player;
 
 import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.storage.common.AsyncSaveQueue;
 import com.google.gson.*;
 
 import java.io.IOException;
@@ -10,6 +11,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * Manages player learning progress in memory and persists to disk.
@@ -17,6 +21,10 @@ import java.util.*;
  * <p>
  * Progress is saved to: config/learnplay/progress/<playerName>.json
  * Uses player name instead of UUID to maintain progress across sessions.
+ * <p>
+ * Ratings arrive on the server thread while the HUD and review screens read progress
+ * on the client thread, so the maps are concurrent and saves go through the
+ * {@link AsyncSaveQueue} instead of writing the file on the server tick.
  */
 public class PlayerProgressManager {
 
@@ -26,20 +34,37 @@ public class PlayerProgressManager {
     private static PlayerProgressManager instance;
 
     // Runtime cache: playerName -> (cardId -> SRSState)
-    private final Map<String, Map<String, SRSState>> progressCache = new HashMap<>();
+    private final Map<String, Map<String, SRSState>> progressCache = new ConcurrentHashMap<>();
+
+    // Notified with (playerName, cardId) after a card's state changes; cardId is null when all of them may have
+    private final List<BiConsumer<String, String>> stateListeners = new CopyOnWriteArrayList<>();
 
     private PlayerProgressManager() {
         // Private constructor for singleton
         ensureProgressDirectoryExists();
     }
 
-    public static PlayerProgressManager getInstance() {
+    public static synchronized PlayerProgressManager getInstance() {
         if (instance == null) {
             instance = new PlayerProgressManager();
         }
         return instance;
     }
 
+    /**
+     * Register a listener that is called with (playerName, cardId) whenever a card's state changes.
+     * The card ID is null when a player's whole progress was replaced or cleared.
+     */
+    public void addStateListener(BiConsumer<String, String> listener) {
+        stateListeners.add(listener);
+    }
+
+    private void notifyStateChanged(String playerName, String cardId) {
+        for (BiConsumer<String, String> listener : stateListeners) {
+            listener.accept(playerName, cardId);
+        }
+    }
+
     /**
      * Ensure the progress directory exists.
      */
@@ -78,19 +103,25 @@ public class PlayerProgressManager {
                 loadPlayerProgressFromJson(playerName, jsonData);
                 LearnPlay.LOGGER.info("Loaded progress from disk for player {}", playerName);
             } else {
-                progressCache.put(playerName, new HashMap<>());
+                progressCache.put(playerName, new ConcurrentHashMap<>());
+                notifyStateChanged(playerName, null);
                 LearnPlay.LOGGER.info("No existing progress found for player {}", playerName);
             }
         } catch (IOException e) {
             LearnPlay.LOGGER.error("Failed to load progress for player {}", playerName, e);
-            progressCache.put(playerName, new HashMap<>());
+            progressCache.put(playerName, new ConcurrentHashMap<>());
         }
     }
 
     /**
      * Save player progress to disk.
+     *
+     * @return true if the progress was written (or there was nothing to write)
      */
-    private void savePlayerProgress(String playerName) {
+    private boolean savePlayerProgress(String playerName) {
+        if (!progressCache.containsKey(playerName)) {
+            return true; // Cleared meanwhile; keep the file as it is
+        }
         Path progressFile = Paths.get(PROGRESS_PATH + playerName + ".json");
 
         try {
@@ -98,8 +129,10 @@ public class PlayerProgressManager {
             String jsonData = savePlayerProgressToJson(playerName);
             Files.writeString(progressFile, jsonData, StandardCharsets.UTF_8);
             LearnPlay.LOGGER.debug("Saved progress to disk for player {}", playerName);
+            return true;
         } catch (IOException e) {
             LearnPlay.LOGGER.error("Failed to save progress for player {}", playerName, e);
+            return false;
         }
     }
 
@@ -109,7 +142,7 @@ public class PlayerProgressManager {
     public void loadPlayerProgressFromJson(String playerName, String jsonData) {
         try {
             JsonObject json = JsonParser.parseString(jsonData).getAsJsonObject();
-            Map<String, SRSState> cardStates = new HashMap<>();
+            Map<String, SRSState> cardStates = new ConcurrentHashMap<>();
 
             if (json.has("cards") && json.get("cards").isJsonArray()) {
                 JsonArray cardsArray = json.getAsJsonArray("cards");
@@ -129,8 +162,9 @@ public class PlayerProgressManager {
 
         } catch (Exception e) {
             LearnPlay.LOGGER.error("Failed to load player progress from JSON", e);
-            progressCache.put(playerName, new HashMap<>());
+            progressCache.put(playerName, new ConcurrentHashMap<>());
         }
+        notifyStateChanged(playerName, null);
     }
 
     /**
@@ -174,31 +208,62 @@ public class PlayerProgressManager {
      * Get or create SRS state for a card (creates new state if doesn't exist).
      */
     public SRSState getOrCreateCardState(String playerName, String cardId) {
-        Map<String, SRSState> playerProgress = progressCache.computeIfAbsent(playerName, k -> new HashMap<>());
-
-        return playerProgress.computeIfAbsent(cardId, k -> {
-            LearnPlay.LOGGER.debug("Created new SRS state for player {} card {}", playerName, cardId);
-            return new SRSState(cardId);
-        });
+        Map<String, SRSState> playerProgress = progressCache.computeIfAbsent(playerName, k -> new ConcurrentHashMap<>());
+
+        SRSState state = playerProgress.get(cardId);
+        if (state == null) {
+            SRSState created = new SRSState(cardId);
+            state = playerProgress.putIfAbsent(cardId, created);
+            if (state == null) {
+                LearnPlay.LOGGER.debug("Created new SRS state for player {} card {}", playerName, cardId);
+                state = created;
+                notifyStateChanged(playerName, cardId);
+            }
+        }
+        return state;
     }
 
     /**
      * Update SRS state for a card.
      */
     public void updateCardState(String playerName, SRSState state) {
-        Map<String, SRSState> playerProgress = progressCache.computeIfAbsent(playerName, k -> new HashMap<>());
+        Map<String, SRSState> playerProgress = progressCache.computeIfAbsent(playerName, k -> new ConcurrentHashMap<>());
         playerProgress.put(state.getCardId(), state);
+        notifyStateChanged(playerName, state.getCardId());
 
         // Trigger auto-save
         autoSave(playerName);
     }
 
     /**
-     * Auto-save player progress to disk.
-     * This is called automatically when progress changes.
+     * Import SRS states in bulk (e.g. review history from another app).
+     * Existing states are kept, and progress is saved once at the end.
+     *
+     * @return Number of states added
+     */
+    public int importCardStates(String playerName, Collection<SRSState> states) {
+        Map<String, SRSState> playerProgress = progressCache.computeIfAbsent(playerName, k -> new ConcurrentHashMap<>());
+        int added = 0;
+        for (SRSState state : states) {
+            if (playerProgress.putIfAbsent(state.getCardId(), state) == null) {
+                added++;
+            }
+        }
+
+        if (added > 0) {
+            notifyStateChanged(playerName, null);
+            autoSave(playerName);
+        }
+        return added;
+    }
+
+    /**
+     * Auto-save player progress to disk on the background save queue.
+     * This is called automatically when progress changes; a burst of ratings is written once.
      */
     protected void autoSave(String playerName) {
-        savePlayerProgress(playerName);
+        String key = Paths.get(PROGRESS_PATH + playerName + ".json").toAbsolutePath().toString();
+        AsyncSaveQueue.getInstance().submit(key, () -> savePlayerProgress(playerName));
     }
 
     /**
@@ -258,6 +323,7 @@ public class PlayerProgressManager {
 
         if (playerProgress != null) {
             playerProgress.remove(cardId);
+            notifyStateChanged(playerName, cardId);
             LearnPlay.LOGGER.info("Reset card {} for player {}", cardId, playerName);
         }
     }
@@ -267,6 +333,7 @@ public class PlayerProgressManager {
      */
     public void clearPlayerProgress(String playerName) {
         progressCache.remove(playerName);
+        notifyStateChanged(playerName, null);
         LearnPlay.LOGGER.info("Cleared all progress for player {}", playerName);
     }
 
@@ -0,0 +1,187 @@
+package com.github.dedinc.learnplay.scheduler;
+
+import com.github.dedinc.learnplay.LearnPlay;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small pool of low-priority daemon threads for thread-safe background work, such as index maintenance.
+ * <p>
+ * Jobs run in {@link TickScheduler.Priority} order, first come first served within a priority.
+ * While the server in this JVM is lagging (see {@link TickScheduler#isServerLagging()}), jobs below
+ * {@link TickScheduler.Priority#HIGH} wait a tick at a time, for up to {@link #MAX_DEFER_MILLIS},
+ * so background work doesn't compete with a struggling server for CPU.
+ * <p>
+ * A {@link Lane} runs its jobs one at a time in submission order, for state that must be
+ * updated in sequence.
+ */
+public final class BackgroundWorkers {
+
+    private static final int THREADS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long TICK_MILLIS = 50;
+    private static final long MAX_DEFER_MILLIS = 2000;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ThreadPoolExecutor POOL = createPool();
+
+    private BackgroundWorkers() {
+    }
+
+    private static ThreadPoolExecutor createPool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "LearnPlay-Worker-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Run a job on the pool.
+     */
+    public static void execute(TickScheduler.Priority priority, Runnable task) {
+        POOL.execute(new Job(priority, task));
+    }
+
+    /**
+     * Create a lane whose jobs run one at a time, in order, at the given priority.
+     *
+     * @param name Name used in log messages
+     */
+    public static Lane newLane(String name, TickScheduler.Priority priority) {
+        return new Lane(name, priority);
+    }
+
+    private static final class Job implements Runnable, Comparable<Job> {
+        final TickScheduler.Priority priority;
+        final long sequence = SEQUENCE.getAndIncrement();
+        final Runnable task;
+
+        Job(TickScheduler.Priority priority, Runnable task) {
+            this.priority = priority;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (priority != TickScheduler.Priority.HIGH) {
+                waitWhileServerLags();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LearnPlay.LOGGER.error("Background task failed", e);
+            }
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static void waitWhileServerLags() {
+        long waited = 0;
+        while (waited < MAX_DEFER_MILLIS && TickScheduler.isServerLagging()) {
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            waited += TICK_MILLIS;
+        }
+    }
+
+    /**
+     * Jobs that run one after another on the pool.
+     * A job can carry a key; submitting another job with the same key before the first one started
+     * drops the first one, for updates where only the latest matters (e.g. re-indexing a deck).
+     */
+    public static final class Lane implements Executor {
+        private final String name;
+        private final TickScheduler.Priority priority;
+        private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+        private boolean scheduled;
+
+        private Lane(String name, TickScheduler.Priority priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        /**
+         * Run a job after the jobs submitted before it.
+         */
+        @Override
+        public void execute(Runnable task) {
+            execute(new Object(), task);
+        }
+
+        /**
+         * Run a job after the jobs submitted before it, replacing a pending job with the same key.
+         */
+        public synchronized void execute(Object key, Runnable task) {
+            pending.remove(key); // Re-inserted at the end, after everything submitted meanwhile
+            pending.put(key, task);
+            if (!scheduled) {
+                scheduled = true;
+                BackgroundWorkers.execute(priority, this::runNext);
+            }
+        }
+
+        /**
+         * Drop the jobs that have not started yet.
+         */
+        public synchronized void clear() {
+            pending.clear();
+        }
+
+        /**
+         * Number of jobs waiting to run.
+         */
+        public synchronized int size() {
+            return pending.size();
+        }
+
+        private void runNext() {
+            Runnable task;
+            synchronized (this) {
+                Iterator<Runnable> iterator = pending.values().iterator();
+                if (!iterator.hasNext()) {
+                    scheduled = false; // Cleared meanwhile
+                    return;
+                }
+                task = iterator.next();
+                iterator.remove();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LearnPlay.LOGGER.error("Background task in {} failed", name, e);
+            } finally {
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        scheduled = false;
+                    } else {
+                        // One job per pool turn, so other lanes and priorities get a share
+                        BackgroundWorkers.execute(priority, this::runNext);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.dedinc.learnplay.scheduler;
+
+/**
+ * Time a {@link TickScheduler} may still spend in the current tick.
+ * Sliced tasks check {@link #hasTimeLeft()} between units of work and stop when it runs out.
+ */
+public final class TickBudget {
+
+    private long deadline;
+
+    TickBudget() {
+    }
+
+    void start(long now, long budgetNanos) {
+        this.deadline = now + budgetNanos;
+    }
+
+    /**
+     * Check whether there is time left for another unit of work this tick.
+     */
+    public boolean hasTimeLeft() {
+        return System.nanoTime() - deadline < 0;
+    }
+
+    /**
+     * Nanoseconds left this tick (0 if the budget is used up).
+     */
+    public long remainingNanos() {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.dedinc.learnplay.scheduler;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Deferred work run on a game thread (server or client) within a time budget per tick.
+ * <p>
+ * Tasks can be submitted from any thread and run at the end of a tick on the thread that calls
+ * {@link #runTick()}, highest priority first, until {@link LearnPlayConfig#tickBudgetMicros} is spent.
+ * What is left waits for the next tick. A {@link SlicedTask} does a bit of its work at a time and
+ * is resumed where it stopped, so even large jobs never hold up a single tick.
+ * <p>
+ * The budget shrinks while the server in this JVM (dedicated or integrated) is lagging: above
+ * {@link LearnPlayConfig#lagBackoffMspt} it is scaled down linearly, reaching zero at 50 MSPT, and it
+ * never exceeds what is left of the current server tick. With no budget, only one slice of the first
+ * {@link Priority#HIGH} task runs per tick, so urgent work keeps moving while everything else waits.
+ * <p>
+ * Thread-safe work should go to {@link BackgroundWorkers} instead.
+ */
+public class TickScheduler implements Executor {
+
+    private static final double TICK_MILLIS = 50.0;
+
+    // Weight of the newest sample in the average tick time (about the last 20 ticks)
+    private static final double MSPT_SMOOTHING = 0.1;
+
+    // A server that has not ticked for this long (paused or stopped) does not count as lagging
+    private static final long STALE_SAMPLE_NANOS = 1_000_000_000L;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final TickScheduler SERVER = new TickScheduler("server");
+    private static final TickScheduler CLIENT = new TickScheduler("client");
+
+    /**
+     * Order in which queued work runs.
+     */
+    public enum Priority {
+        HIGH,   // Player-facing work (trigger evaluation)
+        NORMAL, // Cache refreshes, index maintenance
+        LOW     // Anything that can wait
+    }
+
+    /**
+     * A job done a bit at a time.
+     */
+    @FunctionalInterface
+    public interface SlicedTask {
+        /**
+         * Do some work, stopping once {@code budget} has no time left.
+         *
+         * @return true when the job is finished, false to be resumed next tick
+         */
+        boolean run(TickBudget budget);
+    }
+
+    private final String name;
+    private final Queue<SlicedTask>[] queues;
+    private final SlicedTask[] unfinished = new SlicedTask[PRIORITIES.length]; // Tick thread only
+    private final TickBudget budget = new TickBudget();
+
+    // Tick time measured between onTickStart() and the end of runTick()
+    private long tickStart;
+    private volatile double averageMspt;
+    private volatile long lastSample;
+
+    @SuppressWarnings("unchecked")
+    TickScheduler(String name) {
+        this.name = name;
+        this.queues = new Queue[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Scheduler run on the server thread (dedicated or integrated).
+     */
+    public static TickScheduler server() {
+        return SERVER;
+    }
+
+    /**
+     * Scheduler run on the client thread.
+     */
+    public static TickScheduler client() {
+        return CLIENT;
+    }
+
+    /**
+     * Check whether the server in this JVM is running slower than {@link LearnPlayConfig#lagBackoffMspt}.
+     */
+    public static boolean isServerLagging() {
+        return SERVER.getAverageMspt() > LearnPlayConfig.current().lagBackoffMspt;
+    }
+
+    /**
+     * Run a task at {@link Priority#NORMAL} priority.
+     */
+    @Override
+    public void execute(Runnable task) {
+        submit(Priority.NORMAL, task);
+    }
+
+    /**
+     * Queue a task that runs in one go.
+     */
+    public void submit(Priority priority, Runnable task) {
+        submit(priority, budget -> {
+            task.run();
+            return true;
+        });
+    }
+
+    /**
+     * Queue a task that may take several ticks.
+     */
+    public void submit(Priority priority, SlicedTask task) {
+        queues[priority.ordinal()].add(task);
+    }
+
+    /**
+     * Drop all queued and unfinished tasks (e.g. when the server stops).
+     */
+    public void clear() {
+        for (int i = 0; i < queues.length; i++) {
+            queues[i].clear();
+            unfinished[i] = null;
+        }
+    }
+
+    /**
+     * Called by platform code at the start of a tick, so its duration can be measured.
+     */
+    public void onTickStart() {
+        tickStart = System.nanoTime();
+    }
+
+    /**
+     * Average milliseconds per tick over the last ticks, or 0 if not measured recently.
+     */
+    public double getAverageMspt() {
+        long sample = lastSample;
+        return sample == 0 || System.nanoTime() - sample > STALE_SAMPLE_NANOS ? 0 : averageMspt;
+    }
+
+    /**
+     * Run queued tasks within this tick's budget. Called at the end of every tick on the owning thread.
+     */
+    public void runTick() {
+        ConfigSnapshot config = LearnPlayConfig.current();
+        runTick(config.tickBudgetMicros * 1000L, config.lagBackoffMspt);
+    }
+
+    void runTick(long baseBudgetNanos, double backoffMspt) {
+        long now = System.nanoTime();
+        budget.start(now, budgetFor(now, baseBudgetNanos, backoffMspt));
+
+        boolean ranHigh = false;
+        run:
+        for (Priority priority : PRIORITIES) {
+            int index = priority.ordinal();
+            while (true) {
+                SlicedTask task = unfinished[index] != null ? unfinished[index] : queues[index].poll();
+                if (task == null) {
+                    break;
+                }
+                unfinished[index] = task;
+
+                // Out of time; one slice of urgent work still runs so it can't starve
+                boolean guaranteed = priority == Priority.HIGH && !ranHigh;
+                if (!guaranteed && !budget.hasTimeLeft()) {
+                    break run;
+                }
+                ranHigh |= priority == Priority.HIGH;
+
+                boolean done;
+                try {
+                    done = task.run(budget);
+                } catch (RuntimeException e) {
+                    LearnPlay.LOGGER.error("Deferred {} task failed", name, e);
+                    done = true;
+                }
+                if (!done) {
+                    break run; // Resumed first next tick
+                }
+                unfinished[index] = null;
+            }
+        }
+
+        if (tickStart != 0) {
+            recordTick(System.nanoTime());
+        }
+    }
+
+    /**
+     * This tick's budget: the configured one, scaled down while the server lags and capped to what is
+     * left of the current server tick.
+     */
+    private long budgetFor(long now, long baseBudgetNanos, double backoffMspt) {
+        double mspt = SERVER.getAverageMspt();
+        long budgetNanos = baseBudgetNanos;
+        if (mspt >= TICK_MILLIS) {
+            budgetNanos = 0;
+        } else if (mspt > backoffMspt) {
+            budgetNanos = (long) (baseBudgetNanos * (TICK_MILLIS - mspt) / (TICK_MILLIS - backoffMspt));
+        }
+
+        if (this == SERVER && tickStart != 0) {
+            long leftInTick = (long) (TICK_MILLIS * 1_000_000L) - (now - tickStart);
+            budgetNanos = Math.min(budgetNanos, Math.max(0, leftInTick));
+        }
+        return budgetNanos;
+    }
+
+    private void recordTick(long now) {
+        double mspt = (now - tickStart) / 1_000_000.0;
+        averageMspt = lastSample == 0 ? mspt : averageMspt + (mspt - averageMspt) * MSPT_SMOOTHING;
+        lastSample = now;
+    }
+}
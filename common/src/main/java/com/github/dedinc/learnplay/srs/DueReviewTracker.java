@@ -0,0 +1,333 @@
+package com.github.dedinc.learnplay.srs;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.storage.DeckManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Tracks when each player's cards become due, so nothing has to poll for it.
+ * <p>
+ * The {@link ReviewScheduler.DueSummary} of a player (due and new cards of the enabled decks, and the
+ * earliest {@code nextReview} still in the future) is cached, and computed again only after the player's
+ * progress or the decks change, or once that earliest card is due.
+ * <p>
+ * A watched player has exactly one wake-up armed for that instant, on the watcher's {@link WakeupTimer}.
+ * When it goes off, the summary is refreshed on the watcher's executor (the server or client thread) and
+ * listeners get a "reviews available" event there. The side that picks cards for a player watches them:
+ * the server for its players, arming wake-ups on its tick clock, or the client when it plays on a server
+ * without LearnPlay, using a timer thread of its own.
+ */
+public class DueReviewTracker {
+
+    // Singleton instance
+    private static DueReviewTracker instance;
+
+    private final ReviewScheduler scheduler;
+    private ScheduledExecutorService timerThread; // Created for the first watcher without a timer of its own
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<BiConsumer<String, ReviewScheduler.DueSummary>> listeners = new CopyOnWriteArrayList<>();
+
+    // Bumped whenever a cached summary is dropped or recomputed
+    private volatile int version;
+
+    private DueReviewTracker() {
+        this.scheduler = new ReviewScheduler();
+        PlayerProgressManager.getInstance().addStateListener((playerName, cardId) -> invalidate(playerName));
+        DeckManager.getInstance().addDecksChangedListener(this::invalidateAll);
+    }
+
+    public static synchronized DueReviewTracker getInstance() {
+        if (instance == null) {
+            instance = new DueReviewTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Arms wake-ups for the players of one watcher. Only used on the watcher's executor thread.
+     */
+    @FunctionalInterface
+    public interface WakeupTimer {
+        /**
+         * Run {@code task} once {@code delayMillis} have passed, on any thread (it hands over to the executor).
+         * Running it a little early or late is fine; the summary is checked again when it runs.
+         */
+        Wakeup schedule(long delayMillis, Runnable task);
+    }
+
+    /**
+     * An armed wake-up.
+     */
+    @FunctionalInterface
+    public interface Wakeup {
+        void cancel();
+    }
+
+    /**
+     * Register a listener for "reviews available" events: (playerName, summary) when a watched
+     * player's wake-up finds due cards. Called on the executor the player is watched with.
+     */
+    public void addListener(BiConsumer<String, ReviewScheduler.DueSummary> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Get a player's due summary, computing it only if it is not cached or a card has become due since.
+     */
+    public ReviewScheduler.DueSummary getSummary(String playerName) {
+        Entry entry;
+        int generation;
+        synchronized (this) {
+            entry = entries.computeIfAbsent(playerName, Entry::new);
+            if (entry.summary != null && System.currentTimeMillis() < entry.summary.nextDueAt) {
+                return entry.summary;
+            }
+            generation = entry.generation;
+        }
+        return refresh(entry, generation);
+    }
+
+    /**
+     * Number that changes whenever any cached summary may have changed (e.g. to redraw a HUD).
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Start waking up for a player's cards on a timer thread, delivering events through {@code executor}.
+     * For watchers without a clock of their own (the client).
+     */
+    public void watch(String playerName, Executor executor) {
+        ScheduledExecutorService thread = getTimerThread();
+        watch(playerName, executor, (delayMillis, task) -> {
+            ScheduledFuture<?> future = thread.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+            return () -> future.cancel(false);
+        });
+    }
+
+    /**
+     * Start waking up for a player's cards on {@code timer}, delivering events through {@code executor}.
+     * A player has one watcher; watching again replaces it. Call on the executor's thread.
+     */
+    public void watch(String playerName, Executor executor, WakeupTimer timer) {
+        Entry entry;
+        int generation;
+        synchronized (this) {
+            entry = entries.computeIfAbsent(playerName, Entry::new);
+            if (entry.timer != timer) {
+                entry.cancelWakeup();
+            }
+            entry.executor = executor;
+            entry.timer = timer;
+            generation = entry.generation;
+        }
+        refresh(entry, generation);
+    }
+
+    private synchronized ScheduledExecutorService getTimerThread() {
+        if (timerThread == null) {
+            timerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "LearnPlay-Wakeup");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timerThread;
+    }
+
+    /**
+     * Stop watching a player and forget their cached summary. Call on the watcher's executor thread.
+     */
+    public synchronized void unwatch(String playerName) {
+        Entry entry = entries.remove(playerName);
+        if (entry != null) {
+            entry.cancelWakeup();
+            version++;
+        }
+    }
+
+    /**
+     * Compute a summary and cache it, unless the player's progress or the decks changed meanwhile.
+     * Runs without holding the lock, since computing it may load decks or progress, which notify back here.
+     */
+    private ReviewScheduler.DueSummary refresh(Entry entry, int generation) {
+        ReviewScheduler.DueSummary summary = scheduler.getDueSummary(entry.playerName);
+        synchronized (this) {
+            if (entry.generation == generation && entries.get(entry.playerName) == entry) {
+                entry.summary = summary;
+                version++;
+                queueArm(entry);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Re-arm a watched player's wake-up on their executor if their next due card moved.
+     * Summaries may be refreshed on any thread, but the timer is only used on the watcher's.
+     */
+    private void queueArm(Entry entry) {
+        if (entry.timer == null || entry.armQueued || isArmed(entry)) {
+            return;
+        }
+        entry.armQueued = true;
+        deliver(entry, () -> {
+            synchronized (this) {
+                entry.armQueued = false;
+                if (entries.get(entry.playerName) == entry && entry.summary != null) {
+                    arm(entry);
+                }
+            }
+        });
+    }
+
+    private static boolean isArmed(Entry entry) {
+        long dueAt = entry.summary.nextDueAt;
+        return dueAt == Long.MAX_VALUE ? entry.wakeup == null : entry.wakeup != null && entry.armedFor == dueAt;
+    }
+
+    /**
+     * Keep exactly one wake-up armed for the player's next due card.
+     */
+    private void arm(Entry entry) {
+        if (isArmed(entry)) {
+            return;
+        }
+        entry.cancelWakeup();
+        long dueAt = entry.summary.nextDueAt;
+        if (dueAt == Long.MAX_VALUE) {
+            return;
+        }
+
+        long delay = Math.max(0, dueAt - System.currentTimeMillis());
+        entry.armedFor = dueAt;
+        entry.wakeup = entry.timer.schedule(delay, () -> deliver(entry, () -> onWakeup(entry)));
+    }
+
+    private void onWakeup(Entry entry) {
+        int generation;
+        synchronized (this) {
+            if (entries.get(entry.playerName) != entry) {
+                return; // Unwatched meanwhile
+            }
+            entry.wakeup = null;
+            generation = entry.generation;
+        }
+
+        ReviewScheduler.DueSummary summary = refresh(entry, generation);
+        if (summary.dueCards > 0) {
+            LearnPlay.LOGGER.debug("Cards became due for {}: {}", entry.playerName, summary);
+            for (BiConsumer<String, ReviewScheduler.DueSummary> listener : listeners) {
+                listener.accept(entry.playerName, summary);
+            }
+        }
+    }
+
+    private void invalidate(String playerName) {
+        Entry entry;
+        synchronized (this) {
+            version++; // Also for players without a cached summary, whose statistics may be shown
+            entry = entries.get(playerName);
+            if (entry == null || !drop(entry)) {
+                return;
+            }
+        }
+        queueRefresh(entry);
+    }
+
+    private void invalidateAll() {
+        List<Entry> watched = new ArrayList<>();
+        synchronized (this) {
+            version++;
+            for (Entry entry : entries.values()) {
+                if (drop(entry)) {
+                    watched.add(entry);
+                }
+            }
+        }
+        for (Entry entry : watched) {
+            queueRefresh(entry);
+        }
+    }
+
+    /**
+     * Drop a cached summary.
+     *
+     * @return true if the player is watched and needs a refresh queued to re-arm the wake-up
+     */
+    private boolean drop(Entry entry) {
+        entry.summary = null;
+        entry.generation++;
+        version++;
+        if (entry.executor == null || entry.refreshQueued) {
+            return false;
+        }
+        entry.refreshQueued = true;
+        return true;
+    }
+
+    /**
+     * Compute a watched player's summary again on their executor.
+     */
+    private void queueRefresh(Entry entry) {
+        deliver(entry, () -> {
+            int generation;
+            synchronized (this) {
+                entry.refreshQueued = false;
+                if (entries.get(entry.playerName) != entry || entry.summary != null) {
+                    return;
+                }
+                generation = entry.generation;
+            }
+            refresh(entry, generation);
+        });
+    }
+
+    private static void deliver(Entry entry, Runnable task) {
+        try {
+            entry.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LearnPlay.LOGGER.debug("Dropped due-card update for {}: executor stopped", entry.playerName);
+        }
+    }
+
+    /**
+     * Cached summary and armed wake-up of one player.
+     */
+    private static class Entry {
+        final String playerName;
+        ReviewScheduler.DueSummary summary;
+        Executor executor;
+        WakeupTimer timer;
+        Wakeup wakeup;
+        long armedFor;
+        int generation; // Bumped on every change, so a summary computed before it is not cached
+        boolean refreshQueued;
+        boolean armQueued;
+
+        Entry(String playerName) {
+            this.playerName = playerName;
+        }
+
+        void cancelWakeup() {
+            if (wakeup != null) {
+                wakeup.cancel();
+                wakeup = null;
+            }
+        }
+    }
+}
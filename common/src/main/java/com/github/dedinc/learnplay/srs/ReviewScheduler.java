@@ -1,11 +1,14 @@
 package com.github.dedinc.learnplay.srs;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.data.model.Deck;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.data.model.TagDictionary;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
 import com.github.dedinc.learnplay.storage.DeckManager;
+import com.github.dedinc.learnplay.storage.search.TagFilter;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,6 +29,10 @@ import java.util.List;
  * - getCardsForReview() returns cards due today
  * - getNewCards() returns cards never reviewed
  * - scheduleReview() updates state after review
+ * <p>
+ * Sessions can be limited to cards matching a {@link TagFilter} (by default the
+ * "reviewTagFilter" config setting, e.g. "kanji -hard"). Filtered card sets come from
+ * the tag bitsets of the deck search index instead of scanning every card.
  */
 public class ReviewScheduler {
 
@@ -36,6 +43,12 @@ public class ReviewScheduler {
     private final PlayerProgressManager progressManager;
     private final DeckManager deckManager;
 
+    // Parsed config filter, re-parsed when the setting text changes or new tags are interned
+    // (a tag that didn't exist yet when the filter was parsed must resolve once a deck adds it)
+    private String cachedFilterText;
+    private int cachedFilterTagCount = -1;
+    private TagFilter cachedFilter = TagFilter.NONE;
+
     public ReviewScheduler() {
         this.progressManager = PlayerProgressManager.getInstance();
         this.deckManager = DeckManager.getInstance();
@@ -53,6 +66,17 @@ public class ReviewScheduler {
      * @return Next card to review, or null if no cards available
      */
     public Flashcard getNextCardForReview(String playerName) {
+        return getNextCardForReview(playerName, getConfiguredTagFilter());
+    }
+
+    /**
+     * Get the next card for review, considering only cards that pass a tag filter.
+     *
+     * @param playerName Player name
+     * @param filter     Tag filter ({@link TagFilter#NONE} for all cards)
+     * @return Next card to review, or null if no cards available
+     */
+    public Flashcard getNextCardForReview(String playerName, TagFilter filter) {
         // Get all available cards from enabled decks only
         Collection<Deck> decks = deckManager.getEnabledDecks();
         if (decks.isEmpty()) {
@@ -61,13 +85,10 @@ public class ReviewScheduler {
         }
 
         // Collect all cards from enabled decks
-        List<Flashcard> allCards = new ArrayList<>();
-        for (Deck deck : decks) {
-            allCards.addAll(deck.getCards());
-        }
+        List<Flashcard> allCards = collectCards(decks, filter);
 
         if (allCards.isEmpty()) {
-            LearnPlay.LOGGER.warn("No cards in any deck - cannot get cards for review");
+            LearnPlay.LOGGER.warn("No cards in any deck matching the tag filter - cannot get cards for review");
             return null;
         }
 
@@ -111,11 +132,19 @@ public class ReviewScheduler {
      * @return List of due cards with their SRS state
      */
     public List<CardWithState> getDueCardsForReview(String playerName, int maxCards) {
-        Collection<Deck> decks = deckManager.getEnabledDecks();
-        List<Flashcard> allCards = new ArrayList<>();
-        for (Deck deck : decks) {
-            allCards.addAll(deck.getCards());
-        }
+        return getDueCardsForReview(playerName, maxCards, getConfiguredTagFilter());
+    }
+
+    /**
+     * Get due cards that pass a tag filter, sorted by nextReview timestamp (oldest first).
+     *
+     * @param playerName Player name
+     * @param maxCards   Maximum number of cards to return
+     * @param filter     Tag filter ({@link TagFilter#NONE} for all cards)
+     * @return List of due cards with their SRS state
+     */
+    public List<CardWithState> getDueCardsForReview(String playerName, int maxCards, TagFilter filter) {
+        List<Flashcard> allCards = collectCards(deckManager.getEnabledDecks(), filter);
 
         List<CardWithState> dueCards = getDueCardsWithState(playerName, allCards);
 
@@ -138,11 +167,19 @@ public class ReviewScheduler {
      * @return List of new cards
      */
     public List<Flashcard> getNewCardsForReview(String playerName, int maxCards) {
-        Collection<Deck> decks = deckManager.getEnabledDecks();
-        List<Flashcard> allCards = new ArrayList<>();
-        for (Deck deck : decks) {
-            allCards.addAll(deck.getCards());
-        }
+        return getNewCardsForReview(playerName, maxCards, getConfiguredTagFilter());
+    }
+
+    /**
+     * Get new cards (never reviewed before) that pass a tag filter.
+     *
+     * @param playerName Player name
+     * @param maxCards   Maximum number of new cards to return
+     * @param filter     Tag filter ({@link TagFilter#NONE} for all cards)
+     * @return List of new cards
+     */
+    public List<Flashcard> getNewCardsForReview(String playerName, int maxCards, TagFilter filter) {
+        List<Flashcard> allCards = collectCards(deckManager.getEnabledDecks(), filter);
 
         List<Flashcard> newCards = getNewCards(playerName, allCards);
 
@@ -154,6 +191,42 @@ public class ReviewScheduler {
         return newCards;
     }
 
+    /**
+     * Get the tag filter from the "reviewTagFilter" config setting.
+     */
+    public synchronized TagFilter getConfiguredTagFilter() {
+        String text = LearnPlayConfig.current().reviewTagFilter;
+        int tagCount = TagDictionary.getInstance().size();
+        if (!text.equals(cachedFilterText) || tagCount != cachedFilterTagCount) {
+            cachedFilter = TagFilter.parse(text);
+            cachedFilterText = text;
+            cachedFilterTagCount = tagCount;
+        }
+        return cachedFilter;
+    }
+
+    /**
+     * Collect the cards of the given decks that pass a tag filter.
+     * Unfiltered sessions copy the deck lists; filtered ones use the index's tag bitsets.
+     * Internal helper method.
+     */
+    private List<Flashcard> collectCards(Collection<Deck> decks, TagFilter filter) {
+        if (filter.isEmpty()) {
+            List<Flashcard> allCards = new ArrayList<>();
+            for (Deck deck : decks) {
+                allCards.addAll(deck.getCards());
+            }
+            return allCards;
+        }
+
+        List<String> deckIds = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            deck.loadCards(); // Lazy decks join the index once loaded
+            deckIds.add(deck.getId());
+        }
+        return deckManager.getSearchIndex().findCards(filter, deckIds);
+    }
+
     /**
      * Get cards that are due for review with their SRS state.
      * Internal helper method.
@@ -199,11 +272,7 @@ public class ReviewScheduler {
      * @return Review statistics
      */
     public ReviewStats getReviewStats(String playerName) {
-        Collection<Deck> decks = deckManager.getEnabledDecks();
-        List<Flashcard> allCards = new ArrayList<>();
-        for (Deck deck : decks) {
-            allCards.addAll(deck.getCards());
-        }
+        List<Flashcard> allCards = collectCards(deckManager.getEnabledDecks(), getConfiguredTagFilter());
 
         int totalCards = allCards.size();
         int reviseCards = getDueCardsWithState(playerName, allCards).size();
@@ -214,6 +283,34 @@ public class ReviewScheduler {
         return new ReviewStats(totalCards, reviseCards, learnCards, reviewedCards, scheduledCards);
     }
 
+    /**
+     * Count the due and new cards a player can review now, and find when the next scheduled card becomes due.
+     * Uses the same card set as {@link #getNextCardForReview(String)} (enabled decks, configured tag filter).
+     *
+     * @param playerName Player name
+     * @return Due summary
+     */
+    public DueSummary getDueSummary(String playerName) {
+        List<Flashcard> allCards = collectCards(deckManager.getEnabledDecks(), getConfiguredTagFilter());
+        progressManager.initializePlayer(playerName);
+        long now = System.currentTimeMillis();
+
+        int dueCards = 0;
+        int newCards = 0;
+        long nextDueAt = Long.MAX_VALUE;
+        for (Flashcard card : allCards) {
+            SRSState state = progressManager.getCardState(playerName, card.getId());
+            if (state == null) {
+                newCards++;
+            } else if (now >= state.getNextReview()) {
+                dueCards++;
+            } else {
+                nextDueAt = Math.min(nextDueAt, state.getNextReview());
+            }
+        }
+        return new DueSummary(dueCards, newCards, nextDueAt);
+    }
+
     /**
      * Helper class to hold a card and its SRS state together.
      */
@@ -227,6 +324,35 @@ public class ReviewScheduler {
         }
     }
 
+    /**
+     * Due and new card counts at one moment, and when the next scheduled card becomes due.
+     */
+    public static class DueSummary {
+        public static final DueSummary EMPTY = new DueSummary(0, 0, Long.MAX_VALUE);
+
+        public final int dueCards;
+        public final int newCards;
+        public final long nextDueAt; // Epoch milliseconds, Long.MAX_VALUE if nothing is scheduled
+
+        public DueSummary(int dueCards, int newCards, long nextDueAt) {
+            this.dueCards = dueCards;
+            this.newCards = newCards;
+            this.nextDueAt = nextDueAt;
+        }
+
+        /**
+         * Check whether there is any card to review now.
+         */
+        public boolean hasReviews() {
+            return dueCards > 0 || newCards > 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("DueSummary{due=%d, new=%d, nextDueAt=%d}", dueCards, newCards, nextDueAt);
+        }
+    }
+
     /**
      * Review statistics data class.
      * <p>
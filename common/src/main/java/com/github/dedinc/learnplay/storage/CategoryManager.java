@@ -4,9 +4,12 @@ import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.data.model.Category;
 import com.github.dedinc.learnplay.storage.category.CategoryFileHandler;
 import com.github.dedinc.learnplay.storage.category.CategoryRepository;
+import com.github.dedinc.learnplay.storage.category.CategoryStats;
+import com.github.dedinc.learnplay.storage.category.CategoryTreeIndex;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages loading and storing categories from JSON files.
@@ -14,17 +17,22 @@ import java.util.List;
  * <p>
  * Categories are loaded from the user's config folder (config/learnplay/categories/).
  * Unlike decks, categories do not have built-in resources and will not resurrect after deletion.
+ * <p>
+ * The category tree is indexed (parent -> subcategories, category -> decks) together with
+ * cached recursive totals, so browsing does not rescan every category and deck.
  */
 public class CategoryManager {
 
     private final CategoryRepository repository;
     private final CategoryFileHandler fileHandler;
+    private final CategoryTreeIndex treeIndex;
 
     // Singleton instance
     private static CategoryManager instance;
 
     private CategoryManager() {
-        this.repository = new CategoryRepository();
+        this.treeIndex = CategoryTreeIndex.getInstance();
+        this.repository = new CategoryRepository(treeIndex);
         this.fileHandler = new CategoryFileHandler();
     }
 
@@ -78,6 +86,30 @@ public class CategoryManager {
         return repository.getSubcategories(parentCategoryId);
     }
 
+    /**
+     * Get recursive totals (decks, cards, due and new cards) for a category.
+     *
+     * @param playerName Player whose due/new counts are wanted
+     * @param categoryId Category ID, or null for everything
+     */
+    public CategoryStats getCategoryStats(String playerName, String categoryId) {
+        return treeIndex.getStats(playerName, categoryId);
+    }
+
+    /**
+     * Get totals (cards, due and new cards) for a single deck.
+     */
+    public CategoryStats getDeckStats(String playerName, String deckId) {
+        return treeIndex.getDeckStats(playerName, deckId);
+    }
+
+    /**
+     * Get the number of direct subcategories of a category.
+     */
+    public int getSubcategoryCount(String parentCategoryId) {
+        return treeIndex.getChildCount(parentCategoryId);
+    }
+
     /**
      * Save a category to the config folder.
      *
@@ -85,9 +117,28 @@ public class CategoryManager {
      * @return true if save was successful
      */
     public boolean saveCategory(Category category) {
+        if (!isCurrent(category)) {
+            LearnPlay.LOGGER.warn("Not saving category {}: it was deleted or replaced", category.getId());
+            return false;
+        }
         return fileHandler.saveCategory(category);
     }
 
+    /**
+     * Save a category on the background save queue.
+     * Repeated saves of the same category are coalesced into a single write.
+     *
+     * @param category The category to save
+     * @return Future completed with true if save was successful
+     */
+    public CompletableFuture<Boolean> saveCategoryAsync(Category category) {
+        if (!isCurrent(category)) {
+            LearnPlay.LOGGER.warn("Not saving category {}: it was deleted or replaced", category.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+        return fileHandler.saveCategoryAsync(category);
+    }
+
     /**
      * Delete a category.
      *
@@ -95,14 +146,20 @@ public class CategoryManager {
      * @return true if delete was successful
      */
     public boolean deleteCategory(String categoryId) {
-        // Delete file
-        boolean fileDeleted = fileHandler.deleteCategoryFile(categoryId);
-
-        // Always remove from memory
+        // Remove from memory first, so a save racing this delete is refused
         repository.remove(categoryId);
         LearnPlay.LOGGER.info("Removed category from memory: {}", categoryId);
 
-        return fileDeleted;
+        // Delete file, superseding a save still waiting on the queue
+        return fileHandler.deleteCategoryFile(categoryId);
+    }
+
+    /**
+     * Whether the category is the instance held in memory, so a save of a deleted or replaced
+     * category can't recreate its file.
+     */
+    private boolean isCurrent(Category category) {
+        return repository.get(category.getId()) == category;
     }
 
     /**
@@ -137,6 +194,38 @@ public class CategoryManager {
         return saveCategory(category);
     }
 
+    /**
+     * Add a new category to the manager and save it on the background save queue.
+     *
+     * @param category The category to add
+     * @return Future completed with true if add was successful
+     */
+    public CompletableFuture<Boolean> addCategoryAsync(Category category) {
+        if (repository.contains(category.getId())) {
+            LearnPlay.LOGGER.warn("Cannot add category {}: already exists", category.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        repository.put(category.getId(), category);
+        return saveCategoryAsync(category);
+    }
+
+    /**
+     * Update an existing category and save it on the background save queue.
+     *
+     * @param category The category to update
+     * @return Future completed with true if update was successful
+     */
+    public CompletableFuture<Boolean> updateCategoryAsync(Category category) {
+        if (!repository.contains(category.getId())) {
+            LearnPlay.LOGGER.warn("Cannot update category {}: not found", category.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        repository.put(category.getId(), category);
+        return saveCategoryAsync(category);
+    }
+
     /**
      * Reload all categories from disk.
      */
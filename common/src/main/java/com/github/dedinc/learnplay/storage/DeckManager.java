@@ -2,35 +2,66 @@ package com.github.dedinc.learnplay.storage;
 
 import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.scheduler.BackgroundWorkers;
+import com.github.dedinc.learnplay.scheduler.TickScheduler;
+import com.github.dedinc.learnplay.storage.category.CategoryTreeIndex;
 import com.github.dedinc.learnplay.storage.deck.BuiltInDeckManager;
+import com.github.dedinc.learnplay.storage.deck.CardPatch;
 import com.github.dedinc.learnplay.storage.deck.DeckFileHandler;
 import com.github.dedinc.learnplay.storage.deck.DeckRepository;
+import com.github.dedinc.learnplay.storage.deck.DeckSettingsStore;
+import com.github.dedinc.learnplay.storage.search.CardSearchIndex;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Facade for managing flashcard decks.
  * Coordinates between DeckRepository, DeckFileHandler, and BuiltInDeckManager.
  * <p>
  * Supports two sources:
- * 1. Built-in decks from mod resources (assets/learnplay/flashcards/)
+ * 1. Built-in decks from mod resources (assets/learnplay/flashcards/, JSON or compiled packs
+ *    whose cards are decoded on first use)
  * 2. User-created decks from config folder (config/learnplay/decks/)
+ * <p>
+ * Mutable deck settings (enabled, category, name, description) live in a separate
+ * settings index (config/learnplay/deck_settings.json) that overrides the deck files,
+ * so settings changes never rewrite card content.
+ * <p>
+ * A full-text search index over all loaded cards and the category tree index are kept
+ * in sync with every change made through this facade. Search index updates after edits run
+ * in order on a background lane rather than on the thread that made the change; decks
+ * loaded on demand are still indexed right away, since card selection reads them from the index.
  */
 public class DeckManager {
 
+    // Number of pending card patches after which a deck is folded back into its base file
+    private static final int PATCH_FOLD_THRESHOLD = 256;
+
     private final DeckRepository repository;
     private final DeckFileHandler fileHandler;
     private final BuiltInDeckManager builtInManager;
+    private final DeckSettingsStore settingsStore;
+    private final CardSearchIndex searchIndex;
+    private final CategoryTreeIndex treeIndex;
+    private final BackgroundWorkers.Lane indexLane = BackgroundWorkers.newLane("search index", TickScheduler.Priority.NORMAL);
+    private final List<Runnable> decksChangedListeners = new CopyOnWriteArrayList<>();
 
     // Singleton instance
     private static DeckManager instance;
 
     private DeckManager() {
-        this.repository = new DeckRepository();
+        this.treeIndex = CategoryTreeIndex.getInstance();
+        this.repository = new DeckRepository(treeIndex);
         this.fileHandler = new DeckFileHandler();
         this.builtInManager = new BuiltInDeckManager(fileHandler);
+        this.settingsStore = new DeckSettingsStore();
+        this.searchIndex = new CardSearchIndex();
     }
 
     public static DeckManager getInstance() {
@@ -63,10 +94,67 @@ public class DeckManager {
             repository.put(deck.getId(), deck);
         }
 
+        // Replay card patches, then apply settings stored separately from the card payload
+        settingsStore.load();
+        for (Deck deck : new ArrayList<>(repository.getAll())) {
+            fileHandler.replayCardPatches(deck);
+            settingsStore.applyTo(deck);
+            repository.put(deck.getId(), deck); // Category may come from the settings
+        }
+        indexLane.clear(); // Superseded by the rebuild
+        searchIndex.rebuild(repository.getAll());
+        for (Deck deck : repository.getAll()) {
+            if (!deck.isLoaded()) {
+                deck.setCardsLoadedListener(this::onCardsLoaded); // Indexed once first used
+            }
+        }
+
         LearnPlay.LOGGER.info("Loaded {} deck(s) with {} total cards",
                 repository.size(), repository.getTotalCardCount());
+        notifyDecksChanged();
+    }
+
+
+    private void onCardsLoaded(Deck deck) {
+        searchIndex.indexDeck(deck);
+        treeIndex.invalidateDeck(deck.getId());
+        notifyDecksChanged();
     }
 
+    /**
+     * Register a listener that is called after decks were loaded, added, removed or saved
+     * (cards, enabled state or category may have changed).
+     */
+    public void addDecksChangedListener(Runnable listener) {
+        decksChangedListeners.add(listener);
+    }
+
+    private void notifyDecksChanged() {
+        for (Runnable listener : decksChangedListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Re-index a deck in the background, from a copy of its cards taken now.
+     * A newer re-index of the same deck replaces one that has not started yet.
+     */
+    private void queueIndexDeck(Deck deck) {
+        String deckId = deck.getId();
+        List<Flashcard> cards = new ArrayList<>(deck.getCards());
+        queueIndexUpdate(deckId, () -> searchIndex.indexDeck(deckId, cards));
+    }
+
+    /**
+     * Run a search index update on the index lane; listeners are notified once it is applied,
+     * since due summaries are computed from the index.
+     */
+    private void queueIndexUpdate(Object key, Runnable update) {
+        indexLane.execute(key, () -> {
+            update.run();
+            notifyDecksChanged();
+        });
+    }
 
     /**
      * Get a deck by ID.
@@ -75,6 +163,13 @@ public class DeckManager {
         return repository.get(deckId);
     }
 
+    /**
+     * Get the full-text search index over all loaded cards.
+     */
+    public CardSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     /**
      * Get all loaded decks.
      */
@@ -133,13 +228,101 @@ public class DeckManager {
     }
 
     /**
-     * Save a deck to the config folder.
+     * Save a deck to the config folder (cards and settings).
      *
      * @param deck The deck to save
      * @return true if save was successful
      */
     public boolean saveDeck(Deck deck) {
-        return fileHandler.saveDeck(deck);
+        if (!isCurrent(deck)) {
+            LearnPlay.LOGGER.warn("Not saving deck {}: it was deleted or replaced", deck.getId());
+            return false;
+        }
+        notifyDecksChanged();
+        boolean success = fileHandler.saveDeck(deck);
+        return settingsStore.update(deck) && success;
+    }
+
+    /**
+     * Save a deck (cards and settings) on the background save queue.
+     * Repeated saves of the same deck are coalesced into a single write.
+     *
+     * @param deck The deck to save
+     * @return Future completed with true if the save was successful
+     */
+    public CompletableFuture<Boolean> saveDeckAsync(Deck deck) {
+        if (!isCurrent(deck)) {
+            LearnPlay.LOGGER.warn("Not saving deck {}: it was deleted or replaced", deck.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+        notifyDecksChanged();
+        CompletableFuture<Boolean> cardsSaved = fileHandler.saveDeckAsync(deck);
+        CompletableFuture<Boolean> settingsSaved = settingsStore.updateAsync(deck);
+        return cardsSaved.thenCombine(settingsSaved, (cards, settings) -> cards && settings);
+    }
+
+    /**
+     * Persist a single card change that has already been applied to the deck.
+     * The change is appended to the deck's patch log; once enough patches pile up,
+     * the deck is folded back into its base file in the background.
+     *
+     * @param deck  The deck the change was applied to
+     * @param patch The card change
+     * @return true if the change was recorded
+     */
+    public boolean saveCardPatch(Deck deck, CardPatch patch) {
+        queueIndexUpdate(new Object(), () -> searchIndex.applyPatch(deck.getId(), patch));
+        treeIndex.invalidateDeck(deck.getId());
+        notifyDecksChanged();
+        int pending = fileHandler.appendCardPatch(deck.getId(), patch);
+        if (pending < 0) {
+            return false;
+        }
+
+        if (pending >= PATCH_FOLD_THRESHOLD && isCurrent(deck)) {
+            LearnPlay.LOGGER.info("Folding {} card patch(es) into deck {}", pending, deck.getId());
+            fileHandler.saveDeckAsync(deck);
+        }
+        return true;
+    }
+
+    /**
+     * Whether the deck is the instance held in memory, so a save of a deleted or replaced deck
+     * can't recreate its file.
+     */
+    private boolean isCurrent(Deck deck) {
+        return repository.get(deck.getId()) == deck;
+    }
+
+    /**
+     * Save only a deck's settings (enabled, category, name, description).
+     * The deck's card file is not touched.
+     *
+     * @param deck The deck whose settings changed
+     * @return true if save was successful
+     */
+    public boolean saveDeckSettings(Deck deck) {
+        if (!isCurrent(deck)) {
+            LearnPlay.LOGGER.warn("Not saving settings of deck {}: it was deleted or replaced", deck.getId());
+            return false;
+        }
+        notifyDecksChanged();
+        return settingsStore.update(deck);
+    }
+
+    /**
+     * Save only a deck's settings on the background save queue.
+     *
+     * @param deck The deck whose settings changed
+     * @return Future completed with true if save was successful
+     */
+    public CompletableFuture<Boolean> saveDeckSettingsAsync(Deck deck) {
+        if (!isCurrent(deck)) {
+            LearnPlay.LOGGER.warn("Not saving settings of deck {}: it was deleted or replaced", deck.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+        notifyDecksChanged();
+        return settingsStore.updateAsync(deck);
     }
 
     /**
@@ -156,14 +339,16 @@ public class DeckManager {
             return false;
         }
 
+        // Remove from memory first, so a save racing this delete is refused
+        repository.remove(deckId);
+
         // Check if this is a built-in deck
         if (builtInManager.isBuiltInDeck(deckId)) {
             // For built-in decks, create a deletion marker
             builtInManager.markAsDeleted(deckId);
 
-            // Also delete the user override file if it exists
-            if (fileHandler.deckFileExists(deckId)) {
-                fileHandler.deleteDeckFile(deckId);
+            // Also delete the user override file, including one still waiting on the save queue
+            if (fileHandler.deleteDeckFile(deckId)) {
                 LearnPlay.LOGGER.info("Deleted user override for built-in deck: {}", deckId);
             }
 
@@ -173,8 +358,9 @@ public class DeckManager {
             fileHandler.deleteDeckFile(deckId);
         }
 
-        // Always remove from memory
-        repository.remove(deckId);
+        settingsStore.remove(deckId);
+        queueIndexUpdate(deckId, () -> searchIndex.removeDeck(deckId));
+        notifyDecksChanged();
         LearnPlay.LOGGER.info("Removed deck from memory: {}", deckId);
         return true;
     }
@@ -193,7 +379,7 @@ public class DeckManager {
         }
 
         deck.setEnabled(!deck.isEnabled());
-        return saveDeck(deck);
+        return saveDeckSettings(deck);
     }
 
     /**
@@ -209,9 +395,27 @@ public class DeckManager {
         }
 
         repository.put(deck.getId(), deck);
+        queueIndexDeck(deck);
         return saveDeck(deck);
     }
 
+    /**
+     * Add a new deck to the manager and save it on the background save queue.
+     *
+     * @param deck The deck to add
+     * @return Future completed with true if add was successful
+     */
+    public CompletableFuture<Boolean> addDeckAsync(Deck deck) {
+        if (repository.contains(deck.getId())) {
+            LearnPlay.LOGGER.warn("Cannot add deck {}: already exists", deck.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        repository.put(deck.getId(), deck);
+        queueIndexDeck(deck);
+        return saveDeckAsync(deck);
+    }
+
     /**
      * Update an existing deck and save it.
      *
@@ -225,7 +429,24 @@ public class DeckManager {
         }
 
         repository.put(deck.getId(), deck);
+        queueIndexDeck(deck);
         return saveDeck(deck);
     }
-}
 
+    /**
+     * Update an existing deck and save it on the background save queue.
+     *
+     * @param deck The deck to update
+     * @return Future completed with true if update was successful
+     */
+    public CompletableFuture<Boolean> updateDeckAsync(Deck deck) {
+        if (!repository.contains(deck.getId())) {
+            LearnPlay.LOGGER.warn("Cannot update deck {}: not found", deck.getId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        repository.put(deck.getId(), deck);
+        queueIndexDeck(deck);
+        return saveDeckAsync(deck);
+    }
+}
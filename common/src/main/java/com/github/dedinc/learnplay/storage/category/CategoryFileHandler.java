@@ -13,6 +13,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -94,6 +95,20 @@ public class CategoryFileHandler {
         return success;
     }
 
+    /**
+     * Save a category on the background save queue.
+     * The category is snapshotted immediately; repeated saves are coalesced into one write.
+     */
+    public CompletableFuture<Boolean> saveCategoryAsync(Category category) {
+        String categoryName = category.getName();
+        return jsonHandler.saveJsonAsync(category.getId(), category.toJson()).thenApply(success -> {
+            if (success) {
+                LearnPlay.LOGGER.info("Saved category: {}", categoryName);
+            }
+            return success;
+        });
+    }
+
     /**
      * Delete a category file.
      */
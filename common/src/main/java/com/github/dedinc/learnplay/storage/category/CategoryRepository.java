@@ -3,21 +3,26 @@ package com.github.dedinc.learnplay.storage.category;
 import com.github.dedinc.learnplay.data.model.Category;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * In-memory repository for categories.
- * Provides query methods for category data.
+ * Provides query methods for category data; parent/child lookups go through the {@link CategoryTreeIndex}.
  */
 public class CategoryRepository {
 
     private final Map<String, Category> categories = new HashMap<>();
+    private final CategoryTreeIndex treeIndex;
+
+    public CategoryRepository(CategoryTreeIndex treeIndex) {
+        this.treeIndex = treeIndex;
+    }
 
     /**
      * Add or update a category in the repository.
      */
     public void put(String categoryId, Category category) {
         categories.put(categoryId, category);
+        treeIndex.putCategory(categoryId, category.getParentCategoryId());
     }
 
     /**
@@ -32,6 +37,7 @@ public class CategoryRepository {
      */
     public void remove(String categoryId) {
         categories.remove(categoryId);
+        treeIndex.removeCategory(categoryId);
     }
 
     /**
@@ -52,18 +58,25 @@ public class CategoryRepository {
      * Get all top-level categories (categories without a parent).
      */
     public List<Category> getTopLevel() {
-        return categories.values().stream()
-                .filter(Category::isTopLevel)
-                .collect(Collectors.toList());
+        return resolve(treeIndex.getChildIds(null));
     }
 
     /**
      * Get subcategories of a specific category.
      */
     public List<Category> getSubcategories(String parentCategoryId) {
-        return categories.values().stream()
-                .filter(cat -> parentCategoryId.equals(cat.getParentCategoryId()))
-                .collect(Collectors.toList());
+        return resolve(treeIndex.getChildIds(parentCategoryId));
+    }
+
+    private List<Category> resolve(List<String> categoryIds) {
+        List<Category> result = new ArrayList<>(categoryIds.size());
+        for (String categoryId : categoryIds) {
+            Category category = categories.get(categoryId);
+            if (category != null) {
+                result.add(category);
+            }
+        }
+        return result;
     }
 
     /**
@@ -71,6 +84,7 @@ public class CategoryRepository {
      */
     public void clear() {
         categories.clear();
+        treeIndex.clearCategories();
     }
 
     /**
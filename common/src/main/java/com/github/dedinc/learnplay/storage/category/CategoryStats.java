@@ -0,0 +1,31 @@
+package com.github.dedinc.learnplay.storage.category;
+
+/**
+ * Recursive totals for a category (or a single deck): everything in the
+ * category and all of its subcategories, with due/new counts for one player.
+ */
+public class CategoryStats {
+
+    public static final CategoryStats EMPTY = new CategoryStats(0, 0, 0, 0, Long.MAX_VALUE);
+
+    public final int decks;
+    public final int cards;
+    public final int dueCards;
+    public final int newCards;
+
+    // Time at which a scheduled card becomes due and these counts go stale
+    final long validUntil;
+
+    CategoryStats(int decks, int cards, int dueCards, int newCards, long validUntil) {
+        this.decks = decks;
+        this.cards = cards;
+        this.dueCards = dueCards;
+        this.newCards = newCards;
+        this.validUntil = validUntil;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CategoryStats{decks=%d, cards=%d, due=%d, new=%d}", decks, cards, dueCards, newCards);
+    }
+}
@@ -0,0 +1,303 @@
+package com.github.dedinc.learnplay.storage.category;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.storage.DeckManager;
+
+import java.util.*;
+
+/**
+ * Index of the category tree: parent -> subcategories and category -> decks.
+ * The null key stands for the root (top-level categories and uncategorized decks).
+ * <p>
+ * Recursive totals per category are cached for one player at a time. When a deck,
+ * category or card state changes, only the cached totals on the path from that node
+ * up to the root are dropped, so browsing a deep tree does not rescan it.
+ * Due counts also expire on their own once the next scheduled card becomes due.
+ * <p>
+ * Deck membership is taken from {@link Deck#getCategoryId()}. Decks whose cards
+ * have not been loaded yet count toward deck and card totals only, as does everything
+ * when there is no player.
+ */
+public class CategoryTreeIndex {
+
+    // Singleton instance
+    private static CategoryTreeIndex instance;
+
+    // Adjacency: categoryId -> parentId, parentId -> children, deckId -> categoryId, categoryId -> decks
+    private final Map<String, String> parentOf = new HashMap<>();
+    private final Map<String, Set<String>> childrenOf = new HashMap<>();
+    private final Map<String, String> categoryOfDeck = new HashMap<>();
+    private final Map<String, Set<String>> decksOf = new HashMap<>();
+
+    // Cached totals for statsPlayer
+    private String statsPlayer;
+    private final Map<String, CategoryStats> categoryStats = new HashMap<>();
+    private final Map<String, CategoryStats> deckStats = new HashMap<>();
+    private final Map<String, String> deckOfCard = new HashMap<>();
+
+    private CategoryTreeIndex() {
+        PlayerProgressManager.getInstance().addStateListener(this::onCardStateChanged);
+    }
+
+    public static synchronized CategoryTreeIndex getInstance() {
+        if (instance == null) {
+            instance = new CategoryTreeIndex();
+        }
+        return instance;
+    }
+
+    // Categories
+
+    /**
+     * Add a category or record that its parent may have changed.
+     */
+    public synchronized void putCategory(String categoryId, String parentId) {
+        if (parentOf.containsKey(categoryId)) {
+            String oldParent = parentOf.get(categoryId);
+            if (Objects.equals(oldParent, parentId)) {
+                return;
+            }
+            invalidatePath(categoryId);
+            unlink(childrenOf, oldParent, categoryId);
+        }
+        parentOf.put(categoryId, parentId);
+        childrenOf.computeIfAbsent(parentId, k -> new LinkedHashSet<>()).add(categoryId);
+        invalidatePath(categoryId);
+    }
+
+    /**
+     * Remove a category. Its subcategories and decks keep pointing at it.
+     */
+    public synchronized void removeCategory(String categoryId) {
+        if (!parentOf.containsKey(categoryId)) {
+            return;
+        }
+        invalidatePath(categoryId);
+        unlink(childrenOf, parentOf.remove(categoryId), categoryId);
+    }
+
+    /**
+     * Remove all categories.
+     */
+    public synchronized void clearCategories() {
+        parentOf.clear();
+        childrenOf.clear();
+        categoryStats.clear();
+    }
+
+    /**
+     * Get the IDs of the direct subcategories of a category (null for top-level categories).
+     */
+    public synchronized List<String> getChildIds(String parentId) {
+        Set<String> children = childrenOf.get(parentId);
+        return children == null ? Collections.emptyList() : new ArrayList<>(children);
+    }
+
+    /**
+     * Get the number of direct subcategories of a category.
+     */
+    public synchronized int getChildCount(String parentId) {
+        Set<String> children = childrenOf.get(parentId);
+        return children == null ? 0 : children.size();
+    }
+
+    // Decks
+
+    /**
+     * Add a deck or record that its category or cards may have changed.
+     */
+    public synchronized void putDeck(String deckId, String categoryId) {
+        deckStats.remove(deckId);
+        if (categoryOfDeck.containsKey(deckId)) {
+            String oldCategory = categoryOfDeck.get(deckId);
+            if (!Objects.equals(oldCategory, categoryId)) {
+                invalidatePath(oldCategory);
+                unlink(decksOf, oldCategory, deckId);
+            }
+        }
+        categoryOfDeck.put(deckId, categoryId);
+        decksOf.computeIfAbsent(categoryId, k -> new LinkedHashSet<>()).add(deckId);
+        invalidatePath(categoryId);
+    }
+
+    /**
+     * Remove a deck.
+     */
+    public synchronized void removeDeck(String deckId) {
+        deckStats.remove(deckId);
+        if (!categoryOfDeck.containsKey(deckId)) {
+            return;
+        }
+        String categoryId = categoryOfDeck.remove(deckId);
+        invalidatePath(categoryId);
+        unlink(decksOf, categoryId, deckId);
+    }
+
+    /**
+     * Drop cached totals for a deck whose cards changed without the deck being re-added.
+     */
+    public synchronized void invalidateDeck(String deckId) {
+        deckStats.remove(deckId);
+        if (categoryOfDeck.containsKey(deckId)) {
+            invalidatePath(categoryOfDeck.get(deckId));
+        }
+    }
+
+    /**
+     * Remove all decks.
+     */
+    public synchronized void clearDecks() {
+        categoryOfDeck.clear();
+        decksOf.clear();
+        deckStats.clear();
+        deckOfCard.clear();
+        categoryStats.clear();
+    }
+
+    /**
+     * Get the IDs of the decks directly in a category (null for uncategorized decks).
+     */
+    public synchronized List<String> getDeckIds(String categoryId) {
+        Set<String> decks = decksOf.get(categoryId);
+        return decks == null ? Collections.emptyList() : new ArrayList<>(decks);
+    }
+
+    // Aggregates
+
+    /**
+     * Get recursive totals for a category (null for the whole tree).
+     *
+     * @param playerName Player whose due/new counts are wanted (null for none)
+     * @param categoryId Category ID, or null for the root
+     */
+    public synchronized CategoryStats getStats(String playerName, String categoryId) {
+        selectPlayer(playerName);
+        return computeCategory(categoryId, System.currentTimeMillis(), new HashSet<>());
+    }
+
+    /**
+     * Get totals for a single deck.
+     */
+    public synchronized CategoryStats getDeckStats(String playerName, String deckId) {
+        selectPlayer(playerName);
+        return computeDeck(deckId, System.currentTimeMillis());
+    }
+
+    private void selectPlayer(String playerName) {
+        if (!Objects.equals(playerName, statsPlayer)) {
+            statsPlayer = playerName;
+            categoryStats.clear();
+            deckStats.clear();
+        }
+    }
+
+    private synchronized void onCardStateChanged(String playerName, String cardId) {
+        if (!Objects.equals(playerName, statsPlayer)) {
+            return;
+        }
+        if (cardId == null) {
+            categoryStats.clear();
+            deckStats.clear();
+            return;
+        }
+        String deckId = deckOfCard.get(cardId);
+        if (deckId != null) {
+            invalidateDeck(deckId);
+        }
+    }
+
+    private CategoryStats computeCategory(String categoryId, long now, Set<String> visiting) {
+        CategoryStats cached = categoryStats.get(categoryId);
+        if (cached != null && now < cached.validUntil) {
+            return cached;
+        }
+        if (!visiting.add(categoryId)) {
+            return CategoryStats.EMPTY; // Parent cycle in hand-edited files
+        }
+
+        int decks = 0, cards = 0, due = 0, fresh = 0;
+        long validUntil = Long.MAX_VALUE;
+        Set<String> children = childrenOf.getOrDefault(categoryId, Collections.emptySet());
+        Set<String> deckIds = decksOf.getOrDefault(categoryId, Collections.emptySet());
+        List<CategoryStats> parts = new ArrayList<>(children.size() + deckIds.size());
+        for (String childId : children) {
+            parts.add(computeCategory(childId, now, visiting));
+        }
+        for (String deckId : deckIds) {
+            parts.add(computeDeck(deckId, now));
+        }
+        for (CategoryStats part : parts) {
+            decks += part.decks;
+            cards += part.cards;
+            due += part.dueCards;
+            fresh += part.newCards;
+            validUntil = Math.min(validUntil, part.validUntil);
+        }
+
+        CategoryStats stats = new CategoryStats(decks, cards, due, fresh, validUntil);
+        categoryStats.put(categoryId, stats);
+        return stats;
+    }
+
+    private CategoryStats computeDeck(String deckId, long now) {
+        CategoryStats cached = deckStats.get(deckId);
+        if (cached != null && now < cached.validUntil) {
+            return cached;
+        }
+
+        Deck deck = DeckManager.getInstance().getDeck(deckId);
+        CategoryStats stats;
+        if (deck == null) {
+            stats = CategoryStats.EMPTY;
+        } else if (!deck.isLoaded()) {
+            stats = new CategoryStats(1, deck.getCardCount(), 0, 0, Long.MAX_VALUE);
+        } else {
+            PlayerProgressManager progressManager = PlayerProgressManager.getInstance();
+            int due = 0, fresh = 0;
+            long validUntil = Long.MAX_VALUE;
+            List<Flashcard> cards = deck.getCards();
+            for (Flashcard card : cards) {
+                if (statsPlayer == null) {
+                    break; // No player, no due/new counts
+                }
+                deckOfCard.put(card.getId(), deckId);
+                SRSState state = progressManager.getCardState(statsPlayer, card.getId());
+                if (state == null) {
+                    fresh++;
+                } else if (now >= state.getNextReview()) {
+                    due++;
+                } else {
+                    validUntil = Math.min(validUntil, state.getNextReview());
+                }
+            }
+            stats = new CategoryStats(1, cards.size(), due, fresh, validUntil);
+        }
+        deckStats.put(deckId, stats);
+        return stats;
+    }
+
+    /**
+     * Drop cached totals of a category and every ancestor up to the root.
+     */
+    private void invalidatePath(String categoryId) {
+        String current = categoryId;
+        for (int depth = 0; current != null && depth <= parentOf.size(); depth++) {
+            categoryStats.remove(current);
+            current = parentOf.get(current);
+        }
+        categoryStats.remove(null);
+    }
+
+    private static void unlink(Map<String, Set<String>> adjacency, String key, String value) {
+        Set<String> values = adjacency.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                adjacency.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.dedinc.learnplay.storage.common;
+
+import com.github.dedinc.learnplay.LearnPlay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Background queue for file saves.
+ * <p>
+ * Saves are keyed (usually by target file). A save submitted while an earlier save
+ * with the same key is still waiting replaces it, so a burst of edits results in a
+ * single write of the latest state. Writes run on one background thread, never on
+ * the render thread. Pending saves are flushed on JVM shutdown.
+ * <p>
+ * Writes that must happen right away go through {@link #runNow}, which supersedes a pending
+ * save with the same key. All writes, queued or immediate, run one at a time, so an older
+ * queued snapshot can never land after a newer immediate write.
+ */
+public class AsyncSaveQueue {
+
+    private static final long COALESCE_DELAY_MS = 200;
+
+    // Singleton instance
+    private static AsyncSaveQueue instance;
+
+    private final ScheduledExecutorService executor;
+    private final Map<String, PendingSave> pending = new HashMap<>();
+    private final Object writeLock = new Object(); // Held while a write runs; taken before this
+
+    private AsyncSaveQueue() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LearnPlay-Save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "LearnPlay-Save-Flush"));
+    }
+
+    public static synchronized AsyncSaveQueue getInstance() {
+        if (instance == null) {
+            instance = new AsyncSaveQueue();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a save. If a save with the same key is still pending, its writer is replaced
+     * and the returned future is the one already handed out for that key.
+     *
+     * @param key    Coalescing key (e.g. the target file path)
+     * @param writer Performs the write and returns true on success; runs on the save thread
+     * @return Future completed with the writer's result
+     */
+    public synchronized CompletableFuture<Boolean> submit(String key, BooleanSupplier writer) {
+        PendingSave existing = pending.get(key);
+        if (existing != null) {
+            existing.writer = writer;
+            return existing.future;
+        }
+
+        PendingSave save = new PendingSave(writer);
+        pending.put(key, save);
+        executor.schedule(() -> run(key), COALESCE_DELAY_MS, TimeUnit.MILLISECONDS);
+        return save.future;
+    }
+
+    /**
+     * Write now on the calling thread, replacing a pending save with the same key.
+     * The replaced save's future completes with this write's result.
+     *
+     * @param key    Coalescing key (e.g. the target file path)
+     * @param writer Performs the write and returns true on success
+     * @return The writer's result
+     */
+    public boolean runNow(String key, BooleanSupplier writer) {
+        synchronized (writeLock) {
+            PendingSave superseded;
+            synchronized (this) {
+                superseded = pending.remove(key);
+            }
+            boolean success = write(key, writer);
+            if (superseded != null) {
+                superseded.future.complete(success);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Run all pending saves on the calling thread and wait for them to finish.
+     */
+    public void flush() {
+        List<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(pending.keySet());
+        }
+        for (String key : keys) {
+            run(key);
+        }
+    }
+
+    private void run(String key) {
+        // Taken out of the queue under the write lock, so it can't be overtaken by runNow
+        synchronized (writeLock) {
+            PendingSave save;
+            synchronized (this) {
+                save = pending.remove(key);
+            }
+            if (save == null) {
+                return; // Already written by flush() or superseded by runNow()
+            }
+            save.future.complete(write(key, save.writer));
+        }
+    }
+
+    private static boolean write(String key, BooleanSupplier writer) {
+        try {
+            return writer.getAsBoolean();
+        } catch (Exception e) {
+            LearnPlay.LOGGER.error("Background save failed: {}", key, e);
+            return false;
+        }
+    }
+
+    private static class PendingSave {
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        BooleanSupplier writer;
+
+        PendingSave(BooleanSupplier writer) {
+            this.writer = writer;
+        }
+    }
+}
@@ -7,13 +7,19 @@ import com.google.gson.JsonObject;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Generic utility for handling JSON file operations.
  * Provides common file I/O operations for saving, loading, and deleting JSON files.
+ * Files are written to a temp file first and then atomically renamed over the target,
+ * so a crash mid-write never leaves a truncated file behind.
  */
 public class JsonFileHandler {
 
@@ -38,15 +44,41 @@ public class JsonFileHandler {
 
     /**
      * Save a JSON object to a file.
+     * Supersedes a queued save of the same file, so the queued (older) content never overwrites this one.
      */
     public boolean saveJson(String id, JsonObject json) {
+        return AsyncSaveQueue.getInstance().runNow(getQueueKey(id), () -> writeJson(id, json));
+    }
+
+    /**
+     * Save a JSON object to a file on the background save queue.
+     * Repeated saves of the same file before it is written are coalesced into one write.
+     * The JSON object must not be modified after it is handed over.
+     *
+     * @return Future completed with true if the write succeeded
+     */
+    public CompletableFuture<Boolean> saveJsonAsync(String id, JsonObject json) {
+        return saveJsonAsync(id, () -> json);
+    }
+
+    /**
+     * Save to a file on the background save queue, building the JSON on the save thread.
+     * The supplier must only read immutable data (e.g. a snapshot taken by the caller).
+     *
+     * @return Future completed with true if the write succeeded
+     */
+    public CompletableFuture<Boolean> saveJsonAsync(String id, Supplier<JsonObject> json) {
+        return AsyncSaveQueue.getInstance().submit(getQueueKey(id), () -> writeJson(id, json.get()));
+    }
+
+    private boolean writeJson(String id, JsonObject json) {
         Path configDir = Paths.get(configPath);
         Path file = configDir.resolve(id + ".json");
 
         try {
             ensureDirectoryExists();
             String jsonContent = gson.toJson(json);
-            Files.writeString(file, jsonContent, StandardCharsets.UTF_8);
+            writeAtomically(file, jsonContent);
             LearnPlay.LOGGER.info("Saved JSON to {}", file.toAbsolutePath());
             return true;
         } catch (IOException e) {
@@ -55,10 +87,36 @@ public class JsonFileHandler {
         }
     }
 
+    private String getQueueKey(String id) {
+        return Paths.get(configPath).resolve(id + ".json").toAbsolutePath().toString();
+    }
+
+    /**
+     * Write content to a temp file next to the target, then rename it over the target.
+     */
+    private void writeAtomically(Path file, String content) throws IOException {
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tempFile, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     /**
      * Delete a JSON file.
+     * Supersedes a queued save of the same file, so the queued content never recreates it.
      */
     public boolean deleteFile(String id) {
+        return AsyncSaveQueue.getInstance().runNow(getQueueKey(id), () -> deleteNow(id));
+    }
+
+    private boolean deleteNow(String id) {
         Path configDir = Paths.get(configPath);
         Path file = configDir.resolve(id + ".json");
 
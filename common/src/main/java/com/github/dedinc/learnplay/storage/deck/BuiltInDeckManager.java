@@ -2,25 +2,47 @@ package com.github.dedinc.learnplay.storage.deck;
 
 import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.storage.pack.DeckPackCompiler;
+import com.github.dedinc.learnplay.storage.pack.DeckPackReader;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 /**
  * Manages built-in decks from mod resources and their deletion markers.
+ * <p>
+ * Every deck file in assets/learnplay/flashcards/ is discovered at startup: JSON decks are
+ * parsed as before, compiled deck packs (.lpk) only have their header read and their cards
+ * are decoded the first time the deck is used. Packs placed in config/learnplay/packs/
+ * (e.g. by a modpack) are treated as built-in decks too.
  */
 public class BuiltInDeckManager {
 
     private static final String RESOURCE_PATH = "/assets/learnplay/flashcards/";
     private static final String CONFIG_PATH = "config/learnplay/decks/";
-    private static final String[] BUILT_IN_DECK_IDS = {"example_hierarchical"};
+    private static final String PACKS_PATH = "config/learnplay/packs/";
+    private static final String PACK_EXTENSION = ".lpk";
 
     private final DeckFileHandler fileHandler;
+    private final Set<String> builtInDeckIds = new HashSet<>();
 
     public BuiltInDeckManager(DeckFileHandler fileHandler) {
         this.fileHandler = fileHandler;
@@ -31,39 +53,130 @@ public class BuiltInDeckManager {
      */
     public List<Deck> loadBuiltInDecks() {
         List<Deck> decks = new ArrayList<>();
-        String[] builtInFiles = {"example.json"};
+        builtInDeckIds.clear();
 
-        for (String deckFile : builtInFiles) {
+        for (String deckFile : discoverResourceDecks()) {
             try {
-                InputStream stream = getClass().getResourceAsStream(RESOURCE_PATH + deckFile);
-                if (stream != null) {
-                    Deck deck = fileHandler.loadDeckFromStream(stream, deckFile);
-                    if (deck != null && !isMarkedAsDeleted(deck.getId())) {
-                        decks.add(deck);
-                        LearnPlay.LOGGER.info("Loaded built-in deck: {} ({} cards)",
-                                deck.getName(), deck.getCardCount());
-                    } else if (deck != null) {
-                        LearnPlay.LOGGER.info("Skipping deleted built-in deck: {}", deck.getName());
+                Deck deck;
+                if (deckFile.endsWith(PACK_EXTENSION)) {
+                    deck = DeckPackReader.open(() -> openResource(deckFile), deckFile).toLazyDeck();
+                } else {
+                    InputStream stream = getClass().getResourceAsStream(RESOURCE_PATH + deckFile);
+                    if (stream == null) {
+                        continue;
                     }
+                    deck = fileHandler.loadDeckFromStream(stream, deckFile);
                 }
+                addBuiltInDeck(deck, decks);
             } catch (Exception e) {
                 LearnPlay.LOGGER.error("Failed to load built-in deck: {}", deckFile, e);
             }
         }
 
+        for (Path packFile : listPackFiles(Paths.get(PACKS_PATH))) {
+            try {
+                addBuiltInDeck(DeckPackReader.open(() -> Files.newInputStream(packFile),
+                        packFile.getFileName().toString()).toLazyDeck(), decks);
+            } catch (Exception e) {
+                LearnPlay.LOGGER.error("Failed to load deck pack: {}", packFile, e);
+            }
+        }
+
         return decks;
     }
 
+    private void addBuiltInDeck(Deck deck, List<Deck> decks) {
+        if (deck == null) {
+            return;
+        }
+        builtInDeckIds.add(deck.getId());
+        if (isMarkedAsDeleted(deck.getId())) {
+            LearnPlay.LOGGER.info("Skipping deleted built-in deck: {}", deck.getName());
+            return;
+        }
+        decks.add(deck);
+        LearnPlay.LOGGER.info("Loaded built-in deck: {} ({} cards{})", deck.getName(), deck.getCardCount(),
+                deck.isLoaded() ? "" : ", decoded on first use");
+    }
+
     /**
-     * Check if a deck ID corresponds to a built-in deck.
+     * Find deck files (JSON and packs) in the resource folder.
+     * Uses the index written by the pack compiler, plus a listing of the folder when the
+     * resource location can be opened as a file system (directory, jar or loader-specific).
      */
-    public boolean isBuiltInDeck(String deckId) {
-        for (String builtInId : BUILT_IN_DECK_IDS) {
-            if (builtInId.equals(deckId)) {
-                return true;
+    private Set<String> discoverResourceDecks() {
+        Set<String> deckFiles = new TreeSet<>();
+
+        try (InputStream stream = getClass().getResourceAsStream(RESOURCE_PATH + DeckPackCompiler.INDEX_FILE)) {
+            if (stream != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (isDeckFile(line.trim())) {
+                        deckFiles.add(line.trim());
+                    }
+                }
             }
+        } catch (IOException e) {
+            LearnPlay.LOGGER.warn("Failed to read built-in deck pack index", e);
         }
-        return false;
+
+        try {
+            URL url = getClass().getResource(RESOURCE_PATH);
+            if (url != null) {
+                URI uri = url.toURI();
+                FileSystem createdFileSystem = null;
+                if ("jar".equals(uri.getScheme())) {
+                    try {
+                        createdFileSystem = FileSystems.newFileSystem(uri, Collections.emptyMap());
+                    } catch (FileSystemAlreadyExistsException e) {
+                        // Already open, Paths.get below reuses it
+                    }
+                }
+                try (Stream<Path> files = Files.list(Paths.get(uri))) {
+                    files.map(file -> file.getFileName().toString()).filter(this::isDeckFile).forEach(deckFiles::add);
+                } finally {
+                    if (createdFileSystem != null) {
+                        createdFileSystem.close();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LearnPlay.LOGGER.debug("Could not list built-in deck folder, using index only", e);
+        }
+
+        return deckFiles;
+    }
+
+    private boolean isDeckFile(String fileName) {
+        return fileName.endsWith(".json") || fileName.endsWith(PACK_EXTENSION);
+    }
+
+    private InputStream openResource(String fileName) throws IOException {
+        InputStream stream = getClass().getResourceAsStream(RESOURCE_PATH + fileName);
+        if (stream == null) {
+            throw new IOException("Missing deck resource: " + fileName);
+        }
+        return stream;
+    }
+
+    private List<Path> listPackFiles(Path directory) {
+        List<Path> packs = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return packs;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(PACK_EXTENSION)).sorted().forEach(packs::add);
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to list deck packs in {}", directory, e);
+        }
+        return packs;
+    }
+
+    /**
+     * Check if a deck ID corresponds to a built-in deck.
+     */
+    public boolean isBuiltInDeck(String deckId) {
+        return builtInDeckIds.contains(deckId);
     }
 
     /**
@@ -0,0 +1,92 @@
+package com.github.dedinc.learnplay.storage.deck;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.google.gson.JsonObject;
+
+/**
+ * A single card change recorded in a deck's patch log.
+ * Replaying a patch is idempotent: add/update upsert the card, delete ignores missing cards.
+ */
+public class CardPatch {
+
+    public enum Op {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    private final Op op;
+    private final String cardId;
+    private final Flashcard card; // null for DELETE
+
+    private CardPatch(Op op, String cardId, Flashcard card) {
+        this.op = op;
+        this.cardId = cardId;
+        this.card = card;
+    }
+
+    public static CardPatch add(Flashcard card) {
+        return new CardPatch(Op.ADD, card.getId(), card);
+    }
+
+    public static CardPatch update(Flashcard card) {
+        return new CardPatch(Op.UPDATE, card.getId(), card);
+    }
+
+    public static CardPatch delete(String cardId) {
+        return new CardPatch(Op.DELETE, cardId, null);
+    }
+
+    // Getters
+    public Op getOp() {
+        return op;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public Flashcard getCard() {
+        return card;
+    }
+
+    /**
+     * Apply this patch to a deck.
+     */
+    public void applyTo(Deck deck) {
+        switch (op) {
+            case ADD:
+            case UPDATE:
+                if (!deck.replaceCard(cardId, card)) {
+                    deck.addCard(card);
+                }
+                break;
+            case DELETE:
+                deck.removeCard(cardId);
+                break;
+        }
+    }
+
+    // JSON Serialization
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("op", op.name().toLowerCase());
+        if (card != null) {
+            json.add("card", card.toJson());
+        } else {
+            json.addProperty("id", cardId);
+        }
+        return json;
+    }
+
+    public static CardPatch fromJson(JsonObject json) {
+        Op op = Op.valueOf(json.get("op").getAsString().toUpperCase());
+        if (op == Op.DELETE) {
+            return delete(json.get("id").getAsString());
+        }
+
+        Flashcard card = Flashcard.fromJson(json.getAsJsonObject("card"));
+        return op == Op.ADD ? add(card) : update(card);
+    }
+}
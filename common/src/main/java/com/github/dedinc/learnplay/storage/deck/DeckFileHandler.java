@@ -15,18 +15,24 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Handles file I/O operations for deck JSON files.
+ * <p>
+ * Card edits are recorded as append-only patches ({@link DeckPatchLog}) and folded
+ * into the base file whenever the full deck is saved.
  */
 public class DeckFileHandler {
 
     private static final String CONFIG_PATH = "config/learnplay/decks/";
     private final JsonFileHandler jsonFileHandler;
+    private final DeckPatchLog patchLog;
 
     public DeckFileHandler() {
         this.jsonFileHandler = new JsonFileHandler(CONFIG_PATH);
+        this.patchLog = new DeckPatchLog(jsonFileHandler.getConfigDirectory());
     }
 
     /**
@@ -106,22 +112,67 @@ public class DeckFileHandler {
 
     /**
      * Save a deck to a JSON file.
+     * The base file then contains every card, so pending patches are folded away.
      */
     public boolean saveDeck(Deck deck) {
+        long generation = patchLog.rotate(deck.getId());
         JsonObject json = deck.toJson();
         boolean success = jsonFileHandler.saveJson(deck.getId(), json);
 
         if (success) {
+            patchLog.clearFolded(deck.getId(), generation);
             LearnPlay.LOGGER.info("Saved deck: {}", deck.getName());
         }
 
         return success;
     }
 
+    /**
+     * Save a deck to a JSON file on the background save queue.
+     * The card list is snapshotted immediately and serialized on the save thread;
+     * repeated saves are coalesced into one write.
+     */
+    public CompletableFuture<Boolean> saveDeckAsync(Deck deck) {
+        String deckId = deck.getId();
+        String deckName = deck.getName();
+        long generation = patchLog.rotate(deckId);
+        Deck.Snapshot snapshot = deck.snapshot();
+        return jsonFileHandler.saveJsonAsync(deckId, snapshot::toJson).thenApply(success -> {
+            if (success) {
+                patchLog.clearFolded(deckId, generation);
+                LearnPlay.LOGGER.info("Saved deck: {}", deckName);
+            }
+            return success;
+        });
+    }
+
+    /**
+     * Append a card patch to a deck's patch log.
+     * Cost is proportional to the patch, not to the deck size.
+     *
+     * @return Number of patches not yet folded into the base file, or -1 if the append failed
+     */
+    public int appendCardPatch(String deckId, CardPatch patch) {
+        try {
+            return patchLog.append(deckId, patch);
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to append card patch for deck: {}", deckId, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Replay recorded card patches over a loaded deck.
+     */
+    public void replayCardPatches(Deck deck) {
+        patchLog.replay(deck);
+    }
+
     /**
      * Delete a deck file.
      */
     public boolean deleteDeckFile(String deckId) {
+        patchLog.deleteAll(deckId);
         return jsonFileHandler.deleteFile(deckId);
     }
 
@@ -0,0 +1,196 @@
+package com.github.dedinc.learnplay.storage.deck;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only card patch log kept next to each deck's base file.
+ * <p>
+ * Layout in the deck directory:
+ * - {@code <deckId>.json}: base file with the full deck
+ * - {@code <deckId>.patches.jsonl}: live patch log, one {@link CardPatch} per line
+ * - {@code <deckId>.fold-<generation>.jsonl}: patch logs being folded into the base
+ * <p>
+ * Before the base is rewritten, the live log is rotated into a fold file tagged with
+ * a generation. Once the base write for that generation lands, fold files up to it are
+ * deleted. Loading replays fold files in generation order and then the live log.
+ */
+public class DeckPatchLog {
+
+    private static final String PATCH_SUFFIX = ".patches.jsonl";
+    private static final String FOLD_INFIX = ".fold-";
+    private static final String FOLD_SUFFIX = ".jsonl";
+
+    private final Path deckDirectory;
+    private final Map<String, Integer> pendingCounts = new HashMap<>();
+    private long nextGeneration = System.currentTimeMillis();
+
+    public DeckPatchLog(Path deckDirectory) {
+        this.deckDirectory = deckDirectory;
+    }
+
+    /**
+     * Append a patch to a deck's live log.
+     *
+     * @return Number of patches not yet folded into the base file
+     */
+    public synchronized int append(String deckId, CardPatch patch) throws IOException {
+        Files.createDirectories(deckDirectory);
+        String line = patch.toJson().toString() + "\n";
+        Files.writeString(getPatchPath(deckId), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return pendingCounts.merge(deckId, 1, Integer::sum);
+    }
+
+    /**
+     * Replay all patches recorded for a deck over its loaded base.
+     *
+     * @return Number of patches applied
+     */
+    public synchronized int replay(Deck deck) {
+        int applied = 0;
+        for (Path file : getPatchFiles(deck.getId())) {
+            applied += replayFile(deck, file);
+        }
+        if (applied > 0) {
+            pendingCounts.put(deck.getId(), applied);
+            LearnPlay.LOGGER.info("  Replayed {} card patch(es) for deck {}", applied, deck.getId());
+        }
+        return applied;
+    }
+
+    /**
+     * Rotate the live log into a fold file before the base is rewritten.
+     * Call this on the thread that takes the deck snapshot, right before taking it.
+     *
+     * @return Generation to pass to {@link #clearFolded(String, long)} once the base is written
+     */
+    public synchronized long rotate(String deckId) {
+        long generation = nextGeneration++;
+        Path patchFile = getPatchPath(deckId);
+        try {
+            if (Files.exists(patchFile)) {
+                Files.move(patchFile, getFoldPath(deckId, generation), StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to rotate patch log for deck: {}", deckId, e);
+        }
+        pendingCounts.remove(deckId);
+        return generation;
+    }
+
+    /**
+     * Delete fold files up to and including a generation (their patches are now in the base).
+     */
+    public synchronized void clearFolded(String deckId, long generation) {
+        for (Path file : getFoldFiles(deckId)) {
+            if (parseGeneration(deckId, file) <= generation) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Delete every patch file of a deck.
+     */
+    public synchronized void deleteAll(String deckId) {
+        for (Path file : getPatchFiles(deckId)) {
+            deleteQuietly(file);
+        }
+        pendingCounts.remove(deckId);
+    }
+
+    private int replayFile(Deck deck, Path file) {
+        int applied = 0;
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CardPatch.fromJson(JsonParser.parseString(line).getAsJsonObject()).applyTo(deck);
+                    applied++;
+                } catch (Exception e) {
+                    // A torn last line after a crash is expected; skip it
+                    LearnPlay.LOGGER.warn("Skipping invalid card patch in {}: {}", file.getFileName(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to read patch log: {}", file, e);
+        }
+        return applied;
+    }
+
+    /**
+     * Fold files in generation order, followed by the live log.
+     */
+    private List<Path> getPatchFiles(String deckId) {
+        List<Path> files = new ArrayList<>(getFoldFiles(deckId));
+        Path patchFile = getPatchPath(deckId);
+        if (Files.exists(patchFile)) {
+            files.add(patchFile);
+        }
+        return files;
+    }
+
+    private List<Path> getFoldFiles(String deckId) {
+        if (!Files.isDirectory(deckDirectory)) {
+            return new ArrayList<>();
+        }
+
+        String prefix = deckId + FOLD_INFIX;
+        try (Stream<Path> files = Files.list(deckDirectory)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(FOLD_SUFFIX);
+                    })
+                    .filter(p -> parseGeneration(deckId, p) >= 0)
+                    .sorted((a, b) -> Long.compare(parseGeneration(deckId, a), parseGeneration(deckId, b)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to list patch logs for deck: {}", deckId, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private long parseGeneration(String deckId, Path foldFile) {
+        String name = foldFile.getFileName().toString();
+        String number = name.substring((deckId + FOLD_INFIX).length(), name.length() - FOLD_SUFFIX.length());
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Path getPatchPath(String deckId) {
+        return deckDirectory.resolve(deckId + PATCH_SUFFIX);
+    }
+
+    private Path getFoldPath(String deckId, long generation) {
+        return deckDirectory.resolve(deckId + FOLD_INFIX + generation + FOLD_SUFFIX);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LearnPlay.LOGGER.error("Failed to delete patch log: {}", file, e);
+        }
+    }
+}
@@ -1,22 +1,32 @@
 package com.github.dedinc.learnplay.storage.deck;
 
 import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.storage.category.CategoryTreeIndex;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * In-memory repository for managing deck storage and queries.
+ * Read by the server thread during reviews while the client edits decks, so the map is concurrent.
  */
 public class DeckRepository {
 
-    private final Map<String, Deck> decks = new HashMap<>();
+    private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+    private final CategoryTreeIndex treeIndex;
+
+    public DeckRepository(CategoryTreeIndex treeIndex) {
+        this.treeIndex = treeIndex;
+    }
 
     /**
      * Add or update a deck in the repository.
+     * Call again after changing a deck's category so the category index follows.
      */
     public void put(String deckId, Deck deck) {
         decks.put(deckId, deck);
+        treeIndex.putDeck(deckId, deck.getCategoryId());
     }
 
     /**
@@ -31,6 +41,7 @@ public class DeckRepository {
      */
     public void remove(String deckId) {
         decks.remove(deckId);
+        treeIndex.removeDeck(deckId);
     }
 
     /**
@@ -67,21 +78,22 @@ public class DeckRepository {
      * Get decks by category ID.
      */
     public List<Deck> getByCategory(String categoryId) {
-        if (categoryId == null) {
-            return getUncategorized();
+        List<String> deckIds = treeIndex.getDeckIds(categoryId);
+        List<Deck> result = new ArrayList<>(deckIds.size());
+        for (String deckId : deckIds) {
+            Deck deck = decks.get(deckId);
+            if (deck != null) {
+                result.add(deck);
+            }
         }
-        return decks.values().stream()
-                .filter(deck -> categoryId.equals(deck.getCategoryId()))
-                .collect(Collectors.toList());
+        return result;
     }
 
     /**
      * Get all uncategorized decks.
      */
     public List<Deck> getUncategorized() {
-        return decks.values().stream()
-                .filter(deck -> deck.getCategoryId() == null)
-                .collect(Collectors.toList());
+        return getByCategory(null);
     }
 
     /**
@@ -98,6 +110,7 @@ public class DeckRepository {
      */
     public void clear() {
         decks.clear();
+        treeIndex.clearDecks();
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.github.dedinc.learnplay.storage.deck;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.google.gson.JsonObject;
+
+/**
+ * Mutable per-deck settings that are stored separately from the card payload.
+ * Flipping one of these only rewrites the small settings index, never the deck's cards.
+ */
+public class DeckSettings {
+    private final String name;
+    private final String description;
+    private final boolean enabled;
+    private final String categoryId; // null for uncategorized
+
+    public DeckSettings(String name, String description, boolean enabled, String categoryId) {
+        this.name = name;
+        this.description = description != null ? description : "";
+        this.enabled = enabled;
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Capture the current settings of a deck.
+     */
+    public static DeckSettings of(Deck deck) {
+        return new DeckSettings(deck.getName(), deck.getDescription(), deck.isEnabled(), deck.getCategoryId());
+    }
+
+    /**
+     * Apply these settings to a loaded deck.
+     */
+    public void applyTo(Deck deck) {
+        if (name != null && !name.trim().isEmpty()) {
+            deck.setName(name);
+        }
+        deck.setDescription(description);
+        deck.setEnabled(enabled);
+        deck.setCategoryId(categoryId);
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    // JSON Serialization
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", name);
+        json.addProperty("description", description);
+        json.addProperty("enabled", enabled);
+
+        if (categoryId != null) {
+            json.addProperty("categoryId", categoryId);
+        }
+
+        return json;
+    }
+
+    public static DeckSettings fromJson(JsonObject json) {
+        String name = json.has("name") ? json.get("name").getAsString() : null;
+        String description = json.has("description") ? json.get("description").getAsString() : "";
+        boolean enabled = json.has("enabled") ? json.get("enabled").getAsBoolean() : true;
+        String categoryId = json.has("categoryId") ? json.get("categoryId").getAsString() : null;
+
+        return new DeckSettings(name, description, enabled, categoryId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.dedinc.learnplay.storage.deck;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.storage.common.JsonFileHandler;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single settings index for all decks, stored at config/learnplay/deck_settings.json.
+ * <p>
+ * Deck files hold the (large) card payload; this index holds the small mutable state
+ * (enabled, category, name, description). Settings in the index take precedence over
+ * the values embedded in deck files, so toggling or moving a deck never rewrites its cards.
+ */
+public class DeckSettingsStore {
+
+    private static final String CONFIG_PATH = "config/learnplay/";
+    private static final String INDEX_ID = "deck_settings";
+
+    private final JsonFileHandler jsonFileHandler;
+    private final Map<String, DeckSettings> settings = new HashMap<>();
+
+    public DeckSettingsStore() {
+        this.jsonFileHandler = new JsonFileHandler(CONFIG_PATH);
+    }
+
+    /**
+     * Load the settings index from disk, replacing anything in memory.
+     */
+    public void load() {
+        settings.clear();
+        Path file = jsonFileHandler.getConfigDirectory().resolve(INDEX_ID + ".json");
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            JsonObject json = JsonParser.parseString(content).getAsJsonObject();
+
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                if (entry.getValue().isJsonObject()) {
+                    settings.put(entry.getKey(), DeckSettings.fromJson(entry.getValue().getAsJsonObject()));
+                }
+            }
+            LearnPlay.LOGGER.info("Loaded settings for {} deck(s)", settings.size());
+        } catch (Exception e) {
+            LearnPlay.LOGGER.error("Failed to load deck settings index: {}", file, e);
+        }
+    }
+
+    /**
+     * Apply stored settings to a loaded deck, if any exist for it.
+     */
+    public void applyTo(Deck deck) {
+        DeckSettings stored = settings.get(deck.getId());
+        if (stored != null) {
+            stored.applyTo(deck);
+        }
+    }
+
+    /**
+     * Record the current settings of a deck and persist the index.
+     */
+    public boolean update(Deck deck) {
+        settings.put(deck.getId(), DeckSettings.of(deck));
+        return save();
+    }
+
+    /**
+     * Record the current settings of a deck and persist the index on the background save queue.
+     */
+    public CompletableFuture<Boolean> updateAsync(Deck deck) {
+        settings.put(deck.getId(), DeckSettings.of(deck));
+        return jsonFileHandler.saveJsonAsync(INDEX_ID, toJson());
+    }
+
+    /**
+     * Forget the settings of a deck and persist the index.
+     */
+    public boolean remove(String deckId) {
+        if (settings.remove(deckId) == null) {
+            return true;
+        }
+        return save();
+    }
+
+    private boolean save() {
+        return jsonFileHandler.saveJson(INDEX_ID, toJson());
+    }
+
+    private JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, DeckSettings> entry : settings.entrySet()) {
+            json.add(entry.getKey(), entry.getValue().toJson());
+        }
+        return json;
+    }
+}
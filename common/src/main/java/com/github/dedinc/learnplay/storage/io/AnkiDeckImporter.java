@@ -0,0 +1,323 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.data.model.SRSState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Imports Anki deck packages (.apkg) into a deck.
+ * <p>
+ * The package's SQLite collection is extracted to a temp file and its notes table is
+ * streamed row by row through {@link SqliteFileReader}; cards are added to the deck in
+ * batches and nothing is written to the LearnPlay storage, so callers save the finished
+ * deck once. The first field of a note becomes the question and the second the answer
+ * (cloze notes are blanked instead). Optionally, review history from the cards table is
+ * converted to {@link SRSState}s available through {@link ImportResult#getCardStates()}.
+ */
+public class AnkiDeckImporter {
+
+    public static final String CARD_ID_PREFIX = "anki_";
+
+    private static final int BATCH_SIZE = 1024;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final char FIELD_SEPARATOR = '\u001f';
+
+    // Anki card types and queues
+    private static final int TYPE_NEW = 0;
+    private static final int TYPE_REVIEW = 2;
+    private static final int QUEUE_LEARNING = 1;
+
+    // Collection file names, newest legacy format first
+    private static final String[] COLLECTION_ENTRIES = {"collection.anki21", "collection.anki2"};
+    private static final String COMPRESSED_COLLECTION_ENTRY = "collection.anki21b";
+
+    /**
+     * Import an .apkg file into a new deck.
+     *
+     * @param includeSchedule Whether to convert Anki review history to SRS states
+     */
+    public ImportResult importFile(Path file, String deckId, String deckName, boolean includeSchedule) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Deck deck = new Deck(deckId, deckName);
+        ImportResult result = new ImportResult(deck);
+
+        Path collection = extractCollection(file);
+        try (SqliteFileReader reader = new SqliteFileReader(collection)) {
+            Map<Long, SRSState> states = includeSchedule ? readSchedule(reader) : new HashMap<>();
+            readNotes(reader, deck, states, result, startTime);
+        } finally {
+            Files.deleteIfExists(collection);
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - startTime);
+        LearnPlay.LOGGER.info("Imported {} from {}", result, file.getFileName());
+        return result;
+    }
+
+    /**
+     * Copy the SQLite collection out of the package into a temp file.
+     */
+    private Path extractCollection(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            // Newer exports hold the real collection compressed, next to a legacy placeholder
+            if (zip.getEntry(COMPRESSED_COLLECTION_ENTRY) != null) {
+                throw new IOException("Package uses the compressed Anki 2.1.50+ format; "
+                        + "export it again with \"Support older Anki versions\" enabled");
+            }
+            ZipEntry entry = null;
+            for (String name : COLLECTION_ENTRIES) {
+                entry = zip.getEntry(name);
+                if (entry != null) {
+                    break;
+                }
+            }
+            if (entry == null) {
+                throw new IOException("No Anki collection found in " + file.getFileName());
+            }
+
+            Path temp = Files.createTempFile("learnplay-anki", ".db");
+            try (InputStream in = zip.getInputStream(entry)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            return temp;
+        }
+    }
+
+    /**
+     * Convert the review history of each note's first reviewed card to an SRS state, keyed by note ID.
+     */
+    private Map<Long, SRSState> readSchedule(SqliteFileReader reader) throws IOException {
+        // col: id, crt, ... (crt = collection creation time in seconds, day 0 for review due dates)
+        long[] creationTime = {0};
+        reader.scanTable("col", (rowId, values) -> creationTime[0] = asLong(values, 1));
+
+        Map<Long, SRSState> states = new HashMap<>();
+        Map<Long, Long> stateOrdinals = new HashMap<>();
+        // cards: id, nid, did, ord, mod, usn, type, queue, due, ivl, factor, reps, ...
+        reader.scanTable("cards", (rowId, values) -> {
+            int type = (int) asLong(values, 6);
+            if (type == TYPE_NEW) {
+                return;
+            }
+            long noteId = asLong(values, 1);
+            long ordinal = asLong(values, 3);
+            Long existing = stateOrdinals.get(noteId);
+            if (existing != null && existing <= ordinal) {
+                return; // One state per note: keep the first card template
+            }
+
+            long due = asLong(values, 8);
+            long nextReview;
+            if (type == TYPE_REVIEW || (asLong(values, 7) != QUEUE_LEARNING && due < 1_000_000_000L)) {
+                nextReview = (creationTime[0] * 1000) + due * DAY_MILLIS; // Day number
+            } else {
+                nextReview = due * 1000; // Epoch seconds
+            }
+            int interval = (int) Math.max(1, asLong(values, 9)); // Negative intervals are learning steps in seconds
+            double easeFactor = asLong(values, 10) > 0 ? asLong(values, 10) / 1000.0 : SRSState.INITIAL_EASE_FACTOR;
+            int repetitions = (int) asLong(values, 11);
+            long lastReview = nextReview - interval * DAY_MILLIS;
+
+            states.put(noteId, new SRSState(CARD_ID_PREFIX + noteId, interval, easeFactor, repetitions, lastReview, nextReview));
+            stateOrdinals.put(noteId, ordinal);
+        });
+        return states;
+    }
+
+    private void readNotes(SqliteFileReader reader, Deck deck, Map<Long, SRSState> states,
+                           ImportResult result, long createdAt) throws IOException {
+        List<Flashcard> batch = new ArrayList<>(BATCH_SIZE);
+        // notes: id, guid, mid, mod, usn, tags, flds, sfld, ...
+        reader.scanTable("notes", (rowId, values) -> {
+            String[] fields = splitFields(values.length > 6 && values[6] instanceof String ? (String) values[6] : "");
+            String question;
+            String answer;
+            if (fields.length > 0 && fields[0].contains("{{c")) {
+                question = stripHtml(cloze(fields[0], false));
+                answer = stripHtml(cloze(fields[0], true));
+                if (fields.length > 1) {
+                    String extra = stripHtml(fields[1]);
+                    if (!extra.isEmpty()) {
+                        answer = answer + "\n" + extra;
+                    }
+                }
+            } else {
+                question = fields.length > 0 ? stripHtml(fields[0]) : "";
+                answer = fields.length > 1 ? stripHtml(fields[1]) : "";
+            }
+
+            if (question.isEmpty() || answer.isEmpty()) {
+                result.recordRejected(rowId, "missing question or answer");
+                return;
+            }
+
+            String id = CARD_ID_PREFIX + rowId;
+            if (deck.hasCard(id)) {
+                result.recordRejected(rowId, "duplicate card ID " + id);
+                return;
+            }
+
+            List<String> tags = values.length > 5 && values[5] instanceof String ? splitTags((String) values[5]) : new ArrayList<>();
+            batch.add(new Flashcard(id, question, answer, tags, createdAt));
+            SRSState state = states.get(rowId);
+            if (state != null) {
+                result.addCardState(state);
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                flush(deck, batch, result);
+            }
+        });
+        flush(deck, batch, result);
+    }
+
+    private void flush(Deck deck, List<Flashcard> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        deck.addCards(batch);
+        result.recordImported(batch.size());
+        batch.clear();
+    }
+
+    private static long asLong(Object[] values, int column) {
+        if (column < values.length && values[column] instanceof Number) {
+            return ((Number) values[column]).longValue();
+        }
+        return 0;
+    }
+
+    private static String[] splitFields(String fields) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= fields.length(); i++) {
+            if (i == fields.length() || fields.charAt(i) == FIELD_SEPARATOR) {
+                parts.add(fields.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    private static List<String> splitTags(String tags) {
+        List<String> result = new ArrayList<>();
+        for (String tag : tags.trim().split("\\s+")) {
+            if (!tag.isEmpty()) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Render cloze deletions ({{c1::text::hint}}) either revealed or blanked.
+     */
+    static String cloze(String text, boolean reveal) {
+        StringBuilder out = new StringBuilder(text.length());
+        int pos = 0;
+        while (true) {
+            int start = text.indexOf("{{c", pos);
+            int separator = start < 0 ? -1 : text.indexOf("::", start);
+            int end = separator < 0 ? -1 : text.indexOf("}}", separator);
+            if (end < 0) {
+                out.append(text, pos, text.length());
+                return out.toString();
+            }
+
+            out.append(text, pos, start);
+            String body = text.substring(separator + 2, end);
+            int hint = body.indexOf("::");
+            if (reveal) {
+                out.append(hint < 0 ? body : body.substring(0, hint));
+            } else {
+                out.append(hint < 0 ? "[...]" : "[" + body.substring(hint + 2) + "]");
+            }
+            pos = end + 2;
+        }
+    }
+
+    /**
+     * Convert field HTML to plain text: line breaks kept, tags and media references dropped, entities decoded.
+     */
+    static String stripHtml(String html) {
+        StringBuilder out = new StringBuilder(html.length());
+        int length = html.length();
+        for (int i = 0; i < length; i++) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int close = html.indexOf('>', i);
+                if (close < 0) {
+                    out.append(c);
+                    continue;
+                }
+                String tag = html.substring(i + 1, close).trim().toLowerCase(Locale.ROOT);
+                if (tag.startsWith("br") || tag.equals("div") || tag.equals("/div") || tag.equals("/p")) {
+                    if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') {
+                        out.append('\n');
+                    }
+                }
+                i = close;
+            } else if (c == '&') {
+                int semicolon = html.indexOf(';', i);
+                String decoded = semicolon > i && semicolon - i <= 10 ? decodeEntity(html.substring(i + 1, semicolon)) : null;
+                if (decoded != null) {
+                    out.append(decoded);
+                    i = semicolon;
+                } else {
+                    out.append(c);
+                }
+            } else if (c == '[' && html.startsWith("[sound:", i) && html.indexOf(']', i) > 0) {
+                i = html.indexOf(']', i);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString().trim();
+    }
+
+    private static String decodeEntity(String entity) {
+        switch (entity) {
+            case "nbsp":
+                return " ";
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            default:
+                break;
+        }
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(2), 16)));
+            }
+            if (entity.startsWith("#")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(1))));
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+}
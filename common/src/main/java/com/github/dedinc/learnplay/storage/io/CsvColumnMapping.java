@@ -0,0 +1,111 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes how CSV/TSV columns map to flashcard fields.
+ * Column indices are zero-based; -1 means the column is absent.
+ */
+public class CsvColumnMapping {
+
+    public static final char DEFAULT_TAG_SEPARATOR = ';';
+
+    private final char delimiter;
+    private final boolean hasHeader;
+    private final int idColumn;
+    private final int questionColumn;
+    private final int answerColumn;
+    private final int tagsColumn;
+    private final char tagSeparator;
+
+    public CsvColumnMapping(char delimiter, boolean hasHeader, int idColumn, int questionColumn,
+                            int answerColumn, int tagsColumn, char tagSeparator) {
+        if (questionColumn < 0 || answerColumn < 0) {
+            throw new IllegalArgumentException("Question and answer columns are required");
+        }
+        this.delimiter = delimiter;
+        this.hasHeader = hasHeader;
+        this.idColumn = idColumn;
+        this.questionColumn = questionColumn;
+        this.answerColumn = answerColumn;
+        this.tagsColumn = tagsColumn;
+        this.tagSeparator = tagSeparator;
+    }
+
+    /**
+     * Default mapping for a file: delimiter from the extension (.tsv = tab, otherwise comma),
+     * question in column 0, answer in column 1, tags in column 2, generated IDs.
+     * The header row, if present, overrides the column positions (see {@link #withHeader(List)}).
+     */
+    public static CsvColumnMapping forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        char delimiter = name.endsWith(".tsv") || name.endsWith(".tab") ? '\t' : ',';
+        return new CsvColumnMapping(delimiter, true, -1, 0, 1, 2, DEFAULT_TAG_SEPARATOR);
+    }
+
+    /**
+     * Resolve column positions from a header row.
+     * Recognized names (case-insensitive): id; question/front; answer/back; tags.
+     * Returns this mapping unchanged if the header has no question and answer columns,
+     * in which case the first row is treated as data.
+     */
+    public CsvColumnMapping withHeader(List<String> header) {
+        int id = -1, question = -1, answer = -1, tags = -1;
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "id":
+                    id = i;
+                    break;
+                case "question":
+                case "front":
+                    question = i;
+                    break;
+                case "answer":
+                case "back":
+                    answer = i;
+                    break;
+                case "tags":
+                    tags = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (question < 0 || answer < 0) {
+            return new CsvColumnMapping(delimiter, false, idColumn, questionColumn, answerColumn, tagsColumn, tagSeparator);
+        }
+        return new CsvColumnMapping(delimiter, true, id, question, answer, tags, tagSeparator);
+    }
+
+    // Getters
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public boolean hasHeader() {
+        return hasHeader;
+    }
+
+    public int getIdColumn() {
+        return idColumn;
+    }
+
+    public int getQuestionColumn() {
+        return questionColumn;
+    }
+
+    public int getAnswerColumn() {
+        return answerColumn;
+    }
+
+    public int getTagsColumn() {
+        return tagsColumn;
+    }
+
+    public char getTagSeparator() {
+        return tagSeparator;
+    }
+}
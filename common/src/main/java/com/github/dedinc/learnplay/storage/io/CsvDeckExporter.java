@@ -0,0 +1,97 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams a deck out as CSV/TSV with an "id, question, answer, tags" header.
+ * The output can be read back by {@link CsvDeckImporter}.
+ */
+public class CsvDeckExporter {
+
+    /**
+     * Export a deck to a file. The delimiter is chosen from the extension (.tsv = tab, otherwise comma).
+     *
+     * @return Number of cards written
+     */
+    public int exportFile(Deck deck, Path file) throws IOException {
+        CsvColumnMapping mapping = CsvColumnMapping.forFile(file);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            int count = export(deck, writer, mapping.getDelimiter(), mapping.getTagSeparator());
+            LearnPlay.LOGGER.info("Exported {} card(s) from deck {} to {}", count, deck.getId(), file.toAbsolutePath());
+            return count;
+        }
+    }
+
+    /**
+     * Write a deck to a writer, one row per card.
+     *
+     * @return Number of cards written
+     */
+    public int export(Deck deck, Writer writer, char delimiter, char tagSeparator) throws IOException {
+        writer.write("id" + delimiter + "question" + delimiter + "answer" + delimiter + "tags\n");
+
+        StringBuilder tags = new StringBuilder();
+        int count = 0;
+        for (Flashcard card : deck.getCards()) {
+            writeField(writer, card.getId(), delimiter);
+            writer.write(delimiter);
+            writeField(writer, card.getQuestion(), delimiter);
+            writer.write(delimiter);
+            writeField(writer, card.getAnswer(), delimiter);
+            writer.write(delimiter);
+
+            tags.setLength(0);
+            List<String> cardTags = card.getTags();
+            for (int i = 0; i < cardTags.size(); i++) {
+                if (i > 0) {
+                    tags.append(tagSeparator);
+                }
+                tags.append(cardTags.get(i));
+            }
+            writeField(writer, tags.toString(), delimiter);
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private void writeField(Writer writer, String value, char delimiter) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
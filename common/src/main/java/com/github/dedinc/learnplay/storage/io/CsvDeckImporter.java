@@ -0,0 +1,135 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams CSV/TSV files into a deck.
+ * <p>
+ * Rows are parsed one at a time and added to the deck in batches through
+ * {@link Deck#addCards}, so memory is bounded by the resulting deck. The importer
+ * never writes to disk; callers save the finished deck once.
+ */
+public class CsvDeckImporter {
+
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Import a file into a new deck, using the default mapping for the file
+     * (delimiter from the extension, columns from the header row if present).
+     */
+    public ImportResult importFile(Path file, String deckId, String deckName) throws IOException {
+        return importFile(file, deckId, deckName, CsvColumnMapping.forFile(file));
+    }
+
+    /**
+     * Import a file into a new deck with an explicit column mapping.
+     */
+    public ImportResult importFile(Path file, String deckId, String deckName, CsvColumnMapping mapping) throws IOException {
+        Deck deck = new Deck(deckId, deckName);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ImportResult result = importInto(deck, reader, mapping);
+            LearnPlay.LOGGER.info("Imported {} from {}", result, file.getFileName());
+            return result;
+        }
+    }
+
+    /**
+     * Stream rows from a reader into an existing deck.
+     * Rows with missing fields or duplicate IDs are rejected and reported, not fatal.
+     */
+    public ImportResult importInto(Deck deck, Reader reader, CsvColumnMapping mapping) throws IOException {
+        long startTime = System.currentTimeMillis();
+        ImportResult result = new ImportResult(deck);
+        CsvReader csv = new CsvReader(reader, mapping.getDelimiter());
+
+        List<String> row = csv.readRow();
+        if (row != null && mapping.hasHeader()) {
+            mapping = mapping.withHeader(row);
+            if (mapping.hasHeader()) {
+                row = csv.readRow(); // Header consumed
+            }
+        }
+
+        List<Flashcard> batch = new ArrayList<>(BATCH_SIZE);
+        Set<String> batchIds = new HashSet<>();
+        for (; row != null; row = csv.readRow()) {
+            long rowNumber = csv.getRowNumber();
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue; // Blank line
+            }
+
+            String question = getField(row, mapping.getQuestionColumn());
+            String answer = getField(row, mapping.getAnswerColumn());
+            if (question.isEmpty() || answer.isEmpty()) {
+                result.recordRejected(rowNumber, "missing question or answer");
+                continue;
+            }
+
+            String id = getField(row, mapping.getIdColumn());
+            if (id.isEmpty()) {
+                id = deck.getId() + "_" + rowNumber;
+            }
+            if (deck.hasCard(id) || !batchIds.add(id)) {
+                result.recordRejected(rowNumber, "duplicate card ID " + id);
+                continue;
+            }
+
+            batch.add(new Flashcard(id, question, answer, parseTags(getField(row, mapping.getTagsColumn()),
+                    mapping.getTagSeparator()), startTime));
+            if (batch.size() >= BATCH_SIZE) {
+                flush(deck, batch, batchIds, result);
+            }
+        }
+        flush(deck, batch, batchIds, result);
+
+        result.setElapsedMillis(System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private void flush(Deck deck, List<Flashcard> batch, Set<String> batchIds, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        deck.addCards(batch);
+        result.recordImported(batch.size());
+        batch.clear();
+        batchIds.clear();
+    }
+
+    private String getField(List<String> row, int column) {
+        if (column < 0 || column >= row.size()) {
+            return "";
+        }
+        return row.get(column).trim();
+    }
+
+    private List<String> parseTags(String value, char separator) {
+        List<String> tags = new ArrayList<>();
+        if (value.isEmpty()) {
+            return tags;
+        }
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == separator) {
+                String tag = value.substring(start, i).trim();
+                if (!tag.isEmpty()) {
+                    tags.add(tag);
+                }
+                start = i + 1;
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for CSV/TSV data (RFC 4180 style).
+ * Supports quoted fields, doubled quotes inside quoted fields, delimiters and line breaks
+ * inside quotes, and LF / CRLF line endings. Only one row is held in memory at a time.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private boolean firstRead = true;
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return Fields of the row, or null at end of input
+     */
+    public List<String> readRow() throws IOException {
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean sawAny = false;
+
+        while (true) {
+            int c = nextChar();
+            if (c < 0) {
+                if (!sawAny) {
+                    return null;
+                }
+                row.add(field.toString());
+                lineNumber++;
+                return row;
+            }
+            sawAny = true;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peekChar() == '"') {
+                        nextChar();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peekChar() == '\n') {
+                    nextChar();
+                }
+                row.add(field.toString());
+                lineNumber++;
+                return row;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Number of rows read so far.
+     */
+    public long getRowNumber() {
+        return lineNumber;
+    }
+
+    private int nextChar() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peekChar() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        // Skip a UTF-8 byte order mark at the start of the file
+        if (firstRead) {
+            firstRead = false;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+            }
+        }
+        return position < limit || fill();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.SRSState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk deck import: the built deck, throughput and rejected rows.
+ * Only the first few rejection reasons are kept so memory stays bounded.
+ */
+public class ImportResult {
+
+    private static final int MAX_REJECTION_SAMPLES = 20;
+
+    private final Deck deck;
+    private final List<String> rejectionSamples = new ArrayList<>();
+    private final List<SRSState> cardStates = new ArrayList<>();
+    private int importedCount;
+    private int rejectedCount;
+    private long elapsedMillis;
+
+    public ImportResult(Deck deck) {
+        this.deck = deck;
+    }
+
+    void recordImported(int count) {
+        importedCount += count;
+    }
+
+    void recordRejected(long rowNumber, String reason) {
+        rejectedCount++;
+        if (rejectionSamples.size() < MAX_REJECTION_SAMPLES) {
+            rejectionSamples.add("Row " + rowNumber + ": " + reason);
+        }
+    }
+
+    void addCardState(SRSState state) {
+        cardStates.add(state);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public List<String> getRejectionSamples() {
+        return Collections.unmodifiableList(rejectionSamples);
+    }
+
+    /**
+     * Review history carried over by the import, if the source format has one.
+     */
+    public List<SRSState> getCardStates() {
+        return Collections.unmodifiableList(cardStates);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        long rows = (long) importedCount + rejectedCount;
+        return elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportResult{deck=%s, imported=%d, rejected=%d, %d ms, %.0f rows/s}",
+                deck.getId(), importedCount, rejectedCount, elapsedMillis, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,304 @@
+package com.github.dedinc.learnplay.storage.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal read-only reader for SQLite 3 database files.
+ * <p>
+ * Supports what is needed to stream rows out of a table: the file header, table
+ * b-trees (interior and leaf pages), overflow pages and the record format. Pages are
+ * read on demand, so memory use is a few pages regardless of database size.
+ * Indexes, WAL files and writing are not supported.
+ */
+public class SqliteFileReader implements Closeable {
+
+    private static final byte[] MAGIC = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int PAGE_INTERIOR_TABLE = 0x05;
+    private static final int PAGE_LEAF_TABLE = 0x0D;
+
+    private final FileChannel channel;
+    private final int pageSize;
+    private final int usableSize;
+    private final Charset textEncoding;
+
+    /**
+     * Receives the rows of a table scan.
+     */
+    public interface RowVisitor {
+        /**
+         * @param rowId  The row's rowid (also the value of an INTEGER PRIMARY KEY column, which is stored as NULL)
+         * @param values Column values: Long, Double, String, byte[] or null
+         */
+        void visit(long rowId, Object[] values) throws IOException;
+    }
+
+    public SqliteFileReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, 100);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header.get(i) != MAGIC[i]) {
+                    throw new IOException("Not an SQLite 3 database: " + file.getFileName());
+                }
+            }
+            int rawPageSize = header.getShort(16) & 0xFFFF;
+            this.pageSize = rawPageSize == 1 ? 65536 : rawPageSize;
+            this.usableSize = pageSize - (header.get(20) & 0xFF);
+            switch (header.getInt(56)) {
+                case 2:
+                    this.textEncoding = StandardCharsets.UTF_16LE;
+                    break;
+                case 3:
+                    this.textEncoding = StandardCharsets.UTF_16BE;
+                    break;
+                default:
+                    this.textEncoding = StandardCharsets.UTF_8;
+                    break;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Find the root page of a table by name through the sqlite_master table.
+     *
+     * @return Root page number, or -1 if there is no such table
+     */
+    public int findTableRootPage(String tableName) throws IOException {
+        int[] rootPage = {-1};
+        scanPages(1, (rowId, values) -> {
+            // sqlite_master columns: type, name, tbl_name, rootpage, sql
+            if (rootPage[0] < 0 && "table".equals(values[0]) && tableName.equalsIgnoreCase((String) values[1])
+                    && values[3] instanceof Long) {
+                rootPage[0] = ((Long) values[3]).intValue();
+            }
+        });
+        return rootPage[0];
+    }
+
+    /**
+     * Visit every row of a table in rowid order.
+     *
+     * @throws IOException if the table does not exist or the file is corrupt
+     */
+    public void scanTable(String tableName, RowVisitor visitor) throws IOException {
+        int rootPage = findTableRootPage(tableName);
+        if (rootPage < 1) {
+            throw new IOException("Table not found: " + tableName);
+        }
+        scanPages(rootPage, visitor);
+    }
+
+    private void scanPages(int rootPage, RowVisitor visitor) throws IOException {
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(rootPage);
+
+        while (!pending.isEmpty()) {
+            int pageNumber = pending.pop();
+            ByteBuffer page = readPage(pageNumber);
+            int headerOffset = pageNumber == 1 ? 100 : 0;
+            int type = page.get(headerOffset) & 0xFF;
+            int cellCount = page.getShort(headerOffset + 3) & 0xFFFF;
+
+            if (type == PAGE_INTERIOR_TABLE) {
+                // Push children in reverse so they are visited left to right
+                pending.push(page.getInt(headerOffset + 8));
+                for (int i = cellCount - 1; i >= 0; i--) {
+                    int cellOffset = page.getShort(headerOffset + 12 + i * 2) & 0xFFFF;
+                    pending.push(page.getInt(cellOffset));
+                }
+            } else if (type == PAGE_LEAF_TABLE) {
+                for (int i = 0; i < cellCount; i++) {
+                    int cellOffset = page.getShort(headerOffset + 8 + i * 2) & 0xFFFF;
+                    readLeafCell(page, cellOffset, visitor);
+                }
+            } else {
+                throw new IOException("Unexpected b-tree page type " + type + " on page " + pageNumber);
+            }
+        }
+    }
+
+    private void readLeafCell(ByteBuffer page, int offset, RowVisitor visitor) throws IOException {
+        long[] varint = new long[2];
+        offset = readVarint(page, offset, varint);
+        long payloadSize = varint[0];
+        offset = readVarint(page, offset, varint);
+        long rowId = varint[0];
+
+        byte[] payload = readPayload(page, offset, (int) payloadSize);
+        visitor.visit(rowId, decodeRecord(payload));
+    }
+
+    /**
+     * Collect a cell payload, following overflow pages when it does not fit locally.
+     */
+    private byte[] readPayload(ByteBuffer page, int offset, int payloadSize) throws IOException {
+        int maxLocal = usableSize - 35;
+        int localSize = payloadSize;
+        if (payloadSize > maxLocal) {
+            int minLocal = ((usableSize - 12) * 32 / 255) - 23;
+            int candidate = minLocal + ((payloadSize - minLocal) % (usableSize - 4));
+            localSize = candidate <= maxLocal ? candidate : minLocal;
+        }
+
+        byte[] payload = new byte[payloadSize];
+        page.position(offset);
+        page.get(payload, 0, localSize);
+
+        int copied = localSize;
+        int overflowPage = localSize < payloadSize ? page.getInt(offset + localSize) : 0;
+        while (copied < payloadSize) {
+            if (overflowPage == 0) {
+                throw new EOFException("Overflow chain ended early");
+            }
+            ByteBuffer overflow = readPage(overflowPage);
+            int chunk = Math.min(payloadSize - copied, usableSize - 4);
+            overflow.position(4);
+            overflow.get(payload, copied, chunk);
+            copied += chunk;
+            overflowPage = overflow.getInt(0);
+        }
+        return payload;
+    }
+
+    private Object[] decodeRecord(byte[] payload) {
+        ByteBuffer record = ByteBuffer.wrap(payload);
+        long[] varint = new long[2];
+        int headerSize = (int) peekVarint(record, 0, varint);
+        int headerPos = (int) varint[1];
+
+        // Count columns first so the value array has the exact size
+        int columnCount = 0;
+        for (int pos = headerPos; pos < headerSize; columnCount++) {
+            pos = readVarint(record, pos, varint);
+        }
+
+        Object[] values = new Object[columnCount];
+        int bodyPos = headerSize;
+        int column = 0;
+        for (int pos = headerPos; pos < headerSize; column++) {
+            pos = readVarint(record, pos, varint);
+            long serialType = varint[0];
+            values[column] = decodeValue(record, bodyPos, serialType);
+            bodyPos += valueSize(serialType);
+        }
+        return values;
+    }
+
+    private Object decodeValue(ByteBuffer record, int pos, long serialType) {
+        switch ((int) Math.min(serialType, 12)) {
+            case 0:
+                return null;
+            case 1:
+                return (long) record.get(pos);
+            case 2:
+                return (long) record.getShort(pos);
+            case 3:
+                return (long) ((record.get(pos) << 16) | ((record.get(pos + 1) & 0xFF) << 8) | (record.get(pos + 2) & 0xFF));
+            case 4:
+                return (long) record.getInt(pos);
+            case 5:
+                return ((long) record.getShort(pos) << 32) | (record.getInt(pos + 2) & 0xFFFFFFFFL);
+            case 6:
+                return record.getLong(pos);
+            case 7:
+                return record.getDouble(pos);
+            case 8:
+                return 0L;
+            case 9:
+                return 1L;
+            default:
+                int size = valueSize(serialType);
+                if (serialType % 2 == 0) {
+                    byte[] blob = new byte[size];
+                    record.position(pos);
+                    record.get(blob);
+                    return blob;
+                }
+                return new String(record.array(), pos, size, textEncoding);
+        }
+    }
+
+    private int valueSize(long serialType) {
+        if (serialType >= 12) {
+            return (int) ((serialType - (serialType % 2 == 0 ? 12 : 13)) / 2);
+        }
+        switch ((int) serialType) {
+            case 1:
+                return 1;
+            case 2:
+                return 2;
+            case 3:
+                return 3;
+            case 4:
+                return 4;
+            case 5:
+                return 6;
+            case 6:
+            case 7:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Read a varint at a position.
+     *
+     * @param out out[0] receives the value
+     * @return Position after the varint
+     */
+    private int readVarint(ByteBuffer buffer, int pos, long[] out) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            int b = buffer.get(pos++) & 0xFF;
+            value = (value << 7) | (b & 0x7F);
+            if ((b & 0x80) == 0) {
+                out[0] = value;
+                return pos;
+            }
+        }
+        out[0] = (value << 8) | (buffer.get(pos++) & 0xFF);
+        return pos;
+    }
+
+    /**
+     * Read a varint, returning its value and storing the position after it in out[1].
+     */
+    private long peekVarint(ByteBuffer buffer, int pos, long[] out) {
+        out[1] = readVarint(buffer, pos, out);
+        return out[0];
+    }
+
+    private ByteBuffer readPage(int pageNumber) throws IOException {
+        return read((long) (pageNumber - 1) * pageSize, pageSize);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of database file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.dedinc.learnplay.storage.pack;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Offline compiler from JSON deck files to binary deck packs.
+ * Run by the {@code compileDeckPacks} Gradle task; can also be run by hand:
+ * <pre>
+ * java -cp &lt;classpath&gt; com.github.dedinc.learnplay.storage.pack.DeckPackCompiler &lt;input dir or .json&gt;... &lt;output dir&gt;
+ * </pre>
+ * Each deck becomes {@code <deckId>.lpk} in the output directory, and an {@code index.txt}
+ * listing the packs is written next to them for runtime discovery.
+ */
+public final class DeckPackCompiler {
+
+    public static final String INDEX_FILE = "index.txt";
+
+    private DeckPackCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: DeckPackCompiler <input dir or .json>... <output dir>");
+            System.exit(2);
+        }
+
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length - 1; i++) {
+            Path input = Paths.get(args[i]);
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.list(input)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().forEach(inputs::add);
+                }
+            } else {
+                inputs.add(input);
+            }
+        }
+
+        Path outputDir = Paths.get(args[args.length - 1]);
+        Files.createDirectories(outputDir);
+        List<String> packNames = compile(inputs, outputDir);
+        Files.write(outputDir.resolve(INDEX_FILE), packNames, StandardCharsets.UTF_8);
+        System.out.println("Compiled " + packNames.size() + " deck pack(s) into " + outputDir);
+    }
+
+    /**
+     * Compile JSON deck files into packs.
+     *
+     * @return File names of the written packs
+     */
+    public static List<String> compile(List<Path> inputs, Path outputDir) throws IOException {
+        DeckPackWriter writer = new DeckPackWriter();
+        List<String> packNames = new ArrayList<>();
+        for (Path input : inputs) {
+            Deck deck = readDeck(input);
+            String packName = deck.getId() + DeckPackFormat.EXTENSION;
+            long startTime = System.currentTimeMillis();
+            int size;
+            try (OutputStream out = Files.newOutputStream(outputDir.resolve(packName))) {
+                size = writer.write(deck, out);
+            }
+            System.out.printf("  %s: %d cards, %d -> %d bytes in %d ms%n", packName, deck.getCardCount(),
+                    Files.size(input), size, System.currentTimeMillis() - startTime);
+            packNames.add(packName);
+        }
+        return packNames;
+    }
+
+    private static Deck readDeck(Path input) throws IOException {
+        try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            JsonElement element = JsonParser.parseReader(reader);
+            if (!element.isJsonObject()) {
+                throw new IOException("Invalid deck file format: " + input);
+            }
+            JsonObject json = element.getAsJsonObject();
+            if (!json.has("id")) {
+                json.addProperty("id", input.getFileName().toString().replace(".json", ""));
+            }
+            return Deck.fromJson(json);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.dedinc.learnplay.storage.pack;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and primitive encodings shared by {@link DeckPackWriter} and {@link DeckPackReader}.
+ * <p>
+ * Layout of a pack (big-endian):
+ * <pre>
+ * int    magic "LPDK", short version, int header length (bytes after this field up to the first block)
+ * header deck id, name, description, enabled, category ID (optional), card count
+ *        string table: count, then length-prefixed UTF-8 strings
+ *        block index: count, then per block card count, compressed length, uncompressed length
+ * blocks deflate-compressed card records, back to back
+ * </pre>
+ * A card record is: id, question, answer (each a string reference), createdAt (long),
+ * tag count and tag references. A string reference is a varint: 0 means an inline
+ * string follows, n &gt; 0 means entry n - 1 of the string table.
+ */
+final class DeckPackFormat {
+
+    static final int MAGIC = 0x4C50444B; // "LPDK"
+    static final short VERSION = 1;
+    static final String EXTENSION = ".lpk";
+    static final int CARDS_PER_BLOCK = 512;
+
+    private DeckPackFormat() {
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in deck pack");
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.dedinc.learnplay.storage.pack;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads compiled deck packs (see {@link DeckPackFormat}).
+ * <p>
+ * Opening a pack reads only the header, string table and block index. Card blocks are
+ * decoded on demand, either one at a time ({@link #readBlock}) or all at once when a lazy
+ * deck created by {@link #toLazyDeck()} is first used. The pack is re-opened from its
+ * source for each read, so nothing but the header is kept in memory.
+ */
+public class DeckPackReader {
+
+    /**
+     * Opens a fresh stream positioned at the start of the pack.
+     */
+    public interface StreamSource {
+        InputStream open() throws IOException;
+    }
+
+    private final StreamSource source;
+    private final String name;
+    private final long dataOffset;
+
+    private final String deckId;
+    private final String deckName;
+    private final String description;
+    private final boolean enabled;
+    private final String categoryId;
+    private final int cardCount;
+    private final String[] strings;
+    private final int[] blockCardCounts;
+    private final int[] blockCompressedLengths;
+    private final int[] blockUncompressedLengths;
+    private final long[] blockOffsets; // relative to dataOffset
+
+    private DeckPackReader(StreamSource source, String name) throws IOException {
+        this.source = source;
+        this.name = name;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(source.open()))) {
+            if (in.readInt() != DeckPackFormat.MAGIC) {
+                throw new IOException("Not a deck pack: " + name);
+            }
+            short version = in.readShort();
+            if (version != DeckPackFormat.VERSION) {
+                throw new IOException("Unsupported deck pack version " + version + ": " + name);
+            }
+            int headerLength = in.readInt();
+            this.dataOffset = 10L + headerLength;
+
+            this.deckId = DeckPackFormat.readString(in);
+            this.deckName = DeckPackFormat.readString(in);
+            this.description = DeckPackFormat.readString(in);
+            this.enabled = in.readBoolean();
+            this.categoryId = in.readBoolean() ? DeckPackFormat.readString(in) : null;
+            this.cardCount = in.readInt();
+
+            this.strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = DeckPackFormat.readString(in);
+            }
+
+            int blockCount = in.readInt();
+            this.blockCardCounts = new int[blockCount];
+            this.blockCompressedLengths = new int[blockCount];
+            this.blockUncompressedLengths = new int[blockCount];
+            this.blockOffsets = new long[blockCount];
+            long offset = 0;
+            for (int i = 0; i < blockCount; i++) {
+                blockCardCounts[i] = in.readInt();
+                blockCompressedLengths[i] = in.readInt();
+                blockUncompressedLengths[i] = in.readInt();
+                blockOffsets[i] = offset;
+                offset += blockCompressedLengths[i];
+            }
+        }
+    }
+
+    /**
+     * Open a pack and read its header.
+     *
+     * @param name Name used in error messages (usually the file name)
+     */
+    public static DeckPackReader open(StreamSource source, String name) throws IOException {
+        return new DeckPackReader(source, name);
+    }
+
+    // Getters
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public String getDeckName() {
+        return deckName;
+    }
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Create a deck whose cards are decoded from this pack on first access.
+     */
+    public Deck toLazyDeck() {
+        return Deck.lazy(deckId, deckName, description, enabled, categoryId, cardCount, this::readAllCards);
+    }
+
+    /**
+     * Decode a single block of cards.
+     */
+    public List<Flashcard> readBlock(int block) throws IOException {
+        try (InputStream in = source.open()) {
+            in.skipNBytes(dataOffset + blockOffsets[block]);
+            List<Flashcard> cards = new ArrayList<>(blockCardCounts[block]);
+            decodeBlock(in, block, cards);
+            return cards;
+        }
+    }
+
+    /**
+     * Decode every block in order, reading the pack once.
+     */
+    public List<Flashcard> readAllCards() throws IOException {
+        List<Flashcard> cards = new ArrayList<>(cardCount);
+        try (InputStream in = new BufferedInputStream(source.open())) {
+            in.skipNBytes(dataOffset);
+            for (int block = 0; block < blockOffsets.length; block++) {
+                decodeBlock(in, block, cards);
+            }
+        }
+        return cards;
+    }
+
+    private void decodeBlock(InputStream in, int block, List<Flashcard> cards) throws IOException {
+        byte[] compressed = in.readNBytes(blockCompressedLengths[block]);
+        byte[] raw = new byte[blockUncompressedLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("Truncated block " + block + " in deck pack " + name);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in deck pack " + name, e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(raw));
+        for (int i = 0; i < blockCardCounts[block]; i++) {
+            String id = readReference(data);
+            String question = readReference(data);
+            String answer = readReference(data);
+            long createdAt = data.readLong();
+            String[] tags = new String[DeckPackFormat.readVarInt(data)];
+            for (int t = 0; t < tags.length; t++) {
+                tags[t] = strings[DeckPackFormat.readVarInt(data) - 1];
+            }
+            cards.add(new Flashcard(id, question, answer, Arrays.asList(tags), createdAt));
+        }
+    }
+
+    private String readReference(DataInputStream in) throws IOException {
+        int reference = DeckPackFormat.readVarInt(in);
+        return reference == 0 ? DeckPackFormat.readString(in) : strings[reference - 1];
+    }
+}
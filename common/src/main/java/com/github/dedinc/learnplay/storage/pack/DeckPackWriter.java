@@ -0,0 +1,142 @@
+package com.github.dedinc.learnplay.storage.pack;
+
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a deck as a compiled binary pack (see {@link DeckPackFormat}).
+ * Tags and any text used by more than one card go to the shared string table;
+ * cards are written in deflate-compressed blocks of {@link DeckPackFormat#CARDS_PER_BLOCK}.
+ */
+public class DeckPackWriter {
+
+    /**
+     * Write a deck pack.
+     *
+     * @return Number of bytes written
+     */
+    public int write(Deck deck, OutputStream output) throws IOException {
+        List<Flashcard> cards = deck.getCards();
+        Map<String, Integer> stringTable = buildStringTable(cards);
+
+        // Compress blocks first so the index can be written ahead of them
+        List<byte[]> blocks = new ArrayList<>();
+        List<int[]> blockIndex = new ArrayList<>(); // card count, compressed length, uncompressed length
+        for (int start = 0; start < cards.size(); start += DeckPackFormat.CARDS_PER_BLOCK) {
+            List<Flashcard> blockCards = cards.subList(start, Math.min(cards.size(), start + DeckPackFormat.CARDS_PER_BLOCK));
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            DataOutputStream rawOut = new DataOutputStream(raw);
+            for (Flashcard card : blockCards) {
+                writeCard(rawOut, card, stringTable);
+            }
+            rawOut.flush();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DeflaterOutputStream deflated = new DeflaterOutputStream(compressed, deflater)) {
+                raw.writeTo(deflated);
+            } finally {
+                deflater.end();
+            }
+            blocks.add(compressed.toByteArray());
+            blockIndex.add(new int[]{blockCards.size(), compressed.size(), raw.size()});
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerOut = new DataOutputStream(header);
+        DeckPackFormat.writeString(headerOut, deck.getId());
+        DeckPackFormat.writeString(headerOut, deck.getName());
+        DeckPackFormat.writeString(headerOut, deck.getDescription());
+        headerOut.writeBoolean(deck.isEnabled());
+        headerOut.writeBoolean(deck.getCategoryId() != null);
+        if (deck.getCategoryId() != null) {
+            DeckPackFormat.writeString(headerOut, deck.getCategoryId());
+        }
+        headerOut.writeInt(cards.size());
+
+        String[] strings = new String[stringTable.size()];
+        for (Map.Entry<String, Integer> entry : stringTable.entrySet()) {
+            strings[entry.getValue()] = entry.getKey();
+        }
+        headerOut.writeInt(strings.length);
+        for (String value : strings) {
+            DeckPackFormat.writeString(headerOut, value);
+        }
+
+        headerOut.writeInt(blockIndex.size());
+        for (int[] entry : blockIndex) {
+            headerOut.writeInt(entry[0]);
+            headerOut.writeInt(entry[1]);
+            headerOut.writeInt(entry[2]);
+        }
+        headerOut.flush();
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(DeckPackFormat.MAGIC);
+        out.writeShort(DeckPackFormat.VERSION);
+        out.writeInt(header.size());
+        header.writeTo(out);
+        for (byte[] block : blocks) {
+            out.write(block);
+        }
+        out.flush();
+        return out.size();
+    }
+
+    /**
+     * Collect tags and any text that appears more than once, numbered in first-use order.
+     */
+    private Map<String, Integer> buildStringTable(List<Flashcard> cards) {
+        Map<String, Integer> uses = new HashMap<>();
+        for (Flashcard card : cards) {
+            uses.merge(card.getQuestion(), 1, Integer::sum);
+            uses.merge(card.getAnswer(), 1, Integer::sum);
+        }
+
+        Map<String, Integer> table = new HashMap<>();
+        for (Flashcard card : cards) {
+            for (String text : new String[]{card.getQuestion(), card.getAnswer()}) {
+                if (uses.get(text) > 1) {
+                    table.putIfAbsent(text, table.size());
+                }
+            }
+            for (String tag : card.getTags()) {
+                table.putIfAbsent(tag, table.size());
+            }
+        }
+        return table;
+    }
+
+    private void writeCard(DataOutputStream out, Flashcard card, Map<String, Integer> stringTable) throws IOException {
+        writeReference(out, card.getId(), stringTable);
+        writeReference(out, card.getQuestion(), stringTable);
+        writeReference(out, card.getAnswer(), stringTable);
+        out.writeLong(card.getCreatedAt());
+        List<String> tags = card.getTags();
+        DeckPackFormat.writeVarInt(out, tags.size());
+        for (String tag : tags) {
+            DeckPackFormat.writeVarInt(out, stringTable.get(tag) + 1);
+        }
+    }
+
+    private void writeReference(DataOutputStream out, String value, Map<String, Integer> stringTable) throws IOException {
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            DeckPackFormat.writeVarInt(out, index + 1);
+        } else {
+            DeckPackFormat.writeVarInt(out, 0);
+            DeckPackFormat.writeString(out, value);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package com.github.dedinc.learnplay.storage.search;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.data.model.Deck;
+import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.storage.deck.CardPatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the questions, answers and tags of all loaded cards.
+ * <p>
+ * Text is split into lowercase words. Each query term matches a card if some word of the
+ * card starts with the term (looked up as a range of the sorted word map) or, for terms of
+ * at least {@link #GRAM_LENGTH} characters, contains it. Substring candidates come from a
+ * trigram index over the vocabulary rather than over cards, so each distinct word is
+ * indexed once no matter how many cards use it. All terms of a query must match; cards
+ * where every term matched a word prefix are ranked first.
+ * <p>
+ * The index also keeps a bitset of card ordinals per deck and per interned tag ID, so
+ * tag-filtered card sets ({@link #findCards}) never scan cards.
+ * <p>
+ * Updates are incremental (per card or per deck) and take a write lock; searches take a
+ * read lock, so they can run off the render thread through {@link #searchAsync}. Both may
+ * run on any thread.
+ */
+public class CardSearchIndex {
+
+    public static final int GRAM_LENGTH = 3;
+    private static final long SEARCH_DEBOUNCE_MILLIS = 120;
+
+    private static final ScheduledExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LearnPlay-Search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Cards by ordinal; null slots are free and reused
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<String, Map<String, Integer>> ordinalsByDeck = new HashMap<>();
+
+    // Vocabulary: word -> cards containing it; word IDs for the trigram index (null slots are free)
+    private final TreeMap<String, Word> words = new TreeMap<>();
+    private final List<Word> wordsById = new ArrayList<>();
+    private final Deque<Integer> freeWordIds = new ArrayDeque<>();
+    private final Map<String, PostingList> grams = new HashMap<>(); // trigram -> word IDs
+
+    // Card ordinals per deck and per tag ID
+    private final Map<String, BitSet> cardsByDeck = new HashMap<>();
+    private final List<BitSet> cardsByTag = new ArrayList<>();
+
+    // Debounced searches, one pending per owner
+    private final Map<Object, ScheduledFuture<?>> pendingSearches = new ConcurrentHashMap<>();
+
+    private static class Word {
+        final String text;
+        final int id;
+        final PostingList cards = new PostingList();
+
+        Word(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+    }
+
+    private static class Entry {
+        final String deckId;
+        final Flashcard card;
+        final Word[] words; // Distinct
+
+        Entry(String deckId, Flashcard card, Word[] words) {
+            this.deckId = deckId;
+            this.card = card;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Replace the whole index with the cards of the given decks.
+     * Decks whose cards are not loaded yet are skipped.
+     */
+    public void rebuild(Collection<Deck> decks) {
+        long startTime = System.currentTimeMillis();
+        int wordCount;
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            freeOrdinals.clear();
+            ordinalsByDeck.clear();
+            words.clear();
+            wordsById.clear();
+            freeWordIds.clear();
+            grams.clear();
+            cardsByDeck.clear();
+            cardsByTag.clear();
+            for (Deck deck : decks) {
+                if (!deck.isLoaded()) {
+                    continue; // Lazy decks are indexed when their cards are loaded
+                }
+                for (Flashcard card : deck.getCards()) {
+                    putCardLocked(deck.getId(), card);
+                }
+            }
+            wordCount = words.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LearnPlay.LOGGER.info("Indexed {} card(s) ({} words) for search in {} ms",
+                size(), wordCount, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Index a deck, replacing whatever was indexed for its ID before.
+     */
+    public void indexDeck(Deck deck) {
+        indexDeck(deck.getId(), deck.getCards());
+    }
+
+    /**
+     * Index the cards of a deck, replacing whatever was indexed for its ID before.
+     * Takes a copy of the deck's cards, so it can run off the thread that edits the deck.
+     */
+    public void indexDeck(String deckId, Collection<Flashcard> cards) {
+        lock.writeLock().lock();
+        try {
+            removeDeckLocked(deckId);
+            for (Flashcard card : cards) {
+                putCardLocked(deckId, card);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all cards of a deck from the index.
+     */
+    public void removeDeck(String deckId) {
+        lock.writeLock().lock();
+        try {
+            removeDeckLocked(deckId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a card, or update it if a card with the same ID is already indexed for the deck.
+     */
+    public void putCard(String deckId, Flashcard card) {
+        lock.writeLock().lock();
+        try {
+            putCardLocked(deckId, card);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a card from the index.
+     */
+    public void removeCard(String deckId, String cardId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> deckOrdinals = ordinalsByDeck.get(deckId);
+            Integer ordinal = deckOrdinals != null ? deckOrdinals.remove(cardId) : null;
+            if (ordinal != null) {
+                unindex(ordinal);
+                entries.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a card change that was made to a deck.
+     */
+    public void applyPatch(String deckId, CardPatch patch) {
+        if (patch.getOp() == CardPatch.Op.DELETE) {
+            removeCard(deckId, patch.getCardId());
+        } else {
+            putCard(deckId, patch.getCard());
+        }
+    }
+
+    /**
+     * Number of indexed cards.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size() - freeOrdinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param query  Free text; all words must match
+     * @param deckId Restrict results to this deck, or null for all decks
+     * @param limit  Maximum number of hits
+     * @return Hits, prefix matches first, then in index order
+     */
+    public List<SearchHit> search(String query, String deckId, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet prefixMatches = null;
+            BitSet allMatches = null;
+            for (String term : terms) {
+                BitSet termPrefix = matchPrefix(term);
+                BitSet termAll = (BitSet) termPrefix.clone();
+                if (term.length() >= GRAM_LENGTH) {
+                    termAll.or(matchSubstring(term));
+                }
+
+                if (prefixMatches == null) {
+                    prefixMatches = termPrefix;
+                    allMatches = termAll;
+                } else {
+                    prefixMatches.and(termPrefix);
+                    allMatches.and(termAll);
+                }
+                if (allMatches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(Math.min(limit, allMatches.cardinality()));
+            collect(prefixMatches, deckId, true, hits, limit);
+            allMatches.andNot(prefixMatches);
+            collect(allMatches, deckId, false, hits, limit);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the cards of the given decks that pass a tag filter, in index order.
+     * Only bitset operations and the matching cards are touched.
+     *
+     * @param filter  Tag condition
+     * @param deckIds Decks to take cards from
+     */
+    public List<Flashcard> findCards(TagFilter filter, Collection<String> deckIds) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = new BitSet(entries.size());
+            for (String deckId : deckIds) {
+                BitSet deckBits = cardsByDeck.get(deckId);
+                if (deckBits != null) {
+                    matches.or(deckBits);
+                }
+            }
+            filter.applyTo(matches, tagId -> tagId < cardsByTag.size() ? cardsByTag.get(tagId) : null);
+
+            List<Flashcard> cards = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                cards.add(entries.get(ordinal).card);
+            }
+            return cards;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search on the background search thread after a short debounce.
+     * A newer search from the same owner (e.g. the next keystroke in a search field)
+     * cancels one that has not started yet.
+     *
+     * @param owner Key identifying the search box
+     * @return Future completed with the hits, or cancelled if superseded
+     */
+    public CompletableFuture<List<SearchHit>> searchAsync(Object owner, String query, String deckId, int limit) {
+        CompletableFuture<List<SearchHit>> result = new CompletableFuture<>();
+        ScheduledFuture<?> task = SEARCH_EXECUTOR.schedule(() -> {
+            pendingSearches.remove(owner);
+            try {
+                result.complete(search(query, deckId, limit));
+            } catch (Exception e) {
+                LearnPlay.LOGGER.error("Search failed for query '{}'", query, e);
+                result.completeExceptionally(e);
+            }
+        }, SEARCH_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+
+        ScheduledFuture<?> previous = pendingSearches.put(owner, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        result.whenComplete((hits, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Check a single card against a query without the index (same matching rules).
+     * Used for decks that are not loaded into the index, such as a deck still being created.
+     */
+    public static boolean matches(Flashcard card, String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return false;
+        }
+        Set<String> cardWords = wordsOf(card);
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : cardWords) {
+                if (word.startsWith(term) || (term.length() >= GRAM_LENGTH && word.contains(term))) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BitSet matchPrefix(String term) {
+        BitSet bits = new BitSet(entries.size());
+        for (Word word : words.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            word.cards.addTo(bits);
+        }
+        return bits;
+    }
+
+    private BitSet matchSubstring(String term) {
+        // Intersect the trigram postings, smallest first, to find candidate words
+        List<PostingList> termGrams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            PostingList postings = grams.get(term.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return new BitSet();
+            }
+            termGrams.add(postings);
+        }
+        termGrams.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        BitSet wordIds = new BitSet(wordsById.size());
+        termGrams.get(0).addTo(wordIds);
+        for (int i = 1; i < termGrams.size() && !wordIds.isEmpty(); i++) {
+            termGrams.get(i).retainIn(wordIds);
+        }
+
+        // Verify the candidates and collect their cards
+        BitSet bits = new BitSet(entries.size());
+        for (int id = wordIds.nextSetBit(0); id >= 0; id = wordIds.nextSetBit(id + 1)) {
+            Word word = wordsById.get(id);
+            if (term.length() == GRAM_LENGTH || word.text.contains(term)) {
+                word.cards.addTo(bits);
+            }
+        }
+        return bits;
+    }
+
+    private void collect(BitSet matches, String deckId, boolean prefixMatch, List<SearchHit> hits, int limit) {
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && hits.size() < limit; ordinal = matches.nextSetBit(ordinal + 1)) {
+            Entry entry = entries.get(ordinal);
+            if (entry != null && (deckId == null || deckId.equals(entry.deckId))) {
+                hits.add(new SearchHit(entry.deckId, entry.card, prefixMatch));
+            }
+        }
+    }
+
+    private void putCardLocked(String deckId, Flashcard card) {
+        Map<String, Integer> deckOrdinals = ordinalsByDeck.computeIfAbsent(deckId, k -> new HashMap<>());
+        Integer ordinal = deckOrdinals.get(card.getId());
+        if (ordinal != null) {
+            unindex(ordinal); // Update in place so the card keeps its position
+        } else {
+            ordinal = freeOrdinals.isEmpty() ? entries.size() : freeOrdinals.pop();
+            if (ordinal == entries.size()) {
+                entries.add(null);
+            }
+            deckOrdinals.put(card.getId(), ordinal);
+        }
+
+        Set<String> cardWords = wordsOf(card);
+        Word[] entryWords = new Word[cardWords.size()];
+        int index = 0;
+        for (String text : cardWords) {
+            Word word = words.get(text);
+            if (word == null) {
+                word = addWord(text);
+            }
+            word.cards.add(ordinal);
+            entryWords[index++] = word;
+        }
+
+        entries.set(ordinal, new Entry(deckId, card, entryWords));
+
+        cardsByDeck.computeIfAbsent(deckId, k -> new BitSet()).set(ordinal);
+        for (int i = 0; i < card.getTagCount(); i++) {
+            int tagId = card.getTagId(i);
+            while (cardsByTag.size() <= tagId) {
+                cardsByTag.add(null);
+            }
+            BitSet tagBits = cardsByTag.get(tagId);
+            if (tagBits == null) {
+                tagBits = new BitSet();
+                cardsByTag.set(tagId, tagBits);
+            }
+            tagBits.set(ordinal);
+        }
+    }
+
+    private Word addWord(String text) {
+        int id = freeWordIds.isEmpty() ? wordsById.size() : freeWordIds.pop();
+        Word word = new Word(text, id);
+        if (id == wordsById.size()) {
+            wordsById.add(word);
+        } else {
+            wordsById.set(id, word);
+        }
+        words.put(text, word);
+        for (String gram : gramsOf(text)) {
+            grams.computeIfAbsent(gram, k -> new PostingList()).add(id);
+        }
+        return word;
+    }
+
+    private void removeWord(Word word) {
+        words.remove(word.text);
+        wordsById.set(word.id, null);
+        freeWordIds.push(word.id);
+        for (String gram : gramsOf(word.text)) {
+            PostingList postings = grams.get(gram);
+            if (postings != null) {
+                postings.remove(word.id);
+                if (postings.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void removeDeckLocked(String deckId) {
+        Map<String, Integer> deckOrdinals = ordinalsByDeck.remove(deckId);
+        if (deckOrdinals == null) {
+            return;
+        }
+        for (int ordinal : deckOrdinals.values()) {
+            unindex(ordinal);
+            entries.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+        cardsByDeck.remove(deckId);
+    }
+
+    /**
+     * Remove an entry's ordinal from all postings (the entry itself stays in place).
+     */
+    private void unindex(int ordinal) {
+        Entry entry = entries.get(ordinal);
+        if (entry == null) {
+            return;
+        }
+        for (Word word : entry.words) {
+            word.cards.remove(ordinal);
+            if (word.cards.isEmpty()) {
+                removeWord(word);
+            }
+        }
+
+        BitSet deckBits = cardsByDeck.get(entry.deckId);
+        if (deckBits != null) {
+            deckBits.clear(ordinal);
+        }
+        for (int i = 0; i < entry.card.getTagCount(); i++) {
+            cardsByTag.get(entry.card.getTagId(i)).clear(ordinal);
+        }
+    }
+
+    private static Set<String> wordsOf(Flashcard card) {
+        Set<String> cardWords = new LinkedHashSet<>();
+        cardWords.addAll(tokenize(card.getQuestion()));
+        cardWords.addAll(tokenize(card.getAnswer()));
+        for (String tag : card.getTags()) {
+            cardWords.addAll(tokenize(tag));
+        }
+        return cardWords;
+    }
+
+    private static Set<String> gramsOf(String word) {
+        Set<String> wordGrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            wordGrams.add(word.substring(i, i + GRAM_LENGTH));
+        }
+        return wordGrams;
+    }
+
+    /**
+     * Split text into lowercase words of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.dedinc.learnplay.storage.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted, duplicate-free list of card ordinals for one index key.
+ */
+class PostingList {
+
+    private int[] ordinals = new int[4];
+    private int size;
+
+    /**
+     * Add an ordinal, keeping the list sorted. Appending a new highest ordinal is O(1).
+     */
+    void add(int ordinal) {
+        int position = size > 0 && ordinals[size - 1] < ordinal ? -(size + 1) : Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position >= 0) {
+            return;
+        }
+        position = -(position + 1);
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+        ordinals[position] = ordinal;
+        size++;
+    }
+
+    void remove(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Set the bit of every ordinal in this list.
+     */
+    void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(ordinals[i]);
+        }
+    }
+
+    /**
+     * Clear every bit that is not in this list.
+     */
+    void retainIn(BitSet bits) {
+        int next = 0;
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            while (next < size && ordinals[next] < bit) {
+                next++;
+            }
+            if (next >= size || ordinals[next] != bit) {
+                bits.clear(bit);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.dedinc.learnplay.storage.search;
+
+import com.github.dedinc.learnplay.data.model.Flashcard;
+
+/**
+ * A card matched by a search, with the deck it belongs to.
+ */
+public class SearchHit {
+
+    private final String deckId;
+    private final Flashcard card;
+    private final boolean prefixMatch;
+
+    public SearchHit(String deckId, Flashcard card, boolean prefixMatch) {
+        this.deckId = deckId;
+        this.card = card;
+        this.prefixMatch = prefixMatch;
+    }
+
+    // Getters
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public Flashcard getCard() {
+        return card;
+    }
+
+    /**
+     * Whether every query term matched the start of a word (ranked before substring-only matches).
+     */
+    public boolean isPrefixMatch() {
+        return prefixMatch;
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.dedinc.learnplay.storage.search;
+
+import com.github.dedinc.learnplay.data.model.TagDictionary;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Tag condition for selecting cards: all required tags, none of the excluded tags.
+ * Tags are resolved to interned IDs once, so applying the filter to the per-tag card
+ * bitsets of {@link CardSearchIndex} is a few word-level bitset operations.
+ */
+public class TagFilter {
+
+    public static final TagFilter NONE = new TagFilter(new int[0], new int[0], false);
+
+    private final int[] requiredTagIds;
+    private final int[] excludedTagIds;
+    private final boolean unsatisfiable; // A required tag is not used by any card
+
+    private TagFilter(int[] requiredTagIds, int[] excludedTagIds, boolean unsatisfiable) {
+        this.requiredTagIds = requiredTagIds;
+        this.excludedTagIds = excludedTagIds;
+        this.unsatisfiable = unsatisfiable;
+    }
+
+    /**
+     * Create a filter from tag names.
+     */
+    public static TagFilter of(List<String> requiredTags, List<String> excludedTags) {
+        TagDictionary dictionary = TagDictionary.getInstance();
+        List<Integer> required = new ArrayList<>();
+        List<Integer> excluded = new ArrayList<>();
+        boolean unsatisfiable = false;
+        for (String tag : requiredTags) {
+            int id = dictionary.find(tag);
+            if (id < 0) {
+                unsatisfiable = true;
+            } else {
+                required.add(id);
+            }
+        }
+        for (String tag : excludedTags) {
+            int id = dictionary.find(tag);
+            if (id >= 0) {
+                excluded.add(id); // Unknown excluded tags exclude nothing
+            }
+        }
+        return new TagFilter(toArray(required), toArray(excluded), unsatisfiable);
+    }
+
+    /**
+     * Parse a filter such as "kanji -hard": words are required tags, words prefixed
+     * with '-' or '!' are excluded. Words may be separated by spaces or commas.
+     */
+    public static TagFilter parse(String text) {
+        if (text == null || text.isBlank()) {
+            return NONE;
+        }
+        List<String> required = new ArrayList<>();
+        List<String> excluded = new ArrayList<>();
+        for (String word : text.trim().split("[\\s,]+")) {
+            if (word.length() > 1 && (word.charAt(0) == '-' || word.charAt(0) == '!')) {
+                excluded.add(word.substring(1));
+            } else if (!word.isEmpty()) {
+                required.add(word);
+            }
+        }
+        return of(required, excluded);
+    }
+
+    /**
+     * Whether this filter accepts every card.
+     */
+    public boolean isEmpty() {
+        return requiredTagIds.length == 0 && excludedTagIds.length == 0 && !unsatisfiable;
+    }
+
+    /**
+     * Narrow a set of card ordinals in place.
+     *
+     * @param cards  Candidate card ordinals
+     * @param tagBits Card ordinals per tag ID (null if no card has the tag)
+     */
+    public void applyTo(BitSet cards, IntFunction<BitSet> tagBits) {
+        if (unsatisfiable) {
+            cards.clear();
+            return;
+        }
+        for (int tagId : requiredTagIds) {
+            BitSet bits = tagBits.apply(tagId);
+            if (bits == null) {
+                cards.clear();
+                return;
+            }
+            cards.and(bits);
+        }
+        for (int tagId : excludedTagIds) {
+            BitSet bits = tagBits.apply(tagId);
+            if (bits != null) {
+                cards.andNot(bits);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        return array;
+    }
+}
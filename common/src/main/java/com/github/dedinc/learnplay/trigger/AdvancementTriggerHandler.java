@@ -0,0 +1,48 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.advancement.AdvancementEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Advancement trigger handler that reviews when a player earns an advancement.
+ * Supports filtering by advancement id, path prefix or namespace (see {@link IdentifierWhitelist}),
+ * compiled once per config change. Advancements without a display (recipe unlocks and other
+ * hidden bookkeeping) are never counted.
+ * <p>
+ * Earned advancements are reported by {@code PlayerAdvancementTrackerMixin} on every platform.
+ */
+public class AdvancementTriggerHandler {
+
+    static final IdentifierWhitelist whitelist =
+            new IdentifierWhitelist(triggers -> triggers.advancementWhitelist, "[ADVANCEMENT TRIGGER]");
+
+    /**
+     * Called when a player has completed an advancement.
+     *
+     * @param player      The player who earned it
+     * @param advancement The advancement
+     */
+    public static void onAdvancementEarned(ServerPlayerEntity player, AdvancementEntry advancement) {
+        // Check if trigger is enabled
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.ADVANCEMENT)) {
+            return;
+        }
+
+        // Skip recipe unlocks and other advancements players never see
+        if (advancement.value().display().isEmpty()) {
+            return;
+        }
+
+        // Check if advancement is whitelisted (or whitelist is empty = all advancements)
+        if (!whitelist.contains(advancement.id())) {
+            return;
+        }
+
+        // Trigger the flashcard review
+        TriggerManager.getInstance().attemptTrigger(player, TriggerConfig.TriggerType.ADVANCEMENT);
+    }
+}
@@ -1,39 +1,35 @@
 package com.github.dedinc.learnplay.trigger;
 
-import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.config.TriggerConfig;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
-import net.minecraft.util.Identifier;
-
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Block place trigger handler that tracks block placements.
- * Supports filtering by block type through an exact-match whitelist.
+ * Supports filtering by block type through a whitelist of blocks, tags and namespaces
+ * (see {@link RegistryWhitelist}), compiled once per config change.
  * <p>
- * Platform-specific implementations should call {@link #onBlockPlaced(BlockState, PlayerEntity)}
- * when a block is placed by a player.
+ * Successful placements are reported by {@code BlockItemMixin} on every platform.
  */
 public class BlockPlaceTriggerHandler {
 
-    private static final Set<String> whitelistedBlockIds = new HashSet<>();
-    private static String lastWhitelistConfig = "";
+    static final RegistryWhitelist<Block> whitelist =
+            new RegistryWhitelist<>(Registries.BLOCK, triggers -> triggers.blockPlaceWhitelist, "[BLOCK PLACE TRIGGER]");
 
     /**
-     * Called when a block is placed. Platform-specific implementations should call this.
+     * Called when a block item has been placed.
      *
      * @param state  The block state that was placed
      * @param player The player who placed the block
      */
     public static void onBlockPlaced(BlockState state, PlayerEntity player) {
         // Check if trigger is enabled
-        LearnPlayConfig config = LearnPlayConfig.getInstance();
-        if (!config.triggers.enableBlockPlaceTrigger) {
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.BLOCK_PLACE)) {
             return;
         }
 
@@ -42,58 +38,17 @@ public class BlockPlaceTriggerHandler {
             return;
         }
 
-        // Update whitelist if config changed
-        String currentWhitelist = config.triggers.blockPlaceWhitelist;
-        if (!currentWhitelist.equals(lastWhitelistConfig)) {
-            updateWhitelist(currentWhitelist);
-            lastWhitelistConfig = currentWhitelist;
-        }
-
-        // Get block ID
-        Block block = state.getBlock();
-        Identifier blockId = Registries.BLOCK.getId(block);
-        if (blockId == null) {
+        // Counted from statistics instead (see StatTriggerSource)
+        if (triggers.useStatisticsTriggers && !player.getWorld().isClient()) {
             return;
         }
 
-        String blockPath = blockId.getPath();
-
         // Check if block is whitelisted (or whitelist is empty = all blocks)
-        if (!whitelistedBlockIds.isEmpty() && !whitelistedBlockIds.contains(blockPath)) {
-            return; // Not in whitelist, ignore
-        }
-
-        LearnPlay.LOGGER.info("[BLOCK PLACE TRIGGER] Player placed: {}", blockPath);
-
-        // Trigger the flashcard review
-        ClientTriggerManager triggerManager = ClientTriggerManager.getInstance();
-        triggerManager.attemptTrigger(TriggerConfig.TriggerType.BLOCK_PLACE);
-    }
-
-    /**
-     * Update the block whitelist from config string.
-     * Uses EXACT matching: "stone" matches only "stone", not "stone_bricks".
-     */
-    private static void updateWhitelist(String whitelistConfig) {
-        whitelistedBlockIds.clear();
-
-        if (whitelistConfig == null || whitelistConfig.trim().isEmpty()) {
-            // Empty whitelist = track all blocks
-            LearnPlay.LOGGER.info("[BLOCK PLACE TRIGGER] Whitelist empty - tracking all block placements");
+        if (!whitelist.contains(state.getBlock())) {
             return;
         }
 
-        // Parse comma-separated list
-        String[] blockNames = whitelistConfig.split(",");
-        for (String blockName : blockNames) {
-            String trimmed = blockName.trim();
-            if (!trimmed.isEmpty()) {
-                whitelistedBlockIds.add(trimmed);
-            }
-        }
-
-        LearnPlay.LOGGER.info("[BLOCK PLACE TRIGGER] Whitelist updated: {} blocks tracked", whitelistedBlockIds.size());
-        LearnPlay.LOGGER.debug("[BLOCK PLACE TRIGGER] Tracking blocks: {}", whitelistedBlockIds);
+        // Trigger the flashcard review
+        TriggerManager.dispatch(player, TriggerConfig.TriggerType.BLOCK_PLACE);
     }
 }
-
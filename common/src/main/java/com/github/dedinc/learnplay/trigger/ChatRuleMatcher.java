@@ -0,0 +1,233 @@
+package com.github.dedinc.learnplay.trigger;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Chat trigger rules compiled into one matcher.
+ * <p>
+ * Literal patterns are merged into a single Aho-Corasick automaton over lower-cased characters,
+ * so every message is scanned once however many literals there are. Patterns starting with
+ * {@code re:} are case-insensitive regular expressions, each with a reused {@link Matcher}.
+ * Matching works on the message characters directly and allocates nothing.
+ * <p>
+ * Each rule counts its own matches (at most one per message) and reports when its threshold is reached.
+ * Not thread-safe; used from the client thread only.
+ */
+class ChatRuleMatcher {
+
+    static final String REGEX_PREFIX = "re:";
+
+    private final int ruleCount;
+    private final int[] thresholds;
+    private final int[] counters;
+
+    // Per message: rule -> sequence number of the last message it matched (at most one count per message)
+    private final int[] matchedInMessage;
+    private int messageSequence;
+
+    // Literal automaton over rows of alphabetSize entries: delta[row + charClass] -> next row,
+    // outputs[row] -> rules ending there (null if none)
+    private final int alphabetSize;
+    private final int[] delta;
+    private final int[][] outputs;
+    private final int[] asciiClass = new int[128]; // by raw character, both cases share a class
+    private final char[] otherChars;   // sorted folded non-ASCII characters of the literals
+    private final int[] otherClasses;
+
+    // Regex rules
+    private final int[] regexRules;
+    private final Matcher[] regexMatchers;
+
+    /**
+     * @param patterns   Rule patterns (literal text, or {@code re:} followed by a regular expression)
+     * @param thresholds Matches needed before each rule fires (values below 1 count as 1)
+     * @param onInvalid  Called with the pattern and error of each regular expression that fails to compile
+     */
+    ChatRuleMatcher(List<String> patterns, int[] thresholds, BiConsumer<String, String> onInvalid) {
+        this.ruleCount = patterns.size();
+        this.thresholds = new int[ruleCount];
+        this.counters = new int[ruleCount];
+        this.matchedInMessage = new int[ruleCount];
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> literalRules = new ArrayList<>();
+        List<Integer> regexRuleList = new ArrayList<>();
+        List<Matcher> matcherList = new ArrayList<>();
+        for (int rule = 0; rule < ruleCount; rule++) {
+            this.thresholds[rule] = Math.max(1, thresholds[rule]);
+            String pattern = patterns.get(rule);
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            if (pattern.startsWith(REGEX_PREFIX)) {
+                try {
+                    Pattern regex = Pattern.compile(pattern.substring(REGEX_PREFIX.length()),
+                            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+                    regexRuleList.add(rule);
+                    matcherList.add(regex.matcher(""));
+                } catch (PatternSyntaxException e) {
+                    onInvalid.accept(pattern, e.getDescription());
+                }
+            } else {
+                literals.add(pattern);
+                literalRules.add(rule);
+            }
+        }
+        this.regexRules = regexRuleList.stream().mapToInt(Integer::intValue).toArray();
+        this.regexMatchers = matcherList.toArray(new Matcher[0]);
+
+        // Alphabet: class 0 is "any character not in a literal"
+        Set<Character> other = new TreeSet<>();
+        int nextClass = 1;
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                char c = fold(literal.charAt(i));
+                if (c < 128) {
+                    if (asciiClass[c] == 0) {
+                        asciiClass[c] = nextClass++;
+                        asciiClass[Character.toUpperCase(c)] = asciiClass[c];
+                    }
+                } else {
+                    other.add(c);
+                }
+            }
+        }
+        this.otherChars = new char[other.size()];
+        this.otherClasses = new int[other.size()];
+        int index = 0;
+        for (char c : other) {
+            otherChars[index] = c;
+            otherClasses[index++] = nextClass++;
+        }
+        this.alphabetSize = nextClass;
+
+        // Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Set<Integer>> outputSets = new ArrayList<>();
+        gotoTable.add(newRow());
+        outputSets.add(new TreeSet<>());
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            int state = 0;
+            for (int j = 0; j < literal.length(); j++) {
+                int charClass = classOf(fold(literal.charAt(j)));
+                if (gotoTable.get(state)[charClass] < 0) {
+                    gotoTable.get(state)[charClass] = gotoTable.size();
+                    gotoTable.add(newRow());
+                    outputSets.add(new TreeSet<>());
+                }
+                state = gotoTable.get(state)[charClass];
+            }
+            outputSets.get(state).add(literalRules.get(i));
+        }
+
+        // Failure links, breadth first, folded into a complete transition table
+        int states = gotoTable.size();
+        int[] fail = new int[states];
+        this.delta = new int[states * alphabetSize];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = gotoTable.get(0)[c];
+            if (next > 0) {
+                fail[next] = 0;
+                queue.add(next);
+            }
+            delta[c] = Math.max(next, 0);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputSets.get(state).addAll(outputSets.get(fail[state]));
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = gotoTable.get(state)[c];
+                if (next > 0) {
+                    fail[next] = delta[fail[state] * alphabetSize + c];
+                    queue.add(next);
+                    delta[state * alphabetSize + c] = next;
+                } else {
+                    delta[state * alphabetSize + c] = delta[fail[state] * alphabetSize + c];
+                }
+            }
+        }
+
+        // Store row offsets instead of state numbers so matching needs no multiplication
+        for (int i = 0; i < delta.length; i++) {
+            delta[i] *= alphabetSize;
+        }
+        this.outputs = new int[states * alphabetSize][];
+        for (int state = 0; state < states; state++) {
+            if (!outputSets.get(state).isEmpty()) {
+                outputs[state * alphabetSize] = outputSets.get(state).stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+    }
+
+    /**
+     * Match a message against all rules.
+     *
+     * @return Number of rules whose threshold was reached by this message
+     */
+    int onMessage(CharSequence message) {
+        int sequence = ++messageSequence;
+        int fired = 0;
+
+        int row = 0;
+        for (int i = 0, length = message.length(); i < length; i++) {
+            char c = message.charAt(i);
+            row = delta[row + (c < 128 ? asciiClass[c] : classOf(fold(c)))];
+            int[] rules = outputs[row];
+            if (rules != null) {
+                for (int rule : rules) {
+                    fired += count(rule, sequence);
+                }
+            }
+        }
+
+        for (int i = 0; i < regexRules.length; i++) {
+            if (matchedInMessage[regexRules[i]] != sequence && regexMatchers[i].reset(message).find()) {
+                fired += count(regexRules[i], sequence);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Number of rules, including any whose pattern was empty or invalid.
+     */
+    int getRuleCount() {
+        return ruleCount;
+    }
+
+    private int count(int rule, int sequence) {
+        if (matchedInMessage[rule] == sequence) {
+            return 0;
+        }
+        matchedInMessage[rule] = sequence;
+        if (++counters[rule] >= thresholds[rule]) {
+            counters[rule] = 0;
+            return 1;
+        }
+        return 0;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClass[c];
+        }
+        int index = Arrays.binarySearch(otherChars, c);
+        return index >= 0 ? otherClasses[index] : 0;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
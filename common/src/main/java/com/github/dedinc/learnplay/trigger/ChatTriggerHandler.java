@@ -1,17 +1,45 @@
 package com.github.dedinc.learnplay.trigger;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.config.TriggerConfig;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.text.Text;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Common chat trigger handler logic.
- * Checks if chat messages match configured patterns and triggers reviews.
+ * Matches chat messages against the configured rules and triggers reviews.
+ * <p>
+ * The rules are the main pattern ({@link TriggerConfig#chatTriggerPattern} with
+ * {@link TriggerConfig#chatTriggerThreshold}) followed by {@link TriggerConfig#chatTriggerRules}.
+ * They are compiled into a {@link ChatRuleMatcher} when first needed and again when a config
+ * change touches them (see {@link LearnPlayConfig#addChangeListener}); each rule counts towards
+ * its own threshold, and the counts survive config changes that leave the rules alone.
  */
 public class ChatTriggerHandler {
 
+    private static volatile Compiled compiled;
+
+    private static final class Compiled {
+        final List<String> patterns;
+        final List<Integer> thresholds;
+        final ChatRuleMatcher matcher;
+
+        Compiled(List<String> patterns, List<Integer> thresholds, ChatRuleMatcher matcher) {
+            this.patterns = patterns;
+            this.thresholds = thresholds;
+            this.matcher = matcher;
+        }
+    }
+
+    static {
+        LearnPlayConfig.addChangeListener(config -> onConfigChanged(config.triggers));
+    }
+
     /**
      * Called when a chat message is received (both single-player and multiplayer).
      *
@@ -24,40 +52,81 @@ public class ChatTriggerHandler {
             return;
         }
 
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.CHAT)) {
+            return;
+        }
+
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.player == null) {
             return;
         }
 
-        // Get the message as plain text
-        String messageText = message.getString();
+        Compiled current = compiled;
+        if (current == null) {
+            current = compileIfAbsent(triggers);
+        }
+        int fired = current.matcher.onMessage(message.getString());
+        ClientTriggerManager triggerManager = ClientTriggerManager.getInstance();
+        for (int i = 0; i < fired; i++) {
+            triggerManager.attemptTrigger(TriggerConfig.TriggerType.CHAT);
+        }
+    }
 
-        // Check if message matches pattern
-        if (matchesPattern(messageText)) {
-            LearnPlay.LOGGER.info("[CHAT TRIGGER] Pattern matched in message: {}", messageText);
+    /**
+     * Compile again if the rules changed. Rules not used yet are left for their first use.
+     */
+    private static synchronized void onConfigChanged(ConfigSnapshot.Triggers triggers) {
+        Compiled current = compiled;
+        if (current != null && (!current.patterns.equals(patterns(triggers))
+                || !current.thresholds.equals(thresholds(triggers)))) {
+            compiled = compile(triggers);
+        }
+    }
 
-            ClientTriggerManager triggerManager = ClientTriggerManager.getInstance();
-            triggerManager.attemptTrigger(TriggerConfig.TriggerType.CHAT);
+    private static synchronized Compiled compileIfAbsent(ConfigSnapshot.Triggers triggers) {
+        Compiled current = compiled;
+        if (current == null) { // Not compiled by another thread meanwhile
+            current = compile(triggers);
+            compiled = current;
         }
+        return current;
     }
 
     /**
-     * Check if a message matches the configured chat trigger pattern.
-     * Uses case-insensitive contains matching.
-     *
-     * @param message The message to check
-     * @return true if the message matches the pattern
+     * Compile the chat rules of a config snapshot.
      */
-    private static boolean matchesPattern(String message) {
-        LearnPlayConfig config = LearnPlayConfig.getInstance();
-        String pattern = config.triggers.chatTriggerPattern;
+    private static Compiled compile(ConfigSnapshot.Triggers triggers) {
+        List<String> patterns = patterns(triggers);
+        List<Integer> thresholds = thresholds(triggers);
+        ChatRuleMatcher matcher = new ChatRuleMatcher(patterns, thresholds.stream().mapToInt(Integer::intValue).toArray(),
+                (pattern, error) -> LearnPlay.LOGGER.warn("[CHAT TRIGGER] Ignoring invalid pattern '{}': {}", pattern, error));
+        LearnPlay.LOGGER.info("[CHAT TRIGGER] Compiled {} chat rules", patterns.size());
+        return new Compiled(patterns, thresholds, matcher);
+    }
 
-        if (pattern == null || pattern.isEmpty()) {
-            return false;
+    private static List<String> patterns(ConfigSnapshot.Triggers triggers) {
+        List<String> patterns = new ArrayList<>();
+        patterns.add(triggers.chatTriggerPattern);
+        for (TriggerConfig.ChatTriggerRule rule : triggers.chatTriggerRules) {
+            patterns.add(rule.pattern);
         }
+        return patterns;
+    }
 
-        // Case-insensitive contains check
-        return message.toLowerCase().contains(pattern.toLowerCase());
+    private static List<Integer> thresholds(ConfigSnapshot.Triggers triggers) {
+        List<Integer> thresholds = new ArrayList<>();
+        thresholds.add(triggers.chatTriggerThreshold);
+        for (TriggerConfig.ChatTriggerRule rule : triggers.chatTriggerRules) {
+            thresholds.add(rule.threshold);
+        }
+        return thresholds;
     }
-}
 
+    /**
+     * Drop the compiled rules and their match counts (e.g. when leaving a world).
+     */
+    public static synchronized void reset() {
+        compiled = null;
+    }
+}
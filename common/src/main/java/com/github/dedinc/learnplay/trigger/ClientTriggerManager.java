@@ -1,51 +1,70 @@
 package com.github.dedinc.learnplay.trigger;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.client.network.LearnPlayClientNetworking;
 import com.github.dedinc.learnplay.client.gui.NoCardsAvailableScreen;
 import com.github.dedinc.learnplay.client.gui.ReviewScreen;
+import com.github.dedinc.learnplay.client.hud.DueReviewNotifier;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.config.TriggerConfig;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.network.LearnPlayNetworking;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.scheduler.TickScheduler;
+import com.github.dedinc.learnplay.srs.DueReviewTracker;
 import com.github.dedinc.learnplay.srs.ReviewScheduler;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.player.PlayerEntity;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Client-side trigger manager that directly opens review screens.
- * This works for singleplayer and client-side without networking.
+ * Used on servers without LearnPlay; when the server runs it, triggers are
+ * forwarded to {@link TriggerManager} instead (see {@link LearnPlayClientNetworking}).
  * <p>
  * Tracks:
  * - Cooldowns (per-trigger and global)
  * - Counters for "every N times" triggers (deaths, kills, blocks)
  * - Timer intervals
+ * <p>
+ * State is kept per player UUID in a {@link PlayerTriggerState}, so handling an event
+ * that does not open a review allocates nothing. Events are accumulated during a tick and
+ * evaluated once at its end, so a burst of events opens at most one review.
+ * <p>
+ * Without a LearnPlay server, the client also watches its player's due cards in
+ * {@link DueReviewTracker} and shows a toast when scheduled cards become due.
  */
 public class ClientTriggerManager {
     private static ClientTriggerManager instance;
 
-    private final LearnPlayConfig config;
     private final ReviewScheduler scheduler;
     private final PlayerProgressManager progressManager;
 
-    // Cooldown tracking: playerName -> (triggerType -> lastTriggerTime)
-    private final Map<String, Map<TriggerConfig.TriggerType, Long>> cooldowns = new HashMap<>();
+    private static final TriggerConfig.TriggerType[] TRIGGER_TYPES = TriggerConfig.TriggerType.values();
 
-    // Global cooldown tracking: playerName -> lastAnyTriggerTime
-    private final Map<String, Long> globalCooldowns = new HashMap<>();
+    // Counters, cooldowns and timer per player
+    private final Map<UUID, PlayerTriggerState> playerStates = new ConcurrentHashMap<>();
 
-    // Timer tracking: playerName -> lastTimerTriggerTime
-    private final Map<String, Long> timerTracking = new HashMap<>();
+    // This tick's event counts, drained from the player's state
+    private final int[] tickCounts = new int[TRIGGER_TYPES.length];
 
-    // Counter tracking for "every N times" triggers
-    private final Map<String, Map<TriggerConfig.TriggerType, Integer>> counters = new HashMap<>();
+    // Player entity seen last tick, and the name watched in DueReviewTracker (null if the server watches)
+    private PlayerEntity trackedPlayer;
+    private String watchedPlayerName;
 
     private ClientTriggerManager() {
-        this.config = LearnPlayConfig.getInstance();
         this.scheduler = new ReviewScheduler();
         this.progressManager = PlayerProgressManager.getInstance();
+        DueReviewTracker.getInstance().addListener((playerName, summary) -> {
+            if (playerName.equals(watchedPlayerName)) {
+                DueReviewNotifier.show(summary.dueCards);
+            }
+        });
     }
 
     public static ClientTriggerManager getInstance() {
@@ -55,105 +74,122 @@ public class ClientTriggerManager {
         return instance;
     }
 
+    private PlayerTriggerState getState(UUID playerId) {
+        return playerStates.computeIfAbsent(playerId, id -> new PlayerTriggerState());
+    }
+
     /**
      * Check if a trigger can fire for the current player.
      */
-    public boolean canTrigger(String playerName, TriggerConfig.TriggerType triggerType) {
-        long currentTime = System.currentTimeMillis();
-
+    public boolean canTrigger(UUID playerId, TriggerConfig.TriggerType triggerType) {
         // Check if trigger is enabled in config
-        if (!config.triggers.isTriggerEnabled(triggerType)) {
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(triggerType)) {
             return false;
         }
 
-        // Check global cooldown
-        if (globalCooldowns.containsKey(playerName)) {
-            long lastGlobalTrigger = globalCooldowns.get(playerName);
-            long globalCooldownMillis = config.triggers.globalCooldownSeconds * 1000L;
-            if (currentTime - lastGlobalTrigger < globalCooldownMillis) {
-                return false;
-            }
-        }
+        // Check global and trigger-specific cooldowns
+        return !getState(playerId).isCoolingDown(triggerType, System.currentTimeMillis(),
+                triggers.getCooldownMillis(triggerType), triggers.globalCooldownSeconds * 1000L);
+    }
 
-        // Check trigger-specific cooldown
-        Map<TriggerConfig.TriggerType, Long> playerCooldowns = cooldowns.get(playerName);
-        if (playerCooldowns != null && playerCooldowns.containsKey(triggerType)) {
-            long lastTrigger = playerCooldowns.get(triggerType);
-            long cooldownMillis = config.triggers.getCooldownMillis(triggerType);
-            if (currentTime - lastTrigger < cooldownMillis) {
-                return false;
-            }
+    /**
+     * Record a trigger event for the current player.
+     * Events are only counted here; {@link #onClientTick()} evaluates them once per tick.
+     */
+    public void attemptTrigger(TriggerConfig.TriggerType triggerType) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.player == null || !LearnPlayConfig.current().triggers.isTriggerEnabled(triggerType)) {
+            return;
         }
-
-        return true;
+        getState(client.player.getUuid()).accumulate(triggerType, 1);
     }
 
     /**
-     * Attempt to trigger a review.
-     * Handles counters for "every N times" triggers.
-     *
-     * @return true if review was triggered, false if counter not reached or cooldown active
+     * Evaluate the trigger events of this tick: advance counters once per trigger type,
+     * check cooldowns and open at most one review.
+     * Called every client tick by platform code.
      */
-    public boolean attemptTrigger(TriggerConfig.TriggerType triggerType) {
+    public void onClientTick() {
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.player == null) {
-            return false;
+            return;
+        }
+        if (client.player != trackedPlayer) {
+            onPlayerChanged(client);
         }
 
-        String playerName = client.player.getName().getString();
-
-        // Check if we need to count (for "every N times" triggers)
-        int threshold = getThreshold(triggerType);
-        if (threshold > 1) {
-            // Increment counter
-            Map<TriggerConfig.TriggerType, Integer> playerCounters =
-                    counters.computeIfAbsent(playerName, k -> new HashMap<>());
+        UUID playerId = client.player.getUuid();
+        PlayerTriggerState state = getState(playerId);
+        if (!state.drainTickCounts(tickCounts)) {
+            return;
+        }
 
-            int count = playerCounters.getOrDefault(triggerType, 0) + 1;
-            playerCounters.put(triggerType, count);
+        // A LearnPlay server counts and picks cards itself; only report what it can't see
+        if (LearnPlayClientNetworking.isServerAuthoritative()) {
+            for (TriggerConfig.TriggerType triggerType : TRIGGER_TYPES) {
+                int count = tickCounts[triggerType.ordinal()];
+                if (count > 0 && LearnPlayNetworking.isClientReported(triggerType)) {
+                    LearnPlayClientNetworking.sendTrigger(triggerType, count);
+                }
+            }
+            return;
+        }
 
-            LearnPlay.LOGGER.info("[TRIGGER] {} counter: {}/{}", triggerType, count, threshold);
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        boolean reviewOpened = false;
+        for (TriggerConfig.TriggerType triggerType : TRIGGER_TYPES) {
+            int count = tickCounts[triggerType.ordinal()];
+            if (count == 0) {
+                continue;
+            }
 
-            // Check if threshold reached
-            if (count < threshold) {
-                LearnPlay.LOGGER.info("[TRIGGER] {} threshold not reached yet, waiting for {} more",
-                        triggerType, threshold - count);
-                return false; // Not yet, keep counting
+            // Check if we need to count (for "every N times" triggers)
+            int threshold = triggers.getThreshold(triggerType);
+            if (threshold > 1) {
+                if (!state.add(triggerType, count, threshold)) {
+                    continue; // Not yet, keep counting
+                }
+                LearnPlay.LOGGER.info("[TRIGGER] ✅ {} threshold reached! Attempting to open review...", triggerType);
             }
 
-            // Reset counter
-            playerCounters.put(triggerType, 0);
-            LearnPlay.LOGGER.info("[TRIGGER] ✅ {} threshold reached! Attempting to open review...", triggerType);
-        }
+            // One review per tick, and check cooldowns
+            if (reviewOpened || !canTrigger(playerId, triggerType)) {
+                LearnPlay.LOGGER.debug("[TRIGGER] {} cooldown still active, skipping", triggerType);
+                continue;
+            }
 
-        // Check cooldowns
-        if (!canTrigger(playerName, triggerType)) {
-            LearnPlay.LOGGER.info("[TRIGGER] {} cooldown still active, skipping", triggerType);
-            return false;
+            reviewOpened = triggerReview(playerId, client.player.getName().getString(), triggerType);
         }
-
-        // Trigger the review
-        return triggerReview(playerName, triggerType);
     }
 
     /**
-     * Get the threshold for a trigger type (how many times before it fires).
+     * Start watching the new player's due cards, unless a LearnPlay server does that for us.
      */
-    private int getThreshold(TriggerConfig.TriggerType triggerType) {
-        return switch (triggerType) {
-            case DEATH -> config.triggers.deathTriggerEveryNDeaths;
-            case ENTITY_KILL -> config.triggers.entityKillTriggerThreshold;
-            case BLOCK_BREAK -> config.triggers.blockBreakTriggerThreshold;
-            case BLOCK_PLACE -> config.triggers.blockPlaceTriggerThreshold;
-            case CHAT -> config.triggers.chatTriggerThreshold;
-            default -> 1; // TIMER and ADVANCEMENT trigger every time
-        };
+    private void onPlayerChanged(MinecraftClient client) {
+        trackedPlayer = client.player;
+        String playerName = client.player.getName().getString();
+        if (playerName.equals(watchedPlayerName)) {
+            return; // Respawned
+        }
+        stopWatching();
+        if (!LearnPlayClientNetworking.isServerAuthoritative()) {
+            watchedPlayerName = playerName;
+            DueReviewTracker.getInstance().watch(playerName, TickScheduler.client());
+        }
+    }
+
+    private void stopWatching() {
+        if (watchedPlayerName != null) {
+            DueReviewTracker.getInstance().unwatch(watchedPlayerName);
+            watchedPlayerName = null;
+        }
     }
 
     /**
      * Actually trigger the review - get card and open screen.
      */
-    private boolean triggerReview(String playerName, TriggerConfig.TriggerType triggerType) {
+    private boolean triggerReview(UUID playerId, String playerName, TriggerConfig.TriggerType triggerType) {
         MinecraftClient client = MinecraftClient.getInstance();
 
         // Get next card for review
@@ -163,7 +199,7 @@ public class ClientTriggerManager {
             // No cards available - show info screen
             ReviewScheduler.ReviewStats stats = scheduler.getReviewStats(playerName);
             LearnPlay.LOGGER.info("Trigger {} fired, but no cards available", triggerType);
-            client.execute(() -> client.setScreen(new NoCardsAvailableScreen(stats)));
+            client.setScreen(new NoCardsAvailableScreen(stats));
             return false;
         }
 
@@ -171,60 +207,45 @@ public class ClientTriggerManager {
         SRSState state = progressManager.getOrCreateCardState(playerName, card.getId());
 
         // Update cooldowns
-        recordTrigger(playerName, triggerType);
+        getState(playerId).recordFire(triggerType, System.currentTimeMillis());
 
         // Log the trigger
         ReviewScheduler.ReviewStats stats = scheduler.getReviewStats(playerName);
         LearnPlay.LOGGER.info("✨ Trigger {} activated! Opening review for card: {} | {}",
                 triggerType, card.getId(), stats);
 
-        // Open review screen on main thread
-        client.execute(() -> client.setScreen(new ReviewScreen(card, state, playerName)));
+        client.setScreen(new ReviewScreen(card, state, playerName));
 
         return true;
     }
 
-    /**
-     * Record that a trigger has fired (for cooldown tracking).
-     */
-    private void recordTrigger(String playerName, TriggerConfig.TriggerType triggerType) {
-        long currentTime = System.currentTimeMillis();
-
-        // Record trigger-specific cooldown
-        cooldowns.computeIfAbsent(playerName, k -> new HashMap<>())
-                .put(triggerType, currentTime);
-
-        // Record global cooldown
-        globalCooldowns.put(playerName, currentTime);
-    }
-
     /**
      * Check if timer trigger should fire for the current player.
      */
-    public boolean shouldTimerTrigger(String playerName) {
-        if (!config.triggers.isTriggerEnabled(TriggerConfig.TriggerType.TIMER)) {
+    public boolean shouldTimerTrigger(UUID playerId) {
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.TIMER)) {
             return false;
         }
 
-        long currentTime = System.currentTimeMillis();
-        long lastTrigger = timerTracking.getOrDefault(playerName, 0L);
-        long intervalMillis = config.triggers.timerIntervalMinutes * 60L * 1000L;
-
-        if (currentTime - lastTrigger >= intervalMillis) {
-            timerTracking.put(playerName, currentTime);
-            return true;
-        }
-
-        return false;
+        long intervalMillis = triggers.timerIntervalMinutes * 60L * 1000L;
+        return getState(playerId).pollTimer(System.currentTimeMillis(), intervalMillis);
     }
 
     /**
      * Clear all data for a player.
      */
-    public void clearPlayerData(String playerName) {
-        cooldowns.remove(playerName);
-        globalCooldowns.remove(playerName);
-        timerTracking.remove(playerName);
-        counters.remove(playerName);
+    public void clearPlayerData(UUID playerId) {
+        playerStates.remove(playerId);
+    }
+
+    /**
+     * Clear all player data (e.g. when the client disconnects from a world or server).
+     */
+    public void clearAll() {
+        playerStates.clear();
+        stopWatching();
+        trackedPlayer = null;
+        ChatTriggerHandler.reset();
     }
 }
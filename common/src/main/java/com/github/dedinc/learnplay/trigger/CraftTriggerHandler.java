@@ -0,0 +1,46 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Craft trigger handler that counts items taken out of crafting results
+ * (crafting table, furnaces, stonecutter, smithing table, ...).
+ * Supports filtering by item through a whitelist of items, tags and namespaces
+ * (see {@link RegistryWhitelist}), compiled once per config change.
+ * <p>
+ * Crafted items are reported by {@code ItemStackMixin} on every platform.
+ */
+public class CraftTriggerHandler {
+
+    static final RegistryWhitelist<Item> whitelist =
+            new RegistryWhitelist<>(Registries.ITEM, triggers -> triggers.craftWhitelist, "[CRAFT TRIGGER]");
+
+    /**
+     * Called when a player has crafted items.
+     *
+     * @param stack  The crafted stack
+     * @param player The player who crafted it
+     * @param amount Number of items crafted
+     */
+    public static void onItemCrafted(ItemStack stack, ServerPlayerEntity player, int amount) {
+        // Check if trigger is enabled
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.CRAFT)) {
+            return;
+        }
+
+        // Check if item is whitelisted (or whitelist is empty = all items)
+        if (!whitelist.contains(stack.getItem())) {
+            return;
+        }
+
+        // Every crafted item counts towards the threshold
+        TriggerManager.getInstance().attemptTrigger(player, TriggerConfig.TriggerType.CRAFT, amount);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+/**
+ * Dimension change trigger handler that reviews when a player arrives in another dimension.
+ * Supports filtering by destination dimension (see {@link IdentifierWhitelist}), compiled once
+ * per config change. Uses a cooldown so travelling back and forth doesn't trigger every time.
+ * <p>
+ * Platform-specific implementations should call {@link #onDimensionChanged(ServerPlayerEntity, RegistryKey)}
+ * after a player has changed dimension.
+ */
+public class DimensionChangeTriggerHandler {
+
+    static final IdentifierWhitelist whitelist =
+            new IdentifierWhitelist(triggers -> triggers.dimensionWhitelist, "[DIMENSION CHANGE TRIGGER]");
+
+    /**
+     * Called after a player has changed dimension. Platform-specific implementations should call this.
+     *
+     * @param player      The player who travelled
+     * @param destination The dimension the player arrived in
+     */
+    public static void onDimensionChanged(ServerPlayerEntity player, RegistryKey<World> destination) {
+        // Check if trigger is enabled
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.DIMENSION_CHANGE)) {
+            return;
+        }
+
+        // Check if destination is whitelisted (or whitelist is empty = all dimensions)
+        if (!whitelist.contains(destination.getValue())) {
+            return;
+        }
+
+        // Trigger the flashcard review
+        TriggerManager.getInstance().attemptTrigger(player, TriggerConfig.TriggerType.DIMENSION_CHANGE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Collection;
+
+/**
+ * Fishing trigger handler that counts catches.
+ * Supports filtering by caught item through a whitelist of items, tags and namespaces
+ * (see {@link RegistryWhitelist}), compiled once per config change. A catch counts once
+ * if any of its loot is whitelisted; reeling in an entity catches nothing and doesn't count.
+ * <p>
+ * Catches are reported by {@code FishingRodHookedCriterionMixin} on every platform.
+ */
+public class FishingTriggerHandler {
+
+    static final RegistryWhitelist<Item> whitelist =
+            new RegistryWhitelist<>(Registries.ITEM, triggers -> triggers.fishingWhitelist, "[FISHING TRIGGER]");
+
+    /**
+     * Called when a player reels in a fishing rod.
+     *
+     * @param player The player who was fishing
+     * @param loot   The items caught (empty if nothing was caught)
+     */
+    public static void onItemsFished(ServerPlayerEntity player, Collection<ItemStack> loot) {
+        // Check if trigger is enabled
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.FISHING)) {
+            return;
+        }
+
+        // Check if any caught item is whitelisted (or whitelist is empty = all items)
+        for (ItemStack stack : loot) {
+            if (!stack.isEmpty() && whitelist.contains(stack.getItem())) {
+                TriggerManager.getInstance().attemptTrigger(player, TriggerConfig.TriggerType.FISHING);
+                return;
+            }
+        }
+    }
+}
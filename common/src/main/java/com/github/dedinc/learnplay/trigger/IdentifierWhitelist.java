@@ -0,0 +1,150 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Whitelist of identifiers that are not entries of a static registry (advancements, dimensions),
+ * compiled from a config string.
+ * <p>
+ * The config is a comma-separated list of:
+ * <ul>
+ *   <li>{@code the_nether} or {@code minecraft:story/mine_stone} - one identifier (bare names are in the minecraft namespace)</li>
+ *   <li>{@code minecraft:story/*} - every identifier whose path starts with {@code story/}</li>
+ *   <li>{@code create:*} - every identifier in a namespace</li>
+ * </ul>
+ * An empty list matches everything. Unlike {@link RegistryWhitelist}, entries are not checked against
+ * a registry, so identifiers from datapacks loaded later match too.
+ * <p>
+ * The string is compiled on first use, and again only when the setting changes
+ * (see {@link LearnPlayConfig#addChangeListener}).
+ * {@link #contains} does no parsing, allocation, logging or change detection.
+ */
+public class IdentifierWhitelist {
+
+    private final Function<ConfigSnapshot.Triggers, String> setting;
+    private final String logPrefix;
+    private volatile Compiled compiled;
+
+    private static final class Compiled {
+        final String source;
+        final Set<Identifier> ids; // null = match everything
+        final String[] prefixNamespaces;
+        final String[] prefixPaths; // "" = whole namespace
+
+        Compiled(String source, Set<Identifier> ids, String[] prefixNamespaces, String[] prefixPaths) {
+            this.source = source;
+            this.ids = ids;
+            this.prefixNamespaces = prefixNamespaces;
+            this.prefixPaths = prefixPaths;
+        }
+    }
+
+    /**
+     * @param setting   The whitelist setting, e.g. {@code triggers -> triggers.advancementWhitelist}
+     * @param logPrefix Prefix for log messages, e.g. "[ADVANCEMENT TRIGGER]"
+     */
+    public IdentifierWhitelist(Function<ConfigSnapshot.Triggers, String> setting, String logPrefix) {
+        this.setting = setting;
+        this.logPrefix = logPrefix;
+        LearnPlayConfig.addChangeListener(config -> onConfigChanged(config.triggers));
+    }
+
+    /**
+     * Check whether an identifier is whitelisted.
+     *
+     * @param id The identifier to test
+     */
+    public boolean contains(Identifier id) {
+        Compiled current = compiled;
+        if (current == null) {
+            current = compileIfAbsent();
+        }
+        if (current.ids == null || current.ids.contains(id)) {
+            return true;
+        }
+        for (int i = 0; i < current.prefixNamespaces.length; i++) {
+            if (current.prefixNamespaces[i].equals(id.getNamespace()) && id.getPath().startsWith(current.prefixPaths[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop the compiled whitelist.
+     */
+    public void invalidate() {
+        compiled = null;
+    }
+
+    /**
+     * Compile again if the setting changed. A whitelist not used yet is left for its first use.
+     */
+    private synchronized void onConfigChanged(ConfigSnapshot.Triggers triggers) {
+        if (compiled != null && !Objects.equals(compiled.source, setting.apply(triggers))) {
+            compile();
+        }
+    }
+
+    private synchronized Compiled compileIfAbsent() {
+        Compiled current = compiled;
+        return current != null ? current : compile(); // Compiled by another thread meanwhile
+    }
+
+    private synchronized Compiled compile() {
+        String config = setting.apply(LearnPlayConfig.current().triggers);
+        Set<Identifier> ids = null;
+        List<String> namespaces = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        if (config != null && !config.trim().isEmpty()) {
+            ids = new HashSet<>();
+            for (String part : config.split(",")) {
+                String term = part.trim().toLowerCase(Locale.ROOT);
+                if (!term.isEmpty()) {
+                    addTerm(term, ids, namespaces, paths);
+                }
+            }
+            LearnPlay.LOGGER.info("{} Whitelist updated: {} identifiers, {} prefixes tracked", logPrefix, ids.size(), namespaces.size());
+        } else {
+            LearnPlay.LOGGER.info("{} Whitelist empty - tracking everything", logPrefix);
+        }
+
+        Compiled current = new Compiled(config, ids, namespaces.toArray(new String[0]), paths.toArray(new String[0]));
+        compiled = current;
+        return current;
+    }
+
+    private void addTerm(String term, Set<Identifier> ids, List<String> namespaces, List<String> paths) {
+        if (term.endsWith("*")) {
+            String prefix = term.substring(0, term.length() - 1);
+            int colon = prefix.indexOf(':');
+            String namespace = colon >= 0 ? prefix.substring(0, colon) : Identifier.DEFAULT_NAMESPACE;
+            String path = colon >= 0 ? prefix.substring(colon + 1) : prefix;
+            if (!Identifier.isNamespaceValid(namespace) || !Identifier.isPathValid(path)) {
+                LearnPlay.LOGGER.warn("{} ✗ Invalid prefix: '{}'", logPrefix, term);
+                return;
+            }
+            namespaces.add(namespace);
+            paths.add(path);
+            return;
+        }
+
+        Identifier id = Identifier.tryParse(term);
+        if (id == null) {
+            LearnPlay.LOGGER.warn("{} ✗ Invalid identifier: '{}' (use names like 'the_nether' or 'modid:name')", logPrefix, term);
+            return;
+        }
+        ids.add(id);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Level up trigger handler that counts experience levels gained.
+ * Levels spent (anvils, enchanting) are not subtracted.
+ * <p>
+ * Gained levels are reported by {@code PlayerEntityMixin} on every platform.
+ */
+public class LevelUpTriggerHandler {
+
+    /**
+     * Called when a player gains experience levels.
+     *
+     * @param player The player who levelled up
+     * @param levels Number of levels gained
+     */
+    public static void onLevelsGained(ServerPlayerEntity player, int levels) {
+        // Check if trigger is enabled
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.LEVEL_UP)) {
+            return;
+        }
+
+        // Every level counts towards the "every N levels" threshold
+        TriggerManager.getInstance().attemptTrigger(player, TriggerConfig.TriggerType.LEVEL_UP, levels);
+    }
+}
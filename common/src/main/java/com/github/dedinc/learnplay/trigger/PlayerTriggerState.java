@@ -0,0 +1,98 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.config.TriggerConfig;
+
+import java.util.Arrays;
+
+/**
+ * Trigger bookkeeping for one player: "every N times" counters, last fire time per
+ * trigger type, the last time any trigger fired (global cooldown) and the last timer fire.
+ * Events are first added to per-tick counts, which the managers drain and evaluate once per tick.
+ * Arrays are indexed by {@link TriggerConfig.TriggerType#ordinal()}, so updates never allocate.
+ * Times are in the owning manager's clock (epoch milliseconds on the client, server ticks on the server);
+ * 0 means never.
+ */
+class PlayerTriggerState {
+
+    private static final int TYPE_COUNT = TriggerConfig.TriggerType.values().length;
+
+    private final int[] counters = new int[TYPE_COUNT];
+    private final long[] lastFired = new long[TYPE_COUNT];
+    private long lastAnyFired;
+    private long lastTimerFired;
+
+    // Server only: the armed timer trigger, and the name watched in DueReviewTracker (see TriggerManager)
+    TimingWheel.Timeout timer;
+    String watchedName;
+
+    // Events seen during the current tick, not yet evaluated
+    private final int[] tickCounts = new int[TYPE_COUNT];
+    private boolean hasTickCounts;
+
+    /**
+     * Add events seen this tick. Thresholds and cooldowns are evaluated when drained.
+     */
+    void accumulate(TriggerConfig.TriggerType type, int count) {
+        int index = type.ordinal();
+        tickCounts[index] = (int) Math.min((long) tickCounts[index] + count, Integer.MAX_VALUE);
+        hasTickCounts = true;
+    }
+
+    /**
+     * Move this tick's event counts into {@code out} and reset them.
+     *
+     * @return false if there were no events this tick ({@code out} is left untouched)
+     */
+    boolean drainTickCounts(int[] out) {
+        if (!hasTickCounts) {
+            return false;
+        }
+        System.arraycopy(tickCounts, 0, out, 0, TYPE_COUNT);
+        Arrays.fill(tickCounts, 0);
+        hasTickCounts = false;
+        return true;
+    }
+
+    /**
+     * Count several occurrences of a threshold-based trigger at once (e.g. a statistics delta).
+     *
+     * @return true if the threshold was reached (the counter keeps the remainder)
+     */
+    boolean add(TriggerConfig.TriggerType type, int amount, int threshold) {
+        long count = (long) counters[type.ordinal()] + amount;
+        if (count >= threshold) {
+            counters[type.ordinal()] = (int) (count % threshold);
+            return true;
+        }
+        counters[type.ordinal()] = (int) count;
+        return false;
+    }
+
+    /**
+     * Check whether either the global or the trigger-specific cooldown is still running.
+     */
+    boolean isCoolingDown(TriggerConfig.TriggerType type, long now, long cooldown, long globalCooldown) {
+        return (lastAnyFired != 0 && now - lastAnyFired < globalCooldown)
+                || (lastFired[type.ordinal()] != 0 && now - lastFired[type.ordinal()] < cooldown);
+    }
+
+    /**
+     * Record that a trigger fired, starting its cooldown and the global one.
+     */
+    void recordFire(TriggerConfig.TriggerType type, long now) {
+        lastFired[type.ordinal()] = now;
+        lastAnyFired = now;
+    }
+
+    /**
+     * Check the timer interval and restart it if it has elapsed.
+     * Client only; the server arms {@link #timer} instead of polling.
+     */
+    boolean pollTimer(long now, long intervalMillis) {
+        if (now - lastTimerFired >= intervalMillis) {
+            lastTimerFired = now;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.LearnPlayConfig;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Whitelist of registry entries (blocks, entity types, ...) compiled from a config string.
+ * <p>
+ * The config is a comma-separated list of:
+ * <ul>
+ *   <li>{@code stone} or {@code create:andesite_casing} - one entry (bare names are in the minecraft namespace)</li>
+ *   <li>{@code #logs} or {@code #c:ores} - every entry in a tag</li>
+ *   <li>{@code create:*} - every entry in a namespace</li>
+ * </ul>
+ * An empty list matches everything.
+ * <p>
+ * The string is compiled into an identity set on first use, and again only when the setting
+ * changes (see {@link LearnPlayConfig#addChangeListener}) or tags are reloaded.
+ * {@link #contains} does no parsing, allocation, logging or change detection.
+ */
+public class RegistryWhitelist<T> {
+
+    // Every whitelist, recompiled on config changes and tag reloads
+    private static final List<RegistryWhitelist<?>> ALL = new CopyOnWriteArrayList<>();
+
+    static {
+        LearnPlayConfig.addChangeListener(config -> {
+            for (RegistryWhitelist<?> whitelist : ALL) {
+                whitelist.onConfigChanged(config.triggers);
+            }
+        });
+    }
+
+    private final Registry<T> registry;
+    private final Function<ConfigSnapshot.Triggers, String> setting;
+    private final String logPrefix;
+    private volatile Compiled<T> compiled;
+
+    private static final class Compiled<T> {
+        final String source;
+        final Set<T> entries; // null = match everything
+
+        Compiled(String source, Set<T> entries) {
+            this.source = source;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * @param registry  Registry the whitelisted entries come from
+     * @param setting   The whitelist setting, e.g. {@code triggers -> triggers.blockBreakWhitelist}
+     * @param logPrefix Prefix for log messages, e.g. "[BLOCK BREAK TRIGGER]"
+     */
+    public RegistryWhitelist(Registry<T> registry, Function<ConfigSnapshot.Triggers, String> setting, String logPrefix) {
+        this.registry = registry;
+        this.setting = setting;
+        this.logPrefix = logPrefix;
+        ALL.add(this);
+    }
+
+    /**
+     * Called by platform code after tags have been (re)loaded.
+     * Every whitelist that was compiled is compiled again, so tag entries are expanded again.
+     */
+    public static void onTagsReloaded() {
+        for (RegistryWhitelist<?> whitelist : ALL) {
+            whitelist.recompile();
+        }
+    }
+
+    /**
+     * Check whether an entry is whitelisted.
+     *
+     * @param value The entry to test
+     */
+    public boolean contains(T value) {
+        Compiled<T> current = compiled;
+        if (current == null) {
+            current = compileIfAbsent();
+        }
+        return current.entries == null || current.entries.contains(value);
+    }
+
+    /**
+     * Get the whitelisted entries, or the whole registry if the whitelist is empty.
+     * Returns the same instance until the whitelist is recompiled.
+     */
+    public Iterable<T> entries() {
+        Compiled<T> current = compiled;
+        if (current == null) {
+            current = compileIfAbsent();
+        }
+        return current.entries == null ? registry : current.entries;
+    }
+
+    /**
+     * Drop the compiled whitelist (e.g. when the player disconnects).
+     */
+    public void invalidate() {
+        compiled = null;
+    }
+
+    /**
+     * Compile again if the setting changed. Whitelists not used yet are left for their first use.
+     */
+    private synchronized void onConfigChanged(ConfigSnapshot.Triggers triggers) {
+        if (compiled != null && !Objects.equals(compiled.source, setting.apply(triggers))) {
+            compile();
+        }
+    }
+
+    /**
+     * Compile again if already compiled (e.g. after tags changed).
+     */
+    private synchronized void recompile() {
+        if (compiled != null) {
+            compile();
+        }
+    }
+
+    private synchronized Compiled<T> compileIfAbsent() {
+        Compiled<T> current = compiled;
+        return current != null ? current : compile(); // Compiled by another thread meanwhile
+    }
+
+    private synchronized Compiled<T> compile() {
+        String config = setting.apply(LearnPlayConfig.current().triggers);
+        Set<T> entries = null;
+        if (config != null && !config.trim().isEmpty()) {
+            entries = new ReferenceOpenHashSet<>();
+            for (String part : config.split(",")) {
+                String term = part.trim().toLowerCase(Locale.ROOT);
+                if (!term.isEmpty()) {
+                    addTerm(term, entries);
+                }
+            }
+            LearnPlay.LOGGER.info("{} Whitelist updated: {} entries tracked", logPrefix, entries.size());
+        } else {
+            LearnPlay.LOGGER.info("{} Whitelist empty - tracking everything", logPrefix);
+        }
+
+        Compiled<T> current = new Compiled<>(config, entries);
+        compiled = current;
+        return current;
+    }
+
+    private void addTerm(String term, Set<T> entries) {
+        if (term.startsWith("#")) {
+            Identifier tagId = Identifier.tryParse(term.substring(1));
+            if (tagId == null) {
+                LearnPlay.LOGGER.warn("{} ✗ Invalid tag: '{}'", logPrefix, term);
+                return;
+            }
+            TagKey<T> tag = TagKey.of(registry.getKey(), tagId);
+            if (registry.getEntryList(tag).isEmpty()) {
+                LearnPlay.LOGGER.warn("{} ✗ Unknown tag: '{}' (or tags not loaded yet)", logPrefix, term);
+                return;
+            }
+            for (RegistryEntry<T> entry : registry.iterateEntries(tag)) {
+                entries.add(entry.value());
+            }
+            return;
+        }
+
+        if (term.endsWith(":*")) {
+            String namespace = term.substring(0, term.length() - 2);
+            int before = entries.size();
+            for (T value : registry) {
+                Identifier id = registry.getId(value);
+                if (id != null && id.getNamespace().equals(namespace)) {
+                    entries.add(value);
+                }
+            }
+            if (entries.size() == before) {
+                LearnPlay.LOGGER.warn("{} ✗ No entries in namespace: '{}'", logPrefix, namespace);
+            }
+            return;
+        }
+
+        Identifier id = Identifier.tryParse(term);
+        if (id == null || !registry.containsId(id)) {
+            LearnPlay.LOGGER.warn("{} ✗ Unknown entry: '{}' (use names like 'stone' or 'modid:name')", logPrefix, term);
+            return;
+        }
+        entries.add(registry.get(id));
+    }
+}
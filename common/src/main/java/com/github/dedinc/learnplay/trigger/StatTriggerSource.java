@@ -0,0 +1,160 @@
+package com.github.dedinc.learnplay.trigger;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
+import com.github.dedinc.learnplay.config.TriggerConfig;
+import net.minecraft.block.Block;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.stat.ServerStatHandler;
+import net.minecraft.stat.Stat;
+import net.minecraft.stat.Stats;
+
+import java.util.*;
+
+/**
+ * Trigger source that reads the player's vanilla statistics instead of listening to events.
+ * <p>
+ * Every {@link TriggerConfig#statisticsSampleIntervalTicks} ticks it sums the whitelisted stats of each
+ * online player - blocks mined, block items used, entities killed and deaths - and feeds the increase since
+ * the last sample into {@link TriggerManager}'s threshold counters. Counts are therefore the same on every
+ * platform, and nothing runs per block or per entity.
+ * <p>
+ * The first sample of a player, and the first after a whitelist changes, only records a baseline.
+ */
+class StatTriggerSource {
+
+    private static final TriggerConfig.TriggerType[] TRACKED = {
+            TriggerConfig.TriggerType.BLOCK_BREAK,
+            TriggerConfig.TriggerType.BLOCK_PLACE,
+            TriggerConfig.TriggerType.ENTITY_KILL,
+            TriggerConfig.TriggerType.DEATH
+    };
+    private static final int TYPE_COUNT = TriggerConfig.TriggerType.values().length;
+
+    // Stat totals at the last sample per player, indexed by trigger ordinal (-1 = no baseline)
+    private final Map<UUID, long[]> lastTotals = new HashMap<>();
+
+    // Stats summed per trigger, and the whitelist entries they were resolved from
+    private final Stat<?>[][] stats = new Stat<?>[TYPE_COUNT][];
+    private final Object[] statSources = new Object[TYPE_COUNT];
+
+    private int ticksSinceSample;
+
+    /**
+     * Called every server tick while the statistics source is enabled.
+     */
+    void onServerTick(MinecraftServer server, TriggerManager manager, ConfigSnapshot.Triggers triggers) {
+        if (++ticksSinceSample < triggers.statisticsSampleIntervalTicks) {
+            return;
+        }
+        ticksSinceSample = 0;
+
+        for (TriggerConfig.TriggerType type : TRACKED) {
+            if (triggers.isTriggerEnabled(type)) {
+                resolve(type);
+            }
+        }
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            sample(player, manager, triggers);
+        }
+    }
+
+    private void sample(ServerPlayerEntity player, TriggerManager manager, ConfigSnapshot.Triggers triggers) {
+        long[] last = lastTotals.computeIfAbsent(player.getUuid(), id -> newBaseline());
+        ServerStatHandler statHandler = player.getStatHandler();
+
+        for (TriggerConfig.TriggerType type : TRACKED) {
+            int index = type.ordinal();
+            if (!triggers.isTriggerEnabled(type)) {
+                last[index] = -1; // Start from a fresh baseline when re-enabled
+                continue;
+            }
+
+            long total = 0;
+            for (Stat<?> stat : stats[index]) {
+                total += statHandler.getStat(stat);
+            }
+
+            long previous = last[index];
+            last[index] = total;
+            if (previous >= 0 && total > previous) {
+                manager.attemptTrigger(player, type, (int) Math.min(total - previous, Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    /**
+     * Resolve the stats for a trigger, again only when its whitelist was recompiled.
+     */
+    @SuppressWarnings("unchecked")
+    private void resolve(TriggerConfig.TriggerType type) {
+        Object source = switch (type) {
+            case BLOCK_BREAK -> BlockBreakTriggerHandler.whitelist.entries();
+            case BLOCK_PLACE -> BlockPlaceTriggerHandler.whitelist.entries();
+            case ENTITY_KILL -> EntityKillTriggerHandler.whitelist.entries();
+            default -> Stats.DEATHS;
+        };
+        int index = type.ordinal();
+        if (source == statSources[index]) {
+            return;
+        }
+
+        List<Stat<?>> resolved = new ArrayList<>();
+        switch (type) {
+            case BLOCK_BREAK -> {
+                for (Block block : (Iterable<Block>) source) {
+                    resolved.add(Stats.MINED.getOrCreateStat(block));
+                }
+            }
+            case BLOCK_PLACE -> {
+                // Several blocks share an item (torch and wall torch), count each item once
+                Set<Item> items = new LinkedHashSet<>();
+                for (Block block : (Iterable<Block>) source) {
+                    if (block.asItem() != Items.AIR) {
+                        items.add(block.asItem());
+                    }
+                }
+                for (Item item : items) {
+                    resolved.add(Stats.USED.getOrCreateStat(item));
+                }
+            }
+            case ENTITY_KILL -> {
+                for (EntityType<?> entityType : (Iterable<EntityType<?>>) source) {
+                    resolved.add(Stats.KILLED.getOrCreateStat(entityType));
+                }
+            }
+            default -> resolved.add(Stats.CUSTOM.getOrCreateStat(Stats.DEATHS));
+        }
+
+        stats[index] = resolved.toArray(new Stat<?>[0]);
+        statSources[index] = source;
+        for (long[] last : lastTotals.values()) {
+            last[index] = -1; // Totals over different stats are not comparable
+        }
+        LearnPlay.LOGGER.info("[STAT TRIGGER] {} sums {} statistics", type, stats[index].length);
+    }
+
+    private static long[] newBaseline() {
+        long[] totals = new long[TYPE_COUNT];
+        Arrays.fill(totals, -1);
+        return totals;
+    }
+
+    /**
+     * Forget a player's baseline (e.g. when they disconnect).
+     */
+    void clearPlayer(UUID playerId) {
+        lastTotals.remove(playerId);
+    }
+
+    /**
+     * Forget all baselines (e.g. when the statistics source is turned off).
+     */
+    void clear() {
+        lastTotals.clear();
+    }
+}
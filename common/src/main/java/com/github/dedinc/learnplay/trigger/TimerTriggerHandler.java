@@ -20,7 +20,7 @@ public class TimerTriggerHandler {
 
         ClientTriggerManager triggerManager = ClientTriggerManager.getInstance();
 
-        if (triggerManager.shouldTimerTrigger(client.player.getName().getString())) {
+        if (triggerManager.shouldTimerTrigger(client.player.getUuid())) {
             triggerManager.attemptTrigger(TriggerConfig.TriggerType.TIMER);
         }
     }
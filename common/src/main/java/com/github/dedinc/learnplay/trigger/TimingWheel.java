@@ -0,0 +1,154 @@
+package com.github.dedinc.learnplay.trigger;
+
+/**
+ * Hashed timing wheel keyed on ticks.
+ * <p>
+ * Timeouts are hashed into {@code slotCount} buckets by their deadline tick; each {@link #advance()}
+ * visits a single bucket and runs the timeouts that are due, skipping (and counting down) the ones
+ * that are whole rotations away. Scheduling and cancelling are O(1), and a tick only touches the
+ * timeouts sharing its bucket, so the cost per tick does not grow with the number of armed timers.
+ * <p>
+ * Not thread-safe; owned by the thread that advances it (the server thread for {@link TriggerManager}).
+ */
+public class TimingWheel {
+
+    // Buckets, plus one extra list holding the bucket being processed
+    private final Timeout[] slots;
+    private final int slotCount;
+    private final int mask;
+    private long tick;
+    private int size;
+
+    /**
+     * @param slotCount Number of buckets, rounded up to a power of two. Delays up to this many
+     *                  ticks need no rotations; longer delays are counted down one per rotation.
+     */
+    public TimingWheel(int slotCount) {
+        this.slotCount = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.slots = new Timeout[this.slotCount + 1];
+        this.mask = this.slotCount - 1;
+    }
+
+    /**
+     * Run {@code action} after {@code delayTicks} calls to {@link #advance()} (at least one).
+     *
+     * @return Handle that can cancel the timeout
+     */
+    public Timeout schedule(long delayTicks, Runnable action) {
+        long delay = Math.max(1, delayTicks);
+        Timeout timeout = new Timeout(this, tick + delay, action);
+        timeout.rounds = (delay - 1) / slotCount;
+        link(timeout, (int) (timeout.deadline & mask));
+        return timeout;
+    }
+
+    /**
+     * Move to the next tick and run the timeouts that became due.
+     * Actions may schedule or cancel timeouts, including rescheduling themselves.
+     */
+    public void advance() {
+        int slot = (int) (++tick & mask);
+
+        // Move the bucket aside, so timeouts scheduled by the actions wait for their own tick
+        // while cancelling one that is still to be processed here works as usual
+        Timeout processing = slots[slot];
+        slots[slot] = null;
+        slots[slotCount] = processing;
+        for (Timeout timeout = processing; timeout != null; timeout = timeout.next) {
+            timeout.slot = slotCount;
+        }
+
+        Timeout timeout;
+        while ((timeout = slots[slotCount]) != null) {
+            unlink(timeout);
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                link(timeout, slot);
+            } else {
+                timeout.action.run();
+            }
+        }
+    }
+
+    /**
+     * Number of {@link #advance()} calls so far.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Number of armed timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(Timeout timeout, int slot) {
+        Timeout head = slots[slot];
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        slots[slot] = timeout;
+        timeout.slot = slot;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else if (slots[timeout.slot] == timeout) {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.slot = -1;
+        size--;
+    }
+
+    /**
+     * A scheduled action.
+     */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable action;
+        private long rounds;
+        private int slot = -1;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, long deadline, Runnable action) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * Tick at which the action runs.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Check whether the action is still waiting to run.
+         */
+        public boolean isPending() {
+            return slot >= 0;
+        }
+
+        /**
+         * Stop the action from running. Does nothing if it already ran or was cancelled.
+         */
+        public void cancel() {
+            if (slot >= 0) {
+                wheel.unlink(this);
+            }
+        }
+    }
+}
@@ -1,43 +1,97 @@
 package com.github.dedinc.learnplay.trigger;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.config.ConfigSnapshot;
 import com.github.dedinc.learnplay.config.LearnPlayConfig;
 import com.github.dedinc.learnplay.config.TriggerConfig;
 import com.github.dedinc.learnplay.data.model.Flashcard;
+import com.github.dedinc.learnplay.data.model.SRSState;
+import com.github.dedinc.learnplay.network.LearnPlayNetworking;
+import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.scheduler.TickBudget;
+import com.github.dedinc.learnplay.scheduler.TickScheduler;
+import com.github.dedinc.learnplay.srs.DueReviewTracker;
 import com.github.dedinc.learnplay.srs.ReviewScheduler;
+import com.github.dedinc.learnplay.srs.SimpleIntervalAlgorithm;
+import dev.architectury.networking.NetworkManager;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
- * Manages trigger events for flashcard reviews.
- * Handles cooldowns, trigger logic, and coordination between different trigger types.
+ * Server-side trigger manager for flashcard reviews.
+ * Handles counters, cooldowns and card selection per player on the server thread,
+ * and sends the chosen card to the client (see {@link LearnPlayNetworking}).
+ * Trigger events are accumulated during a tick and evaluated together at its end,
+ * so at most one review per player is sent per tick however many events arrive.
+ * Evaluation and card selection run as a {@link TickScheduler} task within the tick budget;
+ * players left over when it runs out are handled in the next tick, with their events merged.
  * <p>
  * This is platform-agnostic - the common module defines the logic,
  * platform-specific modules register the actual event listeners.
+ * <p>
+ * State is kept per player UUID in a {@link PlayerTriggerState} and dropped when the player disconnects.
+ * Time is counted in server ticks: timer triggers are timeouts on a {@link TimingWheel} armed per player,
+ * so a tick only does work for the players whose timer expires, and cooldowns are tick deadlines.
+ * <p>
+ * Online players are watched in {@link DueReviewTracker}, with their wake-ups armed on the same wheel:
+ * they are told when scheduled cards become due, and a trigger for a player with nothing to review is
+ * answered without scanning their cards.
  */
 public class TriggerManager {
     private static TriggerManager instance;
 
-    private final LearnPlayConfig config;
+    // Wheel size in ticks (~51 seconds per rotation); longer timers wait whole rotations in their bucket
+    private static final int WHEEL_SLOTS = 1024;
+
+    private static final long TICKS_PER_SECOND = 20;
+
+    private static final TriggerConfig.TriggerType[] TRIGGER_TYPES = TriggerConfig.TriggerType.values();
+
     private final ReviewScheduler scheduler;
+    private final PlayerProgressManager progressManager;
+    private final DueReviewTracker dueTracker;
+
+    // Counters, cooldowns and timer per player
+    private final Map<UUID, PlayerTriggerState> playerStates = new HashMap<>();
+
+    // Players with trigger events this tick, evaluated at its end
+    private final Map<UUID, ServerPlayerEntity> triggeredPlayers = new LinkedHashMap<>();
+    private final int[] tickCounts = new int[TRIGGER_TYPES.length];
 
-    // Cooldown tracking: playerName -> (triggerType -> lastTriggerTime)
-    private final Map<String, Map<TriggerConfig.TriggerType, Long>> cooldowns = new HashMap<>();
+    // Players with a review to send at the end of this tick (one per player)
+    private final Map<UUID, TriggerConfig.TriggerType> pendingReviews = new LinkedHashMap<>();
 
-    // Global cooldown tracking: playerName -> lastAnyTriggerTime
-    private final Map<String, Long> globalCooldowns = new HashMap<>();
+    // Last card sent to each player; only a rating for that card is accepted
+    private final Map<UUID, String> openReviews = new HashMap<>();
 
-    // Timer tracking: playerName -> lastTimerTriggerTime
-    private final Map<String, Long> timerTracking = new HashMap<>();
+    // Statistics-based source for break/place/kill/death triggers (when enabled)
+    private final StatTriggerSource statSource = new StatTriggerSource();
 
-    // Counter tracking for threshold-based triggers
-    private final Map<String, Map<TriggerConfig.TriggerType, Integer>> counters = new HashMap<>();
+    // Server-tick clock for timers and cooldowns
+    private final TimingWheel wheel = new TimingWheel(WHEEL_SLOTS);
+
+    // Timer interval the player timers are armed with (0 = timer trigger disabled)
+    private long armedTimerTicks;
+
+    private MinecraftServer server;
+
+    // Deferred evaluation of triggeredPlayers and pendingReviews, queued on the server scheduler
+    private final TickScheduler tickScheduler = TickScheduler.server();
+    private boolean evaluationQueued;
 
     private TriggerManager() {
-        this.config = LearnPlayConfig.getInstance();
         this.scheduler = new ReviewScheduler();
+        this.progressManager = PlayerProgressManager.getInstance();
+        this.dueTracker = DueReviewTracker.getInstance();
+        dueTracker.addListener(this::onReviewsAvailable);
     }
 
     public static TriggerManager getInstance() {
@@ -47,155 +101,325 @@ public class TriggerManager {
         return instance;
     }
 
+    private PlayerTriggerState getState(UUID playerId) {
+        return playerStates.computeIfAbsent(playerId, id -> new PlayerTriggerState());
+    }
+
     /**
      * Check if a trigger can fire for a player.
      * Checks both trigger-specific cooldown and global cooldown.
      */
-    public boolean canTrigger(String playerName, TriggerConfig.TriggerType triggerType) {
-        long currentTime = System.currentTimeMillis();
-
+    public boolean canTrigger(UUID playerId, TriggerConfig.TriggerType triggerType) {
         // Check if trigger is enabled in config
-        if (!config.triggers.isTriggerEnabled(triggerType)) {
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        if (!triggers.isTriggerEnabled(triggerType)) {
             return false;
         }
 
-        // Check global cooldown
-        if (globalCooldowns.containsKey(playerName)) {
-            long lastGlobalTrigger = globalCooldowns.get(playerName);
-            long globalCooldownMillis = config.triggers.globalCooldownSeconds * 1000L;
-            if (currentTime - lastGlobalTrigger < globalCooldownMillis) {
-                LearnPlay.LOGGER.debug("Global cooldown active for player {} ({}ms remaining)",
-                        playerName, globalCooldownMillis - (currentTime - lastGlobalTrigger));
-                return false;
-            }
-        }
+        return !getState(playerId).isCoolingDown(triggerType, wheel.getTick(),
+                triggers.getCooldownMillis(triggerType) / 1000L * TICKS_PER_SECOND,
+                triggers.globalCooldownSeconds * TICKS_PER_SECOND);
+    }
 
-        // Check trigger-specific cooldown
-        Map<TriggerConfig.TriggerType, Long> playerCooldowns = cooldowns.get(playerName);
-        if (playerCooldowns != null && playerCooldowns.containsKey(triggerType)) {
-            long lastTrigger = playerCooldowns.get(triggerType);
-            long cooldownMillis = config.triggers.getCooldownMillis(triggerType);
-            if (currentTime - lastTrigger < cooldownMillis) {
-                LearnPlay.LOGGER.debug("Trigger cooldown active for player {} type {} ({}ms remaining)",
-                        playerName, triggerType, cooldownMillis - (currentTime - lastTrigger));
-                return false;
-            }
+    /**
+     * Record a trigger event for a player.
+     * Events are only counted here; thresholds and cooldowns are evaluated once at the end
+     * of the tick, and at most one review per player per tick is sent (see {@link #onServerTick}).
+     *
+     * @param player      The player the event happened to
+     * @param triggerType The type of trigger event
+     */
+    public void attemptTrigger(ServerPlayerEntity player, TriggerConfig.TriggerType triggerType) {
+        attemptTrigger(player, triggerType, 1);
+    }
+
+    /**
+     * Record several trigger events at once (e.g. a statistics delta).
+     *
+     * @param count Number of events to add to the "every N times" counter
+     * @see #attemptTrigger(ServerPlayerEntity, TriggerConfig.TriggerType)
+     */
+    public void attemptTrigger(ServerPlayerEntity player, TriggerConfig.TriggerType triggerType, int count) {
+        if (count <= 0 || !LearnPlayConfig.current().triggers.isTriggerEnabled(triggerType)) {
+            return;
         }
+        getState(player.getUuid()).accumulate(triggerType, count);
+        triggeredPlayers.putIfAbsent(player.getUuid(), player);
+    }
 
+    /**
+     * Scheduler task: evaluate the triggered players, then send their reviews, until the tick budget runs out.
+     *
+     * @return true once nothing is left
+     */
+    private boolean runEvaluation(TickBudget budget) {
+        if (!evaluateTriggers(budget) || !flushReviews(budget)) {
+            return false; // Resumed next tick
+        }
+        evaluationQueued = false;
         return true;
     }
 
     /**
-     * Trigger a review for a player.
-     * This is called by platform-specific trigger handlers.
+     * Evaluate the events each triggered player saw: advance counters once per trigger type,
+     * check cooldowns and queue at most one review per player.
      *
-     * @param player      The player to trigger review for
-     * @param triggerType The type of trigger that fired
-     * @return true if review was triggered, false otherwise
+     * @return true if every triggered player was evaluated
      */
-    public boolean triggerReview(ServerPlayerEntity player, TriggerConfig.TriggerType triggerType) {
-        String playerName = player.getName().getString();
-
-        if (!canTrigger(playerName, triggerType)) {
-            return false;
+    private boolean evaluateTriggers(TickBudget budget) {
+        long now = wheel.getTick();
+        Iterator<ServerPlayerEntity> iterator = triggeredPlayers.values().iterator();
+        while (iterator.hasNext()) {
+            ServerPlayerEntity player = iterator.next();
+            iterator.remove();
+            evaluatePlayer(player, now);
+            if (!budget.hasTimeLeft() && iterator.hasNext()) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        // Get next card for review
-        Flashcard card = scheduler.getNextCardForReview(playerName);
+    private void evaluatePlayer(ServerPlayerEntity player, long now) {
+        UUID playerId = player.getUuid();
+        PlayerTriggerState state = getState(playerId);
+        if (!state.drainTickCounts(tickCounts)) {
+            return;
+        }
 
-        if (card == null) {
-            LearnPlay.LOGGER.info("Trigger {} fired for player {}, but no cards available",
-                    triggerType, playerName);
-            return false;
+        // Players without LearnPlay on their client can't show the review
+        if (player.isRemoved() || !NetworkManager.canPlayerReceive(player, LearnPlayNetworking.REVIEW_CARD)) {
+            return;
         }
 
-        // Update cooldowns
-        recordTrigger(playerName, triggerType);
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
 
-        // Log the trigger
-        LearnPlay.LOGGER.info("Trigger {} fired for player {} - opening review for card {}",
-                triggerType, playerName, card.getId());
+        for (TriggerConfig.TriggerType triggerType : TRIGGER_TYPES) {
+            int count = tickCounts[triggerType.ordinal()];
+            if (count == 0) {
+                continue;
+            }
 
-        // Platform-specific code will handle actually opening the screen
-        // We'll use a callback system for this
-        onTriggerFired(player, card, triggerType);
+            // Check if we need to count (for "every N times" triggers)
+            int threshold = triggers.getThreshold(triggerType);
+            if (threshold > 1 && !state.add(triggerType, count, threshold)) {
+                continue;
+            }
 
-        return true;
+            // Check cooldowns, and coalesce with a review already queued
+            if (!canTrigger(playerId, triggerType) || pendingReviews.containsKey(playerId)) {
+                continue;
+            }
+
+            pendingReviews.put(playerId, triggerType);
+            state.recordFire(triggerType, now);
+        }
     }
 
     /**
-     * Record that a trigger has fired.
-     * Updates both trigger-specific and global cooldowns.
+     * Route a trigger detected by a platform event to the right manager.
+     * Server players go through the server pipeline; client-side players (singleplayer
+     * events seen on the client thread) go to {@link ClientTriggerManager}.
      */
-    private void recordTrigger(String playerName, TriggerConfig.TriggerType triggerType) {
-        long currentTime = System.currentTimeMillis();
+    public static void dispatch(PlayerEntity player, TriggerConfig.TriggerType triggerType) {
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            getInstance().attemptTrigger(serverPlayer, triggerType);
+        } else if (player != null && player.getWorld().isClient()) {
+            ClientTriggerManager.getInstance().attemptTrigger(triggerType);
+        }
+    }
 
-        // Record trigger-specific cooldown
-        cooldowns.computeIfAbsent(playerName, k -> new HashMap<>())
-                .put(triggerType, currentTime);
+    /**
+     * Called at the end of every server tick.
+     * Runs the timers that expire this tick, samples statistics if that source is enabled,
+     * and queues the evaluation of the tick's trigger events on the server {@link TickScheduler}.
+     */
+    public void onServerTick(MinecraftServer server) {
+        this.server = server;
+        ConfigSnapshot.Triggers triggers = LearnPlayConfig.current().triggers;
+        long timerTicks = getTimerIntervalTicks(triggers);
+        if (timerTicks != armedTimerTicks) {
+            rearmTimers(timerTicks);
+        }
+        wheel.advance();
 
-        // Record global cooldown
-        globalCooldowns.put(playerName, currentTime);
+        if (triggers.useStatisticsTriggers) {
+            statSource.onServerTick(server, this, triggers);
+        } else {
+            statSource.clear();
+        }
+        if (!evaluationQueued && (!triggeredPlayers.isEmpty() || !pendingReviews.isEmpty())) {
+            evaluationQueued = true;
+            tickScheduler.submit(TickScheduler.Priority.HIGH, this::runEvaluation);
+        }
     }
 
     /**
-     * Increment a counter for threshold-based triggers.
-     * Returns true if threshold is reached.
+     * Called when the server stops. Drops the events and reviews that were still waiting for evaluation.
      */
-    public boolean incrementCounter(String playerName, TriggerConfig.TriggerType triggerType, int threshold) {
-        Map<TriggerConfig.TriggerType, Integer> playerCounters =
-                counters.computeIfAbsent(playerName, k -> new HashMap<>());
+    public void onServerStopped() {
+        triggeredPlayers.clear();
+        pendingReviews.clear();
+        evaluationQueued = false;
+        server = null;
+    }
 
-        int count = playerCounters.getOrDefault(triggerType, 0) + 1;
-        playerCounters.put(triggerType, count);
+    /**
+     * Called when a player joins the server. Starts their timer trigger and due card wake-up.
+     */
+    public void onPlayerJoin(ServerPlayerEntity player) {
+        PlayerTriggerState state = getState(player.getUuid());
+        if (state.timer == null && armedTimerTicks > 0) {
+            armTimer(player.getUuid(), state);
+        }
+        state.watchedName = player.getName().getString();
+        dueTracker.watch(state.watchedName, tickScheduler, this::scheduleWakeup);
+    }
+
+    /**
+     * Arm a due card wake-up on the server tick clock. Called on the server thread, which owns the wheel.
+     */
+    private DueReviewTracker.Wakeup scheduleWakeup(long delayMillis, Runnable task) {
+        long delayTicks = (delayMillis * TICKS_PER_SECOND + 999) / 1000;
+        return wheel.schedule(delayTicks, task)::cancel;
+    }
 
-        if (count >= threshold) {
-            // Reset counter
-            playerCounters.put(triggerType, 0);
-            return true;
+    /**
+     * Tell a player's client that scheduled cards became due. Runs on the server thread.
+     */
+    private void onReviewsAvailable(String playerName, ReviewScheduler.DueSummary summary) {
+        ServerPlayerEntity player = server != null ? server.getPlayerManager().getPlayer(playerName) : null;
+        if (player != null && NetworkManager.canPlayerReceive(player, LearnPlayNetworking.REVIEWS_AVAILABLE)) {
+            NetworkManager.sendToPlayer(player, LearnPlayNetworking.REVIEWS_AVAILABLE,
+                    LearnPlayNetworking.writeReviewsAvailable(summary.dueCards));
         }
+    }
 
-        return false;
+    private long getTimerIntervalTicks(ConfigSnapshot.Triggers triggers) {
+        if (!triggers.isTriggerEnabled(TriggerConfig.TriggerType.TIMER)) {
+            return 0;
+        }
+        return Math.max(1, triggers.timerIntervalMinutes * 60L * TICKS_PER_SECOND);
     }
 
     /**
-     * Check if timer trigger should fire for a player.
-     * Updates timer tracking internally.
+     * Restart every player's timer after the interval changed or the timer trigger was toggled.
      */
-    public boolean shouldTimerTrigger(String playerName) {
-        if (!config.triggers.isTriggerEnabled(TriggerConfig.TriggerType.TIMER)) {
-            return false;
+    private void rearmTimers(long timerTicks) {
+        armedTimerTicks = timerTicks;
+        for (Map.Entry<UUID, PlayerTriggerState> entry : playerStates.entrySet()) {
+            PlayerTriggerState state = entry.getValue();
+            if (state.timer != null) {
+                state.timer.cancel();
+                state.timer = null;
+            }
+            if (timerTicks > 0) {
+                armTimer(entry.getKey(), state);
+            }
+        }
+    }
+
+    private void armTimer(UUID playerId, PlayerTriggerState state) {
+        state.timer = wheel.schedule(armedTimerTicks, () -> onTimerExpired(playerId));
+    }
+
+    private void onTimerExpired(UUID playerId) {
+        PlayerTriggerState state = playerStates.get(playerId);
+        ServerPlayerEntity player = server != null ? server.getPlayerManager().getPlayer(playerId) : null;
+        if (state == null || player == null) {
+            return; // Left without a disconnect callback; nothing to re-arm
         }
+        attemptTrigger(player, TriggerConfig.TriggerType.TIMER);
+        armTimer(playerId, state);
+    }
 
-        long currentTime = System.currentTimeMillis();
-        long lastTrigger = timerTracking.getOrDefault(playerName, 0L);
-        long intervalMillis = config.triggers.timerIntervalMinutes * 60L * 1000L;
+    /**
+     * Pick a card for every player with a queued review and send it.
+     *
+     * @return true if every queued review was handled
+     */
+    private boolean flushReviews(TickBudget budget) {
+        Iterator<Map.Entry<UUID, TriggerConfig.TriggerType>> iterator = pendingReviews.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, TriggerConfig.TriggerType> entry = iterator.next();
+            iterator.remove();
+            sendReview(entry.getKey(), entry.getValue());
+            if (!budget.hasTimeLeft() && iterator.hasNext()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void sendReview(UUID playerId, TriggerConfig.TriggerType triggerType) {
+        ServerPlayerEntity player = server != null ? server.getPlayerManager().getPlayer(playerId) : null;
+        if (player == null) {
+            return; // Left meanwhile
+        }
+
+        String playerName = player.getName().getString();
+        Flashcard card = dueTracker.getSummary(playerName).hasReviews()
+                ? scheduler.getNextCardForReview(playerName)
+                : null;
+        if (card == null) {
+            LearnPlay.LOGGER.info("Trigger {} fired for player {}, but no cards available",
+                    triggerType, playerName);
+            player.sendMessage(Text.literal("No flashcards due for review"), true);
+            return;
+        }
 
-        if (currentTime - lastTrigger >= intervalMillis) {
-            timerTracking.put(playerName, currentTime);
-            return true;
+        // Send the stored state without creating one; it is stored when the rating arrives
+        SRSState state = progressManager.getCardState(playerName, card.getId());
+        if (state == null) {
+            state = new SRSState(card.getId());
         }
 
-        return false;
+        openReviews.put(playerId, card.getId());
+        NetworkManager.sendToPlayer(player, LearnPlayNetworking.REVIEW_CARD,
+                LearnPlayNetworking.writeReviewCard(card, state));
+
+        LearnPlay.LOGGER.info("Trigger {} fired for player {} - sent review for card {}",
+                triggerType, playerName, card.getId());
     }
 
     /**
-     * Platform-specific callback when a trigger fires.
-     * Platform modules will override this to open the review screen.
+     * Apply a rating sent by a client for the last card the server sent it.
      */
-    protected void onTriggerFired(ServerPlayerEntity player, Flashcard card, TriggerConfig.TriggerType triggerType) {
-        // Platform-specific implementations will handle this
-        // For now, we just log it
-        LearnPlay.LOGGER.info("Trigger fired but no platform handler registered");
+    public void onReviewRated(ServerPlayerEntity player, String cardId, boolean remembered) {
+        String expectedCardId = openReviews.remove(player.getUuid());
+        if (!cardId.equals(expectedCardId)) {
+            LearnPlay.LOGGER.warn("Ignoring rating from {} for card {} that was not sent to them",
+                    player.getName().getString(), cardId);
+            return;
+        }
+
+        String playerName = player.getName().getString();
+        SRSState state = progressManager.getOrCreateCardState(playerName, cardId);
+        if (remembered) {
+            SimpleIntervalAlgorithm.remember(state);
+        } else {
+            SimpleIntervalAlgorithm.forgot(state);
+        }
+        progressManager.updateCardState(playerName, state);
+
+        LearnPlay.LOGGER.info("Player {} {} card {}: {}",
+                playerName, remembered ? "remembered" : "forgot", cardId, state);
     }
 
     /**
      * Clear all cooldowns for a player (e.g., when they disconnect).
      */
-    public void clearPlayerData(String playerName) {
-        cooldowns.remove(playerName);
-        globalCooldowns.remove(playerName);
-        timerTracking.remove(playerName);
-        counters.remove(playerName);
+    public void clearPlayerData(UUID playerId) {
+        PlayerTriggerState state = playerStates.remove(playerId);
+        if (state != null && state.timer != null) {
+            state.timer.cancel();
+        }
+        if (state != null && state.watchedName != null) {
+            dueTracker.unwatch(state.watchedName);
+        }
+        triggeredPlayers.remove(playerId);
+        pendingReviews.remove(playerId);
+        openReviews.remove(playerId);
+        statSource.clearPlayer(playerId);
     }
 }
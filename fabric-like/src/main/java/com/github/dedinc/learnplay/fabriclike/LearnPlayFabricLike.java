@@ -1,10 +1,32 @@
 package com.github.dedinc.learnplay.fabriclike;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.fabriclike.trigger.BlockBreakTriggerHandler;
+import com.github.dedinc.learnplay.fabriclike.trigger.DeathTriggerHandler;
+import com.github.dedinc.learnplay.fabriclike.trigger.DimensionChangeTriggerHandler;
+import com.github.dedinc.learnplay.fabriclike.trigger.EntityKillTriggerHandler;
+import com.github.dedinc.learnplay.trigger.RegistryWhitelist;
+import com.github.dedinc.learnplay.trigger.TriggerManager;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 
 public final class LearnPlayFabricLike {
     public static void init() {
         // Run our common setup.
         LearnPlay.init();
+
+        // Server-side trigger handlers (also run on the integrated server)
+        // Block placements, advancements, crafting, fishing and levels are reported by common mixins
+        DeathTriggerHandler.register();
+        EntityKillTriggerHandler.register();
+        BlockBreakTriggerHandler.register();
+        DimensionChangeTriggerHandler.register();
+
+        // Trigger whitelists expand #tags, so recompile them when tags change
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> RegistryWhitelist.onTagsReloaded());
+
+        // Drop per-player trigger state when a player leaves
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+                TriggerManager.getInstance().clearPlayerData(handler.player.getUuid()));
     }
 }
@@ -4,14 +4,17 @@ import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.client.LearnPlayPlatformClient;
 import com.github.dedinc.learnplay.client.gui.NoCardsAvailableScreen;
 import com.github.dedinc.learnplay.client.hud.StatsHudRenderer;
+import com.github.dedinc.learnplay.client.network.LearnPlayClientNetworking;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.data.model.SRSState;
-import com.github.dedinc.learnplay.fabriclike.trigger.DeathTriggerHandler;
 import com.github.dedinc.learnplay.fabriclike.trigger.TimerTriggerHandler;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
+import com.github.dedinc.learnplay.scheduler.TickScheduler;
 import com.github.dedinc.learnplay.srs.ReviewScheduler;
+import com.github.dedinc.learnplay.trigger.ClientTriggerManager;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
 import net.minecraft.client.MinecraftClient;
@@ -69,15 +72,22 @@ public class FabricLikeClientHelper {
             while (openConfigKey.wasPressed()) {
                 client.setScreen(new com.github.dedinc.learnplay.client.gui.ConfigScreen(client.currentScreen));
             }
+
+            // Evaluate trigger events seen this tick, then run deferred client work
+            ClientTriggerManager.getInstance().onClientTick();
+            TickScheduler.client().runTick();
         });
 
-        // Register trigger handlers
-        DeathTriggerHandler.register();
+        // Register client-side trigger handlers (server-side ones are registered in common init)
         TimerTriggerHandler.register();
         com.github.dedinc.learnplay.fabriclike.trigger.ChatTriggerHandler.register();
-        com.github.dedinc.learnplay.fabriclike.trigger.EntityKillTriggerHandler.register();
-        com.github.dedinc.learnplay.fabriclike.trigger.BlockBreakTriggerHandler.register();
-        com.github.dedinc.learnplay.fabriclike.trigger.BlockPlaceTriggerHandler.register();
+
+        // Receive reviews sent by a LearnPlay server
+        LearnPlayClientNetworking.init();
+
+        // Drop trigger counters and cooldowns when leaving a world or server
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) ->
+                ClientTriggerManager.getInstance().clearAll());
 
         // Register HUD renderer
         HudRenderCallback.EVENT.register((context, tickDelta) -> {
@@ -112,7 +122,7 @@ public class FabricLikeClientHelper {
         });
 
         LearnPlay.LOGGER.info("LearnPlay client initialized - Press 'I' to open review screen (SM-2 scheduled)");
-        LearnPlay.LOGGER.info("Trigger system active - Death, Timer, and Chat triggers registered");
+        LearnPlay.LOGGER.info("Trigger system active - Timer and Chat triggers registered");
         LearnPlay.LOGGER.info("HUD stats renderer registered");
         LearnPlay.LOGGER.info("Main menu button registered");
     }
@@ -1,17 +1,22 @@
 package com.github.dedinc.learnplay.fabriclike.trigger;
 
 import com.github.dedinc.learnplay.LearnPlay;
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.minecraft.entity.player.PlayerEntity;
 
 /**
  * Fabric-like death trigger event registration.
+ * Uses ServerLivingEntityEvents.AFTER_DEATH for server players; the client's own
+ * death is reported by ClientPlayNetworkHandlerMixin.
  */
 public class DeathTriggerHandler {
 
     public static void register() {
-        ClientTickEvents.END_CLIENT_TICK.register(client ->
-                com.github.dedinc.learnplay.trigger.DeathTriggerHandler.onClientTick()
-        );
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
+            if (entity instanceof PlayerEntity player) {
+                com.github.dedinc.learnplay.trigger.DeathTriggerHandler.onPlayerDied(player);
+            }
+        });
 
         LearnPlay.LOGGER.info("Registered death trigger handler");
     }
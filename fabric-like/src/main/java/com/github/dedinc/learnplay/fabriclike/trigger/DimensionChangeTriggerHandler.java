@@ -0,0 +1,20 @@
+package com.github.dedinc.learnplay.fabriclike.trigger;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+
+/**
+ * Fabric-like dimension change trigger event registration.
+ * Uses ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD to track dimension changes.
+ */
+public class DimensionChangeTriggerHandler {
+
+    public static void register() {
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+            // Call the common handler
+            com.github.dedinc.learnplay.trigger.DimensionChangeTriggerHandler.onDimensionChanged(player, destination.getRegistryKey());
+        });
+
+        LearnPlay.LOGGER.info("Registered dimension change trigger handler (Fabric)");
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.dedinc.learnplay.forgelike.trigger;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+/**
+ * Forge-like dimension change trigger handler.
+ * This is a wrapper that platform-specific implementations can call.
+ * <p>
+ * For Forge/NeoForge: Register PlayerEvent.PlayerChangedDimensionEvent and call onDimensionChanged()
+ */
+public class DimensionChangeTriggerHandler {
+
+    /**
+     * Called after a player has changed dimension. Platform-specific code should call this from their event.
+     *
+     * @param player      The player who travelled
+     * @param destination The dimension the player arrived in
+     */
+    public static void onDimensionChanged(PlayerEntity player, RegistryKey<World> destination) {
+        // Forward to common handler (the event only fires on the logical server)
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            com.github.dedinc.learnplay.trigger.DimensionChangeTriggerHandler.onDimensionChanged(serverPlayer, destination);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.github.dedinc.learnplay.forge;
 
 import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.forge.client.LearnPlayForgeClient;
+import com.github.dedinc.learnplay.trigger.TriggerManager;
 import dev.architectury.platform.forge.EventBuses;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.fml.loading.FMLEnvironment;
@@ -17,6 +20,10 @@ public final class LearnPlayForge {
         // Run our common setup.
         LearnPlay.init();
 
+        // Drop per-player trigger state when a player leaves
+        MinecraftForge.EVENT_BUS.addListener((PlayerEvent.PlayerLoggedOutEvent event) ->
+                TriggerManager.getInstance().clearPlayerData(event.getEntity().getUuid()));
+
         // Initialize client-side code only on client
         if (FMLEnvironment.dist == Dist.CLIENT) {
             LearnPlayForgeClient.init();
@@ -0,0 +1,51 @@
+package com.github.dedinc.learnplay.forge;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Gameplay events that happen on the logical server (dedicated or integrated).
+ * Registered on both dists so triggers work on dedicated servers.
+ */
+@Mod.EventBusSubscriber(modid = LearnPlay.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class LearnPlayForgeEvents {
+
+    @SubscribeEvent
+    public static void onLivingDeath(net.minecraftforge.event.entity.living.LivingDeathEvent event) {
+        // Forward to forge-like handlers
+        if (event.getEntity() instanceof net.minecraft.entity.player.PlayerEntity player) {
+            com.github.dedinc.learnplay.forgelike.trigger.DeathTriggerHandler.onPlayerDied(player);
+        }
+        com.github.dedinc.learnplay.forgelike.trigger.EntityKillTriggerHandler.onEntityKilled(
+                event.getEntity(),
+                event.getSource()
+        );
+    }
+
+    @SubscribeEvent
+    public static void onBlockBreak(net.minecraftforge.event.level.BlockEvent.BreakEvent event) {
+        // Forward to forge-like handler
+        if (event.getPlayer() != null) {
+            com.github.dedinc.learnplay.forgelike.trigger.BlockBreakTriggerHandler.onBlockBroken(
+                    event.getState(),
+                    event.getPlayer()
+            );
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(net.minecraftforge.event.entity.player.PlayerEvent.PlayerChangedDimensionEvent event) {
+        // Forward to forge-like handler
+        com.github.dedinc.learnplay.forgelike.trigger.DimensionChangeTriggerHandler.onDimensionChanged(
+                event.getEntity(),
+                event.getTo()
+        );
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(net.minecraftforge.event.TagsUpdatedEvent event) {
+        // Trigger whitelists expand #tags, so recompile them when tags change
+        com.github.dedinc.learnplay.trigger.RegistryWhitelist.onTagsReloaded();
+    }
+}
@@ -4,6 +4,7 @@ import com.github.dedinc.learnplay.LearnPlay;
 import com.github.dedinc.learnplay.client.LearnPlayPlatformClient;
 import com.github.dedinc.learnplay.client.gui.NoCardsAvailableScreen;
 import com.github.dedinc.learnplay.client.hud.StatsHudRenderer;
+import com.github.dedinc.learnplay.client.network.LearnPlayClientNetworking;
 import com.github.dedinc.learnplay.data.model.Flashcard;
 import com.github.dedinc.learnplay.data.model.SRSState;
 import com.github.dedinc.learnplay.player.PlayerProgressManager;
@@ -36,6 +37,9 @@ public class LearnPlayForgeClient {
 
     public static void init() {
         reviewScheduler = new ReviewScheduler();
+
+        // Receive reviews sent by a LearnPlay server
+        LearnPlayClientNetworking.init();
         LearnPlay.LOGGER.info("LearnPlay Forge client initialized - Press 'I' to open review screen (SM-2 scheduled)");
     }
 
@@ -88,41 +92,16 @@ public class LearnPlayForgeClient {
                 }
 
                 // Run trigger handlers
-                com.github.dedinc.learnplay.forgelike.trigger.DeathTriggerHandler.onClientTick();
                 com.github.dedinc.learnplay.forgelike.trigger.TimerTriggerHandler.onClientTick();
+                com.github.dedinc.learnplay.trigger.ClientTriggerManager.getInstance().onClientTick();
+                com.github.dedinc.learnplay.scheduler.TickScheduler.client().runTick();
             }
         }
 
         @SubscribeEvent
-        public static void onLivingDeath(net.minecraftforge.event.entity.living.LivingDeathEvent event) {
-            // Forward to forge-like handler
-            com.github.dedinc.learnplay.forgelike.trigger.EntityKillTriggerHandler.onEntityKilled(
-                    event.getEntity(),
-                    event.getSource()
-            );
-        }
-
-        @SubscribeEvent
-        public static void onBlockBreak(net.minecraftforge.event.level.BlockEvent.BreakEvent event) {
-            // Forward to forge-like handler
-            if (event.getPlayer() != null) {
-                com.github.dedinc.learnplay.forgelike.trigger.BlockBreakTriggerHandler.onBlockBroken(
-                        event.getState(),
-                        event.getPlayer()
-                );
-            }
-        }
-
-        @SubscribeEvent
-        public static void onBlockPlace(net.minecraftforge.event.level.BlockEvent.EntityPlaceEvent event) {
-            // Forward to forge-like handler
-            // Only track player placements
-            if (event.getEntity() instanceof net.minecraft.entity.player.PlayerEntity player) {
-                com.github.dedinc.learnplay.forgelike.trigger.BlockPlaceTriggerHandler.onBlockPlaced(
-                        event.getPlacedBlock(),
-                        player
-                );
-            }
+        public static void onLoggingOut(net.minecraftforge.client.event.ClientPlayerNetworkEvent.LoggingOut event) {
+            // Drop trigger counters and cooldowns when leaving a world or server
+            com.github.dedinc.learnplay.trigger.ClientTriggerManager.getInstance().clearAll();
         }
 
         @SubscribeEvent
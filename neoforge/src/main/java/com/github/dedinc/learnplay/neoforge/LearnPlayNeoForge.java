@@ -1,12 +1,19 @@
 package com.github.dedinc.learnplay.neoforge;
 
 import com.github.dedinc.learnplay.LearnPlay;
+import com.github.dedinc.learnplay.trigger.TriggerManager;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 
 @Mod(LearnPlay.MOD_ID)
 public final class LearnPlayNeoForge {
     public LearnPlayNeoForge() {
         // Run our common setup.
         LearnPlay.init();
+
+        // Drop per-player trigger state when a player leaves
+        NeoForge.EVENT_BUS.addListener((PlayerEvent.PlayerLoggedOutEvent event) ->
+                TriggerManager.getInstance().clearPlayerData(event.getEntity().getUuid()));
     }
 }
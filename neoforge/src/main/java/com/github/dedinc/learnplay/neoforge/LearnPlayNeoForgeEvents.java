@@ -0,0 +1,51 @@
+package com.github.dedinc.learnplay.neoforge;
+
+import com.github.dedinc.learnplay.LearnPlay;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod;
+
+/**
+ * Gameplay events that happen on the logical server (dedicated or integrated).
+ * Registered on both dists so triggers work on dedicated servers.
+ */
+@Mod.EventBusSubscriber(modid = LearnPlay.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class LearnPlayNeoForgeEvents {
+
+    @SubscribeEvent
+    public static void onLivingDeath(net.neoforged.neoforge.event.entity.living.LivingDeathEvent event) {
+        // Forward to forge-like handlers
+        if (event.getEntity() instanceof net.minecraft.entity.player.PlayerEntity player) {
+            com.github.dedinc.learnplay.forgelike.trigger.DeathTriggerHandler.onPlayerDied(player);
+        }
+        com.github.dedinc.learnplay.forgelike.trigger.EntityKillTriggerHandler.onEntityKilled(
+                event.getEntity(),
+                event.getSource()
+        );
+    }
+
+    @SubscribeEvent
+    public static void onBlockBreak(net.neoforged.neoforge.event.level.BlockEvent.BreakEvent event) {
+        // Forward to forge-like handler
+        if (event.getPlayer() != null) {
+            com.github.dedinc.learnplay.forgelike.trigger.BlockBreakTriggerHandler.onBlockBroken(
+                    event.getState(),
+                    event.getPlayer()
+            );
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(net.neoforged.neoforge.event.entity.player.PlayerEvent.PlayerChangedDimensionEvent event) {
+        // Forward to forge-like handler
+        com.github.dedinc.learnplay.forgelike.trigger.DimensionChangeTriggerHandler.onDimensionChanged(
+                event.getEntity(),
+                event.getTo()
+        );
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(net.neoforged.neoforge.event.TagsUpdatedEvent event) {
+        // Trigger whitelists expand #tags, so recompile them when tags change
+        com.github.dedinc.learnplay.trigger.RegistryWhitelist.onTagsReloaded();
+    }
+}